@@ -0,0 +1,120 @@
+package com.ibra.taskmanager.repository;
+
+import com.ibra.taskmanager.dataset.DatasetSpec;
+import com.ibra.taskmanager.dataset.TaskGenerator;
+import com.ibra.taskmanager.dataset.TaskLoader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Persistence;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Benchmark state: the entity mappings of the test persistence unit on an in-memory H2 database,
+ * seeded with {@link #taskCount} tasks from the dataset generator once per trial. The schema is
+ * generated from the entities, so it has the same indexes as the migrated production schema.
+ *
+ * <p>Every operation gets its own EntityManager, like a request does in the application. Writes run
+ * in a transaction that is flushed and rolled back, so the measured SQL is executed but the data set
+ * stays the same from one invocation to the next.</p>
+ */
+@State(Scope.Benchmark)
+public class TaskDatabase {
+
+    private static final String URL = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+
+    @Param({"10000", "100000", "1000000"})
+    public int taskCount;
+
+    private EntityManagerFactory entityManagerFactory;
+    private final TaskRepositoryImpl repository = new TaskRepositoryImpl();
+    private long[] ids;
+    private LocalDateTime seededAt;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("jakarta.persistence.jdbc.url", URL);
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.show_sql", "false");
+        properties.put("hibernate.format_sql", "false");
+        entityManagerFactory = Persistence.createEntityManagerFactory("test-persistence-unit", properties);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+    }
+
+    // Deterministic data set: the same seed gives the same tasks in every run being compared
+    private void seed() throws SQLException {
+        DatasetSpec spec = new DatasetSpec();
+        seededAt = spec.getReferenceTime();
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(URL);
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        ids = new long[taskCount];
+        int[] loaded = {0};
+        new TaskLoader(dataSource).load(new TaskGenerator(spec), taskCount, id -> ids[loaded[0]++] = id);
+    }
+
+    // Read-only work with a fresh EntityManager; returned entities are detached
+    public <T> T read(Function<TaskRepositoryImpl, T> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            repository.entityManager = entityManager;
+            return work.apply(repository);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    // Work that writes: flushed so the statements run, then rolled back
+    public <T> T write(Function<TaskRepositoryImpl, T> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        EntityTransaction transaction = entityManager.getTransaction();
+        try {
+            repository.entityManager = entityManager;
+            transaction.begin();
+            T result = work.apply(repository);
+            entityManager.flush();
+            return result;
+        } finally {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            entityManager.close();
+        }
+    }
+
+    // The repository the read and write callbacks receive, for wiring services around it
+    public TaskRepositoryImpl getRepository() {
+        return repository;
+    }
+
+    public long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    // The reference time the due dates were spread around (see TaskGenerator)
+    public LocalDateTime getSeededAt() {
+        return seededAt;
+    }
+}
@@ -0,0 +1,128 @@
+package com.ibra.taskmanager.repository;
+
+import com.ibra.taskmanager.dto.TaskSummary;
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskSortOrder;
+import com.ibra.taskmanager.enums.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the TaskRepositoryImpl queries and writes against H2 at each data set size.
+ *
+ * <p>Run with {@code mvn -P benchmark -DskipTests verify}; see the benchmark profile in pom.xml.
+ * Absolute numbers are H2's, not PostgreSQL's; compare them between revisions, not with production.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TaskRepositoryBenchmark {
+
+    static final int PAGE_SIZE = 20;
+
+    @Benchmark
+    public List<Task> findAll(TaskDatabase db) {
+        return db.read(TaskRepositoryImpl::findAll);
+    }
+
+    @Benchmark
+    public Optional<Task> findById(TaskDatabase db) {
+        long id = db.randomId();
+        return db.read(repository -> repository.findById(id));
+    }
+
+    @Benchmark
+    public List<Task> findByStatus(TaskDatabase db) {
+        return db.read(repository -> repository.findByStatus(TaskStatus.IN_PROGRESS));
+    }
+
+    @Benchmark
+    public List<Task> findByDueDateBefore(TaskDatabase db) {
+        // Roughly the oldest tenth of the due dates
+        return db.read(repository -> repository.findByDueDateBefore(db.getSeededAt().minusDays(40)));
+    }
+
+    @Benchmark
+    public List<Task> searchByTitleOrDescription(TaskDatabase db) {
+        return db.read(repository -> repository.searchByTitleOrDescription("billing invoice"));
+    }
+
+    // First page of the task list as entities, and as the summary projection the list view uses;
+    // the gc profiler's gc.alloc.rate.norm gives the bytes each one allocates per page
+    @Benchmark
+    public List<Task> findPage(TaskDatabase db) {
+        return db.read(repository -> repository.find(pageQuery()));
+    }
+
+    @Benchmark
+    public List<TaskSummary> findSummaryPage(TaskDatabase db) {
+        return db.read(repository -> repository.findSummaries(pageQuery()));
+    }
+
+    @Benchmark
+    public Task saveInsert(TaskDatabase db) {
+        Task task = new Task("Benchmark task", "Inserted by TaskRepositoryBenchmark", db.getSeededAt().plusDays(1));
+        return db.write(repository -> repository.save(task));
+    }
+
+    // save() of a detached task merges it: a SELECT of the current row, then the UPDATE
+    @Benchmark
+    public Task saveMerge(TaskDatabase db, DetachedTasks detachedTasks) {
+        Task detached = detachedTasks.next();
+        detached.setTitle("Edited task " + detached.getId());
+        return db.write(repository -> repository.save(detached));
+    }
+
+    // Loads the task, deletes it and writes its tombstone
+    @Benchmark
+    public long deleteById(TaskDatabase db) {
+        long id = db.randomId();
+        return db.write(repository -> {
+            repository.deleteById(id);
+            return id;
+        });
+    }
+
+    // Tasks loaded before measurement, as an edit form would have them
+    @State(Scope.Thread)
+    public static class DetachedTasks {
+
+        private final Task[] tasks = new Task[256];
+        private int next;
+
+        @Setup(Level.Trial)
+        public void load(TaskDatabase db) {
+            for (int i = 0; i < tasks.length; i++) {
+                long id = db.randomId();
+                tasks[i] = db.read(repository -> repository.findById(id)).orElseThrow();
+            }
+        }
+
+        Task next() {
+            return tasks[next++ & (tasks.length - 1)];
+        }
+    }
+
+    private static TaskQuery pageQuery() {
+        TaskQuery query = new TaskQuery();
+        query.setStatus(TaskStatus.PENDING);
+        query.setSortOrder(TaskSortOrder.DUE_DATE_ASC);
+        query.setLimit(PAGE_SIZE);
+        return query;
+    }
+}
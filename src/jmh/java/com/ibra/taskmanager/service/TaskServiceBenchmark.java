@@ -0,0 +1,113 @@
+package com.ibra.taskmanager.service;
+
+import com.ibra.taskmanager.dto.CursorPage;
+import com.ibra.taskmanager.dto.TaskFacets;
+import com.ibra.taskmanager.dto.TaskSummary;
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskSortOrder;
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.repository.TaskDatabase;
+import com.ibra.taskmanager.repository.TaskQuery;
+import com.ibra.taskmanager.repository.TaskRepository;
+import com.ibra.taskmanager.search.TaskSearchIndex;
+import com.ibra.taskmanager.search.TaskSuggestionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the TaskServiceImpl read paths behind the task list, on the same H2 data sets as
+ * TaskRepositoryBenchmark. The service is used without its Spring proxies (no transactions, no
+ * query result cache), so each call measures the work a cache miss does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TaskServiceBenchmark {
+
+    static final int PAGE_SIZE = 20;
+    static final String KEYWORD = "budget";
+
+    @State(Scope.Benchmark)
+    public static class Services {
+
+        // Search through the in-memory index, as once it has been built after startup
+        TaskService indexed;
+        // Search falling back to the database, as while the index is still building
+        TaskService unindexed;
+
+        @Setup(Level.Trial)
+        public void start(TaskDatabase db) {
+            TaskRepository repository = db.getRepository();
+            TaskSearchIndex searchIndex = db.read(TaskServiceBenchmark::buildSearchIndex);
+            indexed = service(repository, searchIndex);
+            unindexed = service(repository, new TaskSearchIndex(repository));
+        }
+
+        private static TaskService service(TaskRepository repository, TaskSearchIndex searchIndex) {
+            return new TaskServiceImpl(repository, event -> { }, new AssigneeIndex(repository), searchIndex,
+                    new TaskSuggestionIndex(repository));
+        }
+    }
+
+    // Builds the index through the repository's current EntityManager, which stays open until it is ready
+    private static TaskSearchIndex buildSearchIndex(TaskRepository repository) {
+        TaskSearchIndex searchIndex = new TaskSearchIndex(repository);
+        searchIndex.afterSingletonsInstantiated();
+        try {
+            while (!searchIndex.isReady()) {
+                Thread.sleep(100);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the search index", e);
+        }
+        return searchIndex;
+    }
+
+    @Benchmark
+    public CursorPage<Task> getTaskPage(TaskDatabase db, Services services) {
+        return db.read(repository -> services.indexed.getTaskPage(pageQuery(), null, null));
+    }
+
+    @Benchmark
+    public CursorPage<TaskSummary> getTaskSummaryPage(TaskDatabase db, Services services) {
+        return db.read(repository -> services.indexed.getTaskSummaryPage(pageQuery(), null, null));
+    }
+
+    @Benchmark
+    public List<TaskSummary> searchTaskSummaries(TaskDatabase db, Services services) {
+        return db.read(repository -> services.indexed.searchTaskSummaries(KEYWORD, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<TaskSummary> searchTaskSummariesWithoutIndex(TaskDatabase db, Services services) {
+        return db.read(repository -> services.unindexed.searchTaskSummaries(KEYWORD, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public TaskFacets getFacets(TaskDatabase db, Services services) {
+        return db.read(repository -> services.indexed.getFacets(pageQuery()));
+    }
+
+    private static TaskQuery pageQuery() {
+        TaskQuery query = new TaskQuery();
+        query.setStatus(TaskStatus.PENDING);
+        query.setSortOrder(TaskSortOrder.DUE_DATE_ASC);
+        query.setLimit(PAGE_SIZE);
+        return query;
+    }
+}
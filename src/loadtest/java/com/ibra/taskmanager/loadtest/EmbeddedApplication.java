@@ -0,0 +1,61 @@
+package com.ibra.taskmanager.loadtest;
+
+import com.ibra.taskmanager.WebAppInitializer;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.servlets.DefaultServlet;
+import org.apache.catalina.startup.Tomcat;
+import org.springframework.web.SpringServletContainerInitializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+
+/**
+ * The application as deployed (WebAppInitializer, src/main/webapp) in an embedded Tomcat, with the
+ * database switched to in-memory H2 through system properties, which take precedence over
+ * database.properties. Hibernate creates the schema from the entities, since the migration scripts
+ * are written for PostgreSQL.
+ */
+class EmbeddedApplication implements AutoCloseable {
+
+    private final Tomcat tomcat = new Tomcat();
+
+    EmbeddedApplication(File webappDirectory) throws IOException {
+        if (!webappDirectory.isDirectory()) {
+            throw new IllegalArgumentException("Web application directory not found: " + webappDirectory.getAbsolutePath());
+        }
+        System.setProperty("jdbc.driverClassName", "org.h2.Driver");
+        System.setProperty("jdbc.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        System.setProperty("jdbc.username", "sa");
+        System.setProperty("jdbc.password", "sa");
+        System.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        System.setProperty("hibernate.hbm2ddl.auto", "create");
+        System.setProperty("hibernate.show_sql", "false");
+        System.setProperty("hibernate.format_sql", "false");
+        System.setProperty("flyway.migrate_on_startup", "false");
+
+        tomcat.setBaseDir(Files.createTempDirectory("loadtest-tomcat").toString());
+        // Port 0 picks a free port
+        tomcat.setPort(0);
+        tomcat.getConnector();
+        Context context = tomcat.addContext("", webappDirectory.getAbsolutePath());
+        // WebConfig forwards unmapped requests to the container's default servlet
+        Tomcat.addServlet(context, "default", new DefaultServlet());
+        Tomcat.addDefaultMimeTypeMappings(context);
+        context.addServletContainerInitializer(new SpringServletContainerInitializer(), Set.of(WebAppInitializer.class));
+    }
+
+    // Starts Tomcat and the application context; returns the base URL
+    String start() throws LifecycleException {
+        tomcat.start();
+        return "http://localhost:" + tomcat.getConnector().getLocalPort();
+    }
+
+    @Override
+    public void close() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+}
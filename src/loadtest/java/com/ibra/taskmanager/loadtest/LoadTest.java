@@ -0,0 +1,139 @@
+package com.ibra.taskmanager.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * End-to-end load test: starts the application in an embedded Tomcat with H2 (or uses --target),
+ * seeds it, drives a request mix at a fixed rate and prints throughput and latency percentiles per
+ * operation. Run with
+ *
+ * <pre>mvn -P loadtest -DskipTests verify -Dloadtest.args="--rate 200 --duration 60"</pre>
+ *
+ * <p>Options: --target URL, --webapp DIR, --tasks N, --rate N (requests per second), --warmup
+ * SECONDS, --duration SECONDS, --mix "list=60,search=10,view=20,create=5,complete=5",
+ * --max-in-flight N, --seed N and --histograms DIR, which writes each latency distribution as an
+ * .hgrm file.</p>
+ */
+public class LoadTest {
+
+    private static final String DEFAULT_MIX = "list=60,search=10,view=20,create=5,complete=5";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String targetUrl = options.get("target");
+        File webapp = new File(options.getOrDefault("webapp", "src/main/webapp"));
+        int tasks = Integer.parseInt(options.getOrDefault("tasks", "10000"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        Workload workload = Workload.parse(options.getOrDefault("mix", DEFAULT_MIX));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String histograms = options.get("histograms");
+
+        HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        EmbeddedApplication application = targetUrl == null ? new EmbeddedApplication(webapp) : null;
+        try {
+            String baseUrl = application != null ? application.start() : stripTrailingSlash(targetUrl);
+            if (tasks > 0) {
+                long started = System.nanoTime();
+                Workload.seed(client, baseUrl, tasks, seed);
+                System.out.printf("Seeded %d tasks in %.1f s%n", tasks, (System.nanoTime() - started) / 1e9);
+            }
+            long[] taskIds = Workload.loadTaskIds(client, baseUrl);
+            if (taskIds.length == 0 && (workload.weights().containsKey(Operation.VIEW)
+                    || workload.weights().containsKey(Operation.COMPLETE))) {
+                throw new IllegalStateException("The mix views or completes tasks but the server has none; use --tasks");
+            }
+            System.out.printf("Target %s with %d tasks; %.0f requests/s for %d s after a %d s warmup%n",
+                    baseUrl, taskIds.length, rate, duration.toSeconds(), warmup.toSeconds());
+
+            OpenLoopDriver driver = new OpenLoopDriver(client, new Operation.Target(baseUrl, taskIds),
+                    workload, rate, maxInFlight, seed);
+            Map<Operation, OpenLoopDriver.OperationStats> stats = driver.run(warmup, duration);
+            report(System.out, workload, stats, duration);
+            if (histograms != null) {
+                writeHistograms(Path.of(histograms), stats);
+            }
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static void report(PrintStream out, Workload workload, Map<Operation, OpenLoopDriver.OperationStats> stats,
+                               Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        out.printf("%n%-9s %6s %9s %9s %7s %7s %7s %9s %9s %9s %9s %9s%n", "operation", "weight", "requests",
+                "req/s", "errors", "failed", "dropped", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(3);
+        long errors = 0;
+        long failed = 0;
+        long dropped = 0;
+        for (Map.Entry<Operation, OpenLoopDriver.OperationStats> entry : stats.entrySet()) {
+            OpenLoopDriver.OperationStats operation = entry.getValue();
+            total.add(operation.latencies);
+            errors += operation.errors.sum();
+            failed += operation.failed.sum();
+            dropped += operation.dropped.sum();
+            printRow(out, entry.getKey().label(), String.valueOf(workload.weights().get(entry.getKey())),
+                    operation.latencies, operation.errors.sum(), operation.failed.sum(), operation.dropped.sum(), seconds);
+        }
+        printRow(out, "total", "", total, errors, failed, dropped, seconds);
+    }
+
+    private static void printRow(PrintStream out, String label, String weight, Histogram latencies,
+                                 long errors, long failed, long dropped, double seconds) {
+        long count = latencies.getTotalCount();
+        out.printf("%-9s %6s %9d %9.1f %7d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", label, weight, count,
+                count / seconds, errors, failed, dropped,
+                millis(latencies, 50), millis(latencies, 95), millis(latencies, 99), millis(latencies, 99.9),
+                count == 0 ? 0 : latencies.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getTotalCount() == 0 ? 0 : latencies.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    private static void writeHistograms(Path directory, Map<Operation, OpenLoopDriver.OperationStats> stats) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, OpenLoopDriver.OperationStats> entry : stats.entrySet()) {
+            Path file = directory.resolve(entry.getKey().label() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+                entry.getValue().latencies.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+        System.out.println("Latency distributions (ms) written to " + directory.toAbsolutePath());
+    }
+
+    // Options are "--name value" pairs
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value but found: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
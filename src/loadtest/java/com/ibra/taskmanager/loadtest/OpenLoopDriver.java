@@ -0,0 +1,141 @@
+package com.ibra.taskmanager.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed rate, whatever the server's response times (open loop). Request i is
+ * due at start + i / rate and its latency is measured from that time, not from when it was actually
+ * sent, so a stalled server shows up as latency of every request that had to wait instead of as
+ * requests that were never made (coordinated omission).
+ *
+ * <p>Every request runs on its own client thread: a virtual thread where the JVM has them (Java 21+),
+ * otherwise a thread from an unbounded pool.</p>
+ */
+class OpenLoopDriver {
+
+    private final HttpClient client;
+    private final Operation.Target target;
+    private final Workload workload;
+    private final double rate;
+    private final int maxInFlight;
+    private final long seed;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    OpenLoopDriver(HttpClient client, Operation.Target target, Workload workload, double rate, int maxInFlight, long seed) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.client = client;
+        this.target = target;
+        this.workload = workload;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.seed = seed;
+        for (Operation operation : workload.weights().keySet()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    // Runs the warmup, whose requests are sent but not recorded, then the measured period
+    Map<Operation, OperationStats> run(Duration warmup, Duration duration) throws InterruptedException {
+        Random random = new Random(seed);
+        AtomicInteger inFlight = new AtomicInteger();
+        ExecutorService executor = newClientExecutor();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        try {
+            for (long i = 0; ; i++) {
+                long intended = start + (long) (i * 1e9 / rate);
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = workload.next(random);
+                HttpRequest request = operation.request(target, random);
+                OperationStats recorder = intended >= measureFrom ? stats.get(operation) : null;
+                if (inFlight.incrementAndGet() > maxInFlight) {
+                    // The server is too far behind to keep every request open; count it instead of sending
+                    inFlight.decrementAndGet();
+                    if (recorder != null) {
+                        recorder.dropped.increment();
+                    }
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (recorder != null) {
+                            recorder.record(System.nanoTime() - intended, response.statusCode());
+                        }
+                    } catch (IOException e) {
+                        if (recorder != null) {
+                            recorder.failed.increment();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+            }
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    private static ExecutorService newClientExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "loadtest-client");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    // Latencies (nanoseconds, from the intended start) and outcomes of one operation
+    static class OperationStats {
+
+        final Histogram latencies = new ConcurrentHistogram(3);
+        // 4xx and 5xx responses; their latencies are recorded too
+        final LongAdder errors = new LongAdder();
+        // Connection failures and timeouts
+        final LongAdder failed = new LongAdder();
+        // Not sent because too many requests were already waiting
+        final LongAdder dropped = new LongAdder();
+
+        void record(long latencyNanos, int status) {
+            latencies.recordValue(latencyNanos);
+            if (status >= 400) {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ibra.taskmanager.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * The kinds of request a virtual user sends, each as a browser would send it. Redirects are not
+ * followed, so a form POST or a "complete" link is measured up to its redirect.
+ */
+enum Operation {
+
+    // The task list: unfiltered, filtered by status, or sorted by priority
+    LIST("list") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            int variant = random.nextInt(4);
+            String query = variant == 0 ? "?status=PENDING" : variant == 1 ? "?sort=priority" : "";
+            return get(target, "/tasks" + query);
+        }
+    },
+    SEARCH("search") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            return get(target, "/tasks?search=" + encode(Workload.randomWord(random)));
+        }
+    },
+    VIEW("view") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            return get(target, "/tasks/" + target.randomId(random));
+        }
+    },
+    CREATE("create") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            String word = Workload.randomWord(random);
+            String form = "title=" + encode("Load test " + word)
+                    + "&description=" + encode("Created by the load test: " + word)
+                    + "&dueDate=" + encode(LocalDateTime.now().plusDays(1 + random.nextInt(30)).format(FORM_DATE_TIME))
+                    + "&status=PENDING"
+                    + "&priority=" + Workload.randomPriority(random)
+                    + "&assignee=" + encode(Workload.randomAssignee(random));
+            return HttpRequest.newBuilder(target.uri("/tasks"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form))
+                    .build();
+        }
+    },
+    COMPLETE("complete") {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            return get(target, "/tasks/" + target.randomId(random) + "/complete");
+        }
+    };
+
+    // The format of the form's datetime-local input
+    private static final DateTimeFormatter FORM_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    abstract HttpRequest request(Target target, Random random);
+
+    String label() {
+        return label;
+    }
+
+    static Operation fromLabel(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equalsIgnoreCase(label.trim())) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + label);
+    }
+
+    private static HttpRequest get(Target target, String path) {
+        return HttpRequest.newBuilder(target.uri(path)).GET().build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // The server under test and the ids of the tasks it holds
+    record Target(String baseUrl, long[] taskIds) {
+
+        URI uri(String path) {
+            return URI.create(baseUrl + path);
+        }
+
+        long randomId(Random random) {
+            return taskIds[random.nextInt(taskIds.length)];
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.ibra.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibra.taskmanager.dataset.DatasetSpec;
+import com.ibra.taskmanager.dataset.TaskGenerator;
+import com.ibra.taskmanager.dataset.TaskVocabulary;
+import com.ibra.taskmanager.entity.Task;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+/**
+ * The request mix and the data behind it: seeding the server through the import endpoint and
+ * learning the task ids from the export endpoint.
+ */
+class Workload {
+
+    private static final TaskVocabulary VOCABULARY = new TaskVocabulary();
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+    private static final int ASSIGNEES = 200;
+
+    private final Operation[] operations;
+    // Cumulative weights, parallel to operations
+    private final int[] thresholds;
+    private final int totalWeight;
+
+    private Workload(Map<Operation, Integer> weights) {
+        operations = weights.keySet().toArray(new Operation[0]);
+        thresholds = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            thresholds[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+        totalWeight = total;
+    }
+
+    // Parses a mix such as "list=60,search=10,view=20,create=5,complete=5"
+    static Workload parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix entry: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Operation.fromLabel(parts[0]), weight);
+            }
+        }
+        return new Workload(weights);
+    }
+
+    Operation next(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < thresholds.length; i++) {
+            if (value < thresholds[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    Map<Operation, Integer> weights() {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (int i = 0; i < operations.length; i++) {
+            weights.put(operations[i], thresholds[i] - (i == 0 ? 0 : thresholds[i - 1]));
+        }
+        return weights;
+    }
+
+    // A word from generated titles, searched as often as it occurs
+    static String randomWord(Random random) {
+        return VOCABULARY.keyword(random);
+    }
+
+    static String randomPriority(Random random) {
+        return PRIORITIES[random.nextInt(PRIORITIES.length)];
+    }
+
+    static String randomAssignee(Random random) {
+        return TaskVocabulary.assignee(random.nextInt(ASSIGNEES));
+    }
+
+    // Creates count tasks from the dataset generator through POST /tasks/import as NDJSON, generated while the request streams
+    static void seed(HttpClient client, String baseUrl, int count, long seed) throws IOException, InterruptedException {
+        DatasetSpec spec = new DatasetSpec();
+        spec.setSeed(seed);
+        spec.setAssignees(ASSIGNEES);
+        TaskGenerator generator = new TaskGenerator(spec);
+        ObjectMapper mapper = new ObjectMapper();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/tasks/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofByteArrays(
+                        () -> LongStream.range(0, count).mapToObj(i -> {
+                            Task generated = generator.next();
+                            Map<String, String> task = new HashMap<>();
+                            task.put("title", generated.getTitle());
+                            task.put("description", generated.getDescription());
+                            task.put("dueDate", generated.getDueDate().toString());
+                            task.put("status", generated.getStatus().name());
+                            task.put("priority", generated.getPriority().name());
+                            task.put("assignee", generated.getAssignee());
+                            try {
+                                return (mapper.writeValueAsString(task) + "\n").getBytes(StandardCharsets.UTF_8);
+                            } catch (IOException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        }).iterator()))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    // Reads the id of every task from GET /tasks/export?format=ndjson
+    static long[] loadTaskIds(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/tasks/export?format=ndjson")).GET().build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            throw new IOException("Export failed with status " + response.statusCode());
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        LongStream.Builder ids = LongStream.builder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    JsonNode id = mapper.readTree(line).get("id");
+                    if (id != null && id.canConvertToLong()) {
+                        ids.add(id.asLong());
+                    }
+                }
+            }
+        }
+        return ids.build().toArray();
+    }
+}
@@ -2,6 +2,7 @@ package com.ibra.taskmanager;
 
 import com.ibra.taskmanager.config.AppConfig;
 import com.ibra.taskmanager.config.WebConfig;
+import com.ibra.taskmanager.metrics.ServerTimingFilter;
 import jakarta.servlet.Filter;
 import org.springframework.web.filter.CharacterEncodingFilter;
 import org.springframework.web.servlet.support.AbstractAnnotationConfigDispatcherServletInitializer;
@@ -9,6 +10,8 @@ import org.springframework.web.servlet.support.AbstractAnnotationConfigDispatche
 public class WebAppInitializer extends AbstractAnnotationConfigDispatcherServletInitializer {
 
     public static final String CHARACTER_ENCODING = "UTF-8";
+    // -Dserver_timing.debug_footer=true appends the Server-Timing numbers to HTML pages as a comment
+    public static final String SERVER_TIMING_FOOTER_PROPERTY = "server_timing.debug_footer";
 
     public WebAppInitializer() {
         super();
@@ -34,6 +37,7 @@ public class WebAppInitializer extends AbstractAnnotationConfigDispatcherServlet
         final CharacterEncodingFilter encodingFilter = new CharacterEncodingFilter();
         encodingFilter.setEncoding(CHARACTER_ENCODING);
         encodingFilter.setForceEncoding(true);
-        return new Filter[] { encodingFilter };
+        final ServerTimingFilter serverTimingFilter = new ServerTimingFilter(Boolean.getBoolean(SERVER_TIMING_FOOTER_PROPERTY));
+        return new Filter[] { encodingFilter, serverTimingFilter };
     }
 }
\ No newline at end of file
@@ -1,13 +1,19 @@
 package com.ibra.taskmanager.config;
 
+import com.ibra.taskmanager.metrics.JdbcTimingListener;
 import org.apache.commons.dbcp2.BasicDataSource;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.output.MigrateResult;
 import org.hibernate.SessionFactory;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import org.springframework.orm.hibernate5.HibernateTransactionManager;
 import org.springframework.orm.hibernate5.LocalSessionFactoryBean;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
 import javax.sql.DataSource;
 import java.util.Properties;
@@ -23,6 +29,8 @@ public class AppConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(AppConfig.class);
 
+    private static final String CAFFEINE_CACHING_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
     private final Environment environment;
 
     @Autowired
@@ -69,7 +77,37 @@ public class AppConfig {
 
 
 
+    /**
+     * Applies pending db/migration scripts before the SessionFactory is built, so Hibernate validates
+     * the migrated schema. A database created by hbm2ddl before migrations existed has no history
+     * table; it is baselined at version 0 so that the idempotent V1 script still runs against it.
+     */
+    @Bean
+    public Flyway flyway() {
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource())
+                .locations(environment.getProperty("flyway.locations", "classpath:db/migration"))
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+        if (!Boolean.parseBoolean(environment.getProperty("flyway.migrate_on_startup", "true"))) {
+            logger.info("Schema migration on startup disabled.");
+            return flyway;
+        }
+        try {
+            MigrateResult result = flyway.migrate();
+            // No target version is reported when nothing was pending
+            String version = result.targetSchemaVersion != null ? result.targetSchemaVersion : result.initialSchemaVersion;
+            logger.info("Database schema at version {}; {} migration(s) applied.", version, result.migrationsExecuted);
+            return flyway;
+        } catch (FlywayException e) {
+            logger.error("Failed to migrate the database schema.", e);
+            throw new IllegalStateException("Failed to migrate the database schema: " + e.getMessage(), e);
+        }
+    }
+
     @Bean
+    @DependsOn("flyway")
     public LocalSessionFactoryBean sessionFactory() {
         LocalSessionFactoryBean sessionFactory = new LocalSessionFactoryBean();
         try {
@@ -102,6 +140,10 @@ public class AppConfig {
             properties.put("hibernate.show_sql", showSql);
             properties.put("hibernate.format_sql", formatSql);
             properties.put("hibernate.hbm2ddl.auto", hbm2ddlAuto);
+            addBatchProperties(properties);
+            addCacheProperties(properties);
+            // Times every JDBC statement for the Server-Timing header
+            properties.put("hibernate.session.events.auto", JdbcTimingListener.class.getName());
             logger.info("Hibernate properties loaded.");
             return properties;
 
@@ -114,6 +156,34 @@ public class AppConfig {
         }
     }
 
+    // JDBC batching; sequence ids (see Task) let inserts be batched, ordering groups statements per table
+    private void addBatchProperties(Properties properties) {
+        properties.put("hibernate.jdbc.batch_size", environment.getProperty("hibernate.jdbc.batch_size", "50"));
+        properties.put("hibernate.order_inserts", environment.getProperty("hibernate.order_inserts", "true"));
+        properties.put("hibernate.order_updates", environment.getProperty("hibernate.order_updates", "true"));
+        properties.put("hibernate.jdbc.batch_versioned_data", "true");
+    }
+
+    // Second-level and query cache; optional, off unless enabled in database.properties
+    private void addCacheProperties(Properties properties) {
+        boolean secondLevelCache = Boolean.parseBoolean(
+                environment.getProperty("hibernate.cache.use_second_level_cache", "false"));
+        properties.put("hibernate.generate_statistics", environment.getProperty("hibernate.generate_statistics", "false"));
+        properties.put("hibernate.cache.use_second_level_cache", String.valueOf(secondLevelCache));
+        if (!secondLevelCache) {
+            properties.put("hibernate.cache.use_query_cache", "false");
+            logger.info("Second-level cache disabled.");
+            return;
+        }
+        properties.put("hibernate.cache.use_query_cache", environment.getProperty("hibernate.cache.use_query_cache", "false"));
+        properties.put("hibernate.cache.region.factory_class", "jcache");
+        properties.put("hibernate.javax.cache.provider", CAFFEINE_CACHING_PROVIDER);
+        properties.put("hibernate.javax.cache.uri", environment.getProperty("hibernate.javax.cache.uri", "classpath:caffeine.conf"));
+        // Regions missing from caffeine.conf fall back to its bounded default section
+        properties.put("hibernate.javax.cache.missing_cache_strategy", "create-warn");
+        logger.info("Second-level cache enabled (JCache/Caffeine).");
+    }
+
     @Bean
     @Autowired
     public HibernateTransactionManager transactionManager(SessionFactory sessionFactory) {
@@ -127,6 +197,15 @@ public class AppConfig {
         return txManager;
     }
 
+    // Bean Validation outside the web layer (e.g. validating imported records). The parameter
+    // interpolator needs no Expression Language implementation, so this also works outside a container
+    @Bean
+    public LocalValidatorFactoryBean validator() {
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.setMessageInterpolator(new ParameterMessageInterpolator());
+        return validator;
+    }
+
     private boolean isNullOrEmpty(String value) {
         return value == null || value.trim().isEmpty();
     }
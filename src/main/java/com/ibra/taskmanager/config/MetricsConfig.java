@@ -0,0 +1,64 @@
+package com.ibra.taskmanager.config;
+
+import com.ibra.taskmanager.metrics.MethodMetricsInterceptor;
+import com.ibra.taskmanager.metrics.MetricsRegistry;
+import com.ibra.taskmanager.repository.TaskRepository;
+import com.ibra.taskmanager.service.TaskService;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+@Configuration
+public class MetricsConfig {
+
+    // Interfaces whose methods are timed on every bean implementing them
+    private static final Class<?>[] TIMED_INTERFACES = {TaskRepository.class, TaskService.class};
+
+    /**
+     * Times repository and service methods. As an infrastructure advisor it is applied by the proxy
+     * creator @EnableTransactionManagement registers, inside the same proxy as the transaction
+     * advice; ordered first, so the time includes beginning and committing the transaction.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor methodMetricsAdvisor(MetricsRegistry metricsRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new TimedMethodPointcut(),
+                new MethodMetricsInterceptor(metricsRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    // Matched once per method when proxies are created, not on every call
+    private static class TimedMethodPointcut extends StaticMethodMatcherPointcut {
+
+        TimedMethodPointcut() {
+            setClassFilter(type -> {
+                for (Class<?> timed : TIMED_INTERFACES) {
+                    if (timed.isAssignableFrom(type)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            for (Class<?> timed : TIMED_INTERFACES) {
+                if (timed.isAssignableFrom(targetClass)
+                        && ReflectionUtils.findMethod(timed, method.getName(), method.getParameterTypes()) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.ibra.taskmanager.config;
 
+import com.ibra.taskmanager.metrics.HandlerMetricsInterceptor;
+import com.ibra.taskmanager.metrics.MetricsRegistry;
+import com.ibra.taskmanager.metrics.ServerTimingInterceptor;
+import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -7,6 +11,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.format.datetime.DateFormatter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.servlet.config.annotation.*;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 import org.thymeleaf.spring6.templateresolver.SpringResourceTemplateResolver;
@@ -22,6 +27,9 @@ public class WebConfig implements WebMvcConfigurer {
 
     private static final Logger logger = LoggerFactory.getLogger(WebConfig.class);
 
+    // Long enough to stream an export of millions of tasks
+    private static final long ASYNC_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
     private final ApplicationContext applicationContext;
 
     public WebConfig(ApplicationContext applicationContext) {
@@ -149,4 +157,41 @@ public class WebConfig implements WebMvcConfigurer {
             throw new IllegalArgumentException("Error adding formatter: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // Times every controller handler (see MetricsController)
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        try {
+            registry.addInterceptor(new HandlerMetricsInterceptor(applicationContext.getBean(MetricsRegistry.class)));
+            registry.addInterceptor(new ServerTimingInterceptor());
+            logger.info("Handler metrics and server timing interceptors added.");
+        } catch (BeansException e) {
+            logger.error("Error adding handler metrics interceptor.", e);
+            throw new IllegalStateException("Error adding handler metrics interceptor: " + e.getMessage());
+        }
+    }
+
+    // Executor and timeout for asynchronous responses (streamed exports)
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        try {
+            configurer.setTaskExecutor(asyncTaskExecutor());
+            configurer.setDefaultTimeout(ASYNC_TIMEOUT_MILLIS);
+            logger.info("Async support configured.");
+        } catch (IllegalArgumentException e) {
+            logger.error("Error configuring async support.", e);
+            throw new IllegalArgumentException("Error configuring async support: " + e.getMessage());
+        }
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor asyncTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("mvc-async-");
+        logger.info("Async task executor initialized.");
+        return executor;
+    }
+}
@@ -1,5 +1,7 @@
 package com.ibra.taskmanager.controller;
 
+import com.ibra.taskmanager.service.TaskStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,9 +9,20 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class HomeController {
 
+    private final TaskStatisticsService taskStatisticsService;
+
+    @Autowired
+    public HomeController(TaskStatisticsService taskStatisticsService) {
+        this.taskStatisticsService = taskStatisticsService;
+    }
+
     @GetMapping("/")
     public String home(Model model) {
         model.addAttribute("message", "Welcome to Task Management System");
+        // Counts come from in-memory counters; the section is hidden until they are loaded
+        if (taskStatisticsService.isLoaded()) {
+            model.addAttribute("stats", taskStatisticsService.getStatistics());
+        }
         return "home";
     }
 
@@ -17,4 +30,4 @@ public class HomeController {
     public String homePage(Model model) {
         return "index";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.ibra.taskmanager.controller;
+
+import com.ibra.taskmanager.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Application metrics in the Prometheus text exposition format, for scraping.
+ */
+@RestController
+public class MetricsController {
+
+    private final MetricsRegistry metricsRegistry;
+
+    @Autowired
+    public MetricsController(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @GetMapping(value = "/metrics", produces = MetricsRegistry.CONTENT_TYPE)
+    public ResponseEntity<String> metrics() throws IOException {
+        StringWriter out = new StringWriter(16 * 1024);
+        metricsRegistry.write(out);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .contentType(MediaType.parseMediaType(MetricsRegistry.CONTENT_TYPE))
+                .body(out.toString());
+    }
+}
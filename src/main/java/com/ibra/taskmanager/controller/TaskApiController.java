@@ -0,0 +1,237 @@
+package com.ibra.taskmanager.controller;
+
+import com.ibra.taskmanager.dto.CursorPage;
+import com.ibra.taskmanager.dto.TaskChangeSet;
+import com.ibra.taskmanager.dto.TaskDto;
+import com.ibra.taskmanager.dto.TaskPatch;
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskSortOrder;
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.repository.TaskQuery;
+import com.ibra.taskmanager.service.QueryResultCache;
+import com.ibra.taskmanager.service.TaskService;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * JSON API over {@link TaskService}.
+ *
+ * <p>Every GET carries a strong ETag built from the data version of {@link QueryResultCache}, which
+ * changes with each committed write. A request whose If-None-Match holds the current tag is
+ * answered 304 before any query runs or anything is serialized. Like the query cache, the version
+ * only sees writes made through this application instance.</p>
+ */
+@RestController
+@RequestMapping("/api/tasks")
+public class TaskApiController {
+
+    private final TaskService taskService;
+    private final QueryResultCache queryResultCache;
+
+    @Autowired
+    public TaskApiController(TaskService taskService, QueryResultCache queryResultCache) {
+        this.taskService = taskService;
+        this.queryResultCache = queryResultCache;
+    }
+
+    // Keyset page of tasks; same filters and cursors as the list page
+    @GetMapping
+    public ResponseEntity<CursorPage<TaskDto>> getTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) String assignee,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, () -> {
+            TaskQuery query = new TaskQuery();
+            query.setSortOrder(TaskSortOrder.fromParam(sort));
+            query.setLimit(size);
+            query.setStatus(status);
+            query.setPriority(priority);
+            if (assignee != null && !assignee.isEmpty()) {
+                query.setAssignee(assignee);
+            }
+            if (search != null && !search.isEmpty()) {
+                query.setKeyword(search);
+            }
+            CursorPage<Task> page = taskService.getTaskPage(query, after, before);
+            return new CursorPage<>(toDtos(page.getItems()), page.getNextCursor(), page.getPrevCursor(), page.getSize());
+        });
+    }
+
+    // Delta sync: pass the token of the previous response as since (none for a first, full sync) and
+    // apply the updates and deletions. 410 means the token expired and the client must start over
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since,
+                                        @RequestParam(defaultValue = "" + TaskService.DEFAULT_CHANGE_LIMIT) int limit) {
+        Optional<TaskChangeSet<Task>> changes;
+        try {
+            changes = taskService.getChanges(since, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+        if (changes.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(Collections.singletonMap("error", "Sync token expired; start over without a token."));
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(changes.get().map(TaskDto::of));
+    }
+
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<TaskDto> getTask(@PathVariable("id") Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = currentEtag();
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return taskService.getTaskById(id)
+                .map(task -> ok(etag, TaskDto.of(task)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/overdue")
+    public ResponseEntity<List<TaskDto>> getOverdueTasks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LocalDateTime asOf = currentMinute();
+        return conditional(ifNoneMatch, asOf, () -> toDtos(taskService.getOverdueTasks(asOf)));
+    }
+
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<TaskDto>> getUpcomingTasks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LocalDateTime asOf = currentMinute();
+        return conditional(ifNoneMatch, asOf, () -> toDtos(taskService.getUpcomingTasks(asOf)));
+    }
+
+    // Task count per assignee
+    @GetMapping("/assignees")
+    public ResponseEntity<Map<String, Long>> getAssignees(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, taskService::getAssigneeTaskCounts);
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TaskDto> createTask(@Valid @RequestBody Task task, UriComponentsBuilder uriBuilder) {
+        // Ids and versions are assigned by the server
+        task.setId(null);
+        task.setVersion(null);
+        Task created = taskService.createTask(task);
+        return ResponseEntity.created(uriBuilder.path("/api/tasks/{id}").buildAndExpand(created.getId()).toUri())
+                .body(TaskDto.of(created));
+    }
+
+    // Partial update guarded by the version in the body: 409 if the task changed since
+    @PatchMapping(value = "/{id:\\d+}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> patchTask(@PathVariable("id") Long id, @Valid @RequestBody TaskPatch patch) {
+        try {
+            Optional<Task> patched = taskService.patchTask(id, patch);
+            if (patched.isPresent()) {
+                return ResponseEntity.ok(TaskDto.of(patched.get()));
+            }
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Collections.singletonMap("error", "Task " + id + " was modified concurrently; reload and retry."));
+        }
+    }
+
+    @DeleteMapping("/{id:\\d+}")
+    public ResponseEntity<Void> deleteTask(@PathVariable("id") Long id) {
+        if (taskService.getTaskById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        taskService.deleteTask(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Field name to message, for invalid request bodies
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException e) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (FieldError error : e.getBindingResult().getFieldErrors()) {
+            errors.putIfAbsent(error.getField(), error.getDefaultMessage());
+        }
+        return ResponseEntity.badRequest().body(Collections.singletonMap("errors", errors));
+    }
+
+    // Answers 304 without calling the loader when the client already holds the current version.
+    // The tag is read before loading, so the body is at least as new as the tag it is sent with
+    private <T> ResponseEntity<T> conditional(String ifNoneMatch, Supplier<T> loader) {
+        return conditional(ifNoneMatch, null, loader);
+    }
+
+    // Results that also depend on the clock are evaluated per minute, and the minute is part of the tag
+    private <T> ResponseEntity<T> conditional(String ifNoneMatch, LocalDateTime asOf, Supplier<T> loader) {
+        String etag = asOf == null ? currentEtag() : currentEtag(asOf.toString());
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return ok(etag, loader.get());
+    }
+
+    private String currentEtag() {
+        return "\"" + queryResultCache.getDataVersion() + "\"";
+    }
+
+    private String currentEtag(String variant) {
+        return "\"" + queryResultCache.getDataVersion() + "-" + variant + "\"";
+    }
+
+    private static LocalDateTime currentMinute() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    // If-None-Match uses the weak comparison: a W/ prefix on the client's tag is ignored
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> ok(String etag, T body) {
+        // no-cache: clients may store the response but must revalidate it before each use
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+    }
+
+    private static List<TaskDto> toDtos(List<Task> tasks) {
+        return tasks.stream().map(TaskDto::of).toList();
+    }
+}
@@ -1,31 +1,54 @@
 package com.ibra.taskmanager.controller;
 
 
+import com.ibra.taskmanager.dto.CursorPage;
+import com.ibra.taskmanager.dto.TaskFacets;
+import com.ibra.taskmanager.dto.TaskImportResult;
+import com.ibra.taskmanager.dto.TaskPatch;
+import com.ibra.taskmanager.dto.TaskSuggestion;
+import com.ibra.taskmanager.dto.TaskSummary;
 import com.ibra.taskmanager.entity.Task;
 import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskSortOrder;
 import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.format.TaskFormat;
+import com.ibra.taskmanager.format.TaskReader;
+import com.ibra.taskmanager.format.TaskWriter;
+import com.ibra.taskmanager.repository.TaskQuery;
+import com.ibra.taskmanager.service.TaskImportService;
 import com.ibra.taskmanager.service.TaskService;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/tasks")
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskImportService taskImportService;
 
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskImportService taskImportService) {
         this.taskService = taskService;
+        this.taskImportService = taskImportService;
     }
 
     @GetMapping
@@ -35,84 +58,134 @@ public class TaskController {
             @RequestParam(required = false) String assignee,
             @RequestParam(required = false) String sort,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int size,
             Model model) {
 
-        List<Task> tasks;
+        boolean searching = search != null && !search.isEmpty();
+        boolean filtering = status != null || priority != null || (assignee != null && !assignee.isEmpty());
 
-        // Apply search if provided
-        if (search != null && !search.isEmpty()) {
-            tasks = taskService.searchTasks(search);
+        // A plain keyword search is answered from the search index, best matches first
+        if (searching && !filtering && (sort == null || sort.isEmpty())) {
+            List<TaskSummary> results = taskService.searchTaskSummaries(search, size);
             model.addAttribute("search", search);
+            model.addAttribute("tasks", results);
+            // Counted over every index match: the index matches words, which a substring count in the
+            // database would not agree with
+            model.addAttribute("facetsOfResults", true);
+            addFilterOptions(model, sort, taskService.getSearchFacets(search));
+            return "task/list";
         }
-        // Apply filters if provided
-        else {
-            // Get initial tasks based on status filter if provided
-            if (status != null) {
-                tasks = taskService.getTasksByStatus(status);
-                model.addAttribute("selectedStatus", status);
-            } else {
-                tasks = taskService.getAllTasks();
-            }
-
-            // Further filter by priority if provided
-            if (priority != null) {
-                tasks = tasks.stream()
-                        .filter(task -> task.getPriority() == priority)
-                        .collect(Collectors.toList());
-                model.addAttribute("selectedPriority", priority);
-            }
 
-            // Further filter by assignee if provided
-            if (assignee != null && !assignee.isEmpty()) {
-                tasks = tasks.stream()
-                        .filter(task -> assignee.equals(task.getAssignee()))
-                        .collect(Collectors.toList());
-                model.addAttribute("selectedAssignee", assignee);
-            }
+        TaskQuery query = new TaskQuery();
+        query.setSortOrder(TaskSortOrder.fromParam(sort));
+        query.setLimit(size);
 
-            // Apply sorting if provided
-            if ("dueDate".equals(sort)) {
-                tasks = tasks.stream()
-                        .sorted((t1, t2) -> t1.getDueDate().compareTo(t2.getDueDate()))
-                        .collect(Collectors.toList());
-            } else if ("dueDateDesc".equals(sort)) {
-                tasks = tasks.stream()
-                        .sorted((t1, t2) -> t2.getDueDate().compareTo(t1.getDueDate()))
-                        .collect(Collectors.toList());
-            } else if ("priority".equals(sort)) {
-                tasks = tasks.stream()
-                        .sorted((t1, t2) -> comparePriority(t1.getPriority(), t2.getPriority()))
-                        .collect(Collectors.toList());
-            }
+        // Search combined with filters or an explicit sort, and every filter, run as a single database query
+        if (searching) {
+            query.setKeyword(search);
+            model.addAttribute("search", search);
+        }
+        if (status != null) {
+            query.setStatus(status);
+            model.addAttribute("selectedStatus", status);
+        }
+        if (priority != null) {
+            query.setPriority(priority);
+            model.addAttribute("selectedPriority", priority);
+        }
+        if (assignee != null && !assignee.isEmpty()) {
+            query.setAssignee(assignee);
+            model.addAttribute("selectedAssignee", assignee);
         }
 
-        // Get all unique assignees for filtering
-        List<String> assignees = taskService.getAllTasks().stream()
-                .map(Task::getAssignee)
-                .filter(a -> a != null && !a.isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
+        // The list renders read-only summaries: no managed entities or dirty-checking snapshots
+        CursorPage<TaskSummary> page = taskService.getTaskSummaryPage(query, after, before);
+        List<TaskSummary> tasks = page.getItems();
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("prevCursor", page.getPrevCursor());
+        model.addAttribute("size", page.getSize());
 
         model.addAttribute("tasks", tasks);
+        addFilterOptions(model, sort, taskService.getFacets(query));
+        return "task/list";
+    }
+
+    // Options of the status, priority, assignee and sort filter bar, with the number of tasks each
+    // option would show given the rest of the filter
+    private void addFilterOptions(Model model, String sort, TaskFacets facets) {
         model.addAttribute("sort", sort);
         model.addAttribute("statuses", TaskStatus.values());
         model.addAttribute("priorities", TaskPriority.values());
-        model.addAttribute("assignees", assignees);
-        return "task/list";
+        model.addAttribute("assignees", taskService.getAllAssignees());
+        model.addAttribute("facets", facets);
     }
 
-    // Helper method to compare priorities (HIGH > MEDIUM > LOW)
-    private int comparePriority(TaskPriority p1, TaskPriority p2) {
-        // Return higher priority first
-        return Integer.compare(getPriorityValue(p2), getPriorityValue(p1));
+    // Typeahead suggestions (JSON) for the search box
+    @GetMapping("/suggest")
+    @ResponseBody
+    public List<TaskSuggestion> suggest(@RequestParam(value = "q", required = false) String prefix,
+                                        @RequestParam(value = "limit", defaultValue = "5") int limit) {
+        return taskService.suggest(prefix, limit);
     }
 
-    private int getPriorityValue(TaskPriority priority) {
-        switch (priority) {
-            case HIGH: return 3;
-            case MEDIUM: return 2;
-            case LOW: return 1;
-            default: return 0;
+    // Download every task matching the list filters as CSV or NDJSON, streamed row by row
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) String assignee,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String search) {
+        TaskFormat taskFormat;
+        try {
+            taskFormat = TaskFormat.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TaskQuery query = new TaskQuery();
+        query.setSortOrder(TaskSortOrder.fromParam(sort));
+        query.setStatus(status);
+        query.setPriority(priority);
+        if (assignee != null && !assignee.isEmpty()) {
+            query.setAssignee(assignee);
+        }
+        if (search != null && !search.isEmpty()) {
+            query.setKeyword(search);
+        }
+
+        StreamingResponseBody body = out -> {
+            try (TaskWriter writer = taskFormat.writer(out)) {
+                taskService.exportTasks(query, task -> {
+                    try {
+                        writer.write(task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; stop streaming
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(taskFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + taskFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    // Creates tasks from a CSV or NDJSON request body (not a multipart form), read as it arrives
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseBody
+    public ResponseEntity<TaskImportResult> importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        InputStream body) throws IOException {
+        TaskFormat format = TaskFormat.fromContentType(contentType);
+        try (TaskReader reader = format.reader(body)) {
+            TaskImportResult result = taskImportService.importTasks(reader);
+            return result.complete() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
         }
     }
 
@@ -157,7 +230,7 @@ public class TaskController {
     }
 
     // Process form submission for updating an existing task
-    @PostMapping("/{id}")
+    @PostMapping("/{id:\\d+}")
     public String updateTask(@PathVariable("id") Long id,
                              @Valid @ModelAttribute("task") Task task,
                              BindingResult result,
@@ -167,13 +240,35 @@ public class TaskController {
         }
 
         task.setId(id);
-        taskService.updateTask(task);
+        try {
+            taskService.updateTask(task);
+        } catch (OptimisticLockException e) {
+            redirectAttributes.addFlashAttribute("message",
+                    "Task was changed by someone else while you were editing. Review the current values and save again.");
+            return "redirect:/tasks/" + id + "/edit";
+        }
         redirectAttributes.addFlashAttribute("message", "Task updated successfully!");
         return "redirect:/tasks";
     }
 
+    // Partial update (JSON). 409 Conflict if the task changed since the version in the body
+    @PatchMapping(value = "/{id:\\d+}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> patchTask(@PathVariable("id") Long id, @Valid @RequestBody TaskPatch patch) {
+        try {
+            Optional<Task> patched = taskService.patchTask(id, patch);
+            if (patched.isPresent()) {
+                return ResponseEntity.ok(patched.get());
+            }
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Collections.singletonMap("error", "Task " + id + " was modified concurrently; reload and retry."));
+        }
+    }
+
     // View a specific task's details
-    @GetMapping("/{id}")
+    @GetMapping("/{id:\\d+}")
     public String viewTask(@PathVariable("id") Long id, Model model) {
         Optional<Task> taskOptional = taskService.getTaskById(id);
 
@@ -208,4 +303,47 @@ public class TaskController {
         redirectAttributes.addFlashAttribute("message", "Task marked as in progress!");
         return "redirect:/tasks";
     }
-}
\ No newline at end of file
+
+    // Apply one action to the tasks selected on the list page
+    @PostMapping("/bulk")
+    public String bulkAction(@RequestParam(value = "ids", required = false) List<Long> ids,
+                             @RequestParam("action") String action,
+                             RedirectAttributes redirectAttributes) {
+        if (ids == null || ids.isEmpty()) {
+            redirectAttributes.addFlashAttribute("message", "No tasks selected.");
+            return "redirect:/tasks";
+        }
+        int changed;
+        switch (action) {
+            case "complete":
+                changed = taskService.markTasks(ids, TaskStatus.COMPLETED);
+                redirectAttributes.addFlashAttribute("message", changed + " task(s) marked as completed!");
+                break;
+            case "inprogress":
+                changed = taskService.markTasks(ids, TaskStatus.IN_PROGRESS);
+                redirectAttributes.addFlashAttribute("message", changed + " task(s) marked as in progress!");
+                break;
+            case "delete":
+                changed = taskService.deleteTasks(ids);
+                redirectAttributes.addFlashAttribute("message", changed + " task(s) deleted successfully!");
+                break;
+            default:
+                redirectAttributes.addFlashAttribute("message", "Unknown bulk action: " + action);
+                break;
+        }
+        return "redirect:/tasks";
+    }
+
+    // Complete every overdue open task, optionally only those of one assignee
+    @PostMapping("/bulk/complete-overdue")
+    public String completeOverdue(@RequestParam(value = "assignee", required = false) String assignee,
+                                  RedirectAttributes redirectAttributes) {
+        String normalized = assignee == null || assignee.isEmpty() ? null : assignee;
+        int completed = taskService.completeOverdueTasks(normalized);
+        redirectAttributes.addFlashAttribute("message", completed + " overdue task(s) marked as completed!");
+        if (normalized != null) {
+            redirectAttributes.addAttribute("assignee", normalized);
+        }
+        return "redirect:/tasks";
+    }
+}
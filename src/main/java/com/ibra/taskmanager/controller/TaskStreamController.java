@@ -0,0 +1,50 @@
+package com.ibra.taskmanager.controller;
+
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.push.TaskChangeBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events stream of committed task changes, optionally filtered by status and assignee.
+ * Open dashboards listen here instead of reloading the task list to see other users' changes.
+ */
+@RestController
+public class TaskStreamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStreamController.class);
+
+    private final TaskChangeBroadcaster broadcaster;
+
+    @Autowired
+    public TaskStreamController(TaskChangeBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(value = "/api/tasks/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) TaskStatus status,
+                                             @RequestParam(required = false) String assignee) {
+        try {
+            SseEmitter emitter = broadcaster.subscribe(status, assignee);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    // Stops nginx from buffering the stream
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter);
+        } catch (IllegalStateException e) {
+            logger.warn("Task stream rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "30")
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ibra.taskmanager.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated result. The cursors are encoded {@link TaskCursor} tokens,
+ * null when there is no page in that direction.
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final String prevCursor;
+    private final int size;
+
+    public CursorPage(List<T> items, String nextCursor, String prevCursor, int size) {
+        this.items = items != null ? Collections.unmodifiableList(items) : Collections.emptyList();
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+        this.size = size;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return prevCursor != null;
+    }
+}
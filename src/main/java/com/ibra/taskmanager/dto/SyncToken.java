@@ -0,0 +1,86 @@
+package com.ibra.taskmanager.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Delta sync position: the (updated_at, id) of the last changed task and the (deleted_at, task id)
+ * of the last tombstone a client has received. Clients treat the encoded form as opaque.
+ */
+public class SyncToken {
+
+    private static final String SEPARATOR = "|";
+    // Stands for "from the beginning" in place of a timestamp
+    private static final String START = "-";
+
+    // Null until the first full pass over the tasks is done
+    private final LocalDateTime taskTime;
+    private final long taskId;
+    private final LocalDateTime tombstoneTime;
+    private final long tombstoneId;
+
+    public SyncToken(LocalDateTime taskTime, long taskId, LocalDateTime tombstoneTime, long tombstoneId) {
+        if (tombstoneTime == null) {
+            throw new IllegalArgumentException("Tombstone time cannot be null");
+        }
+        this.taskTime = taskTime;
+        this.taskId = taskId;
+        this.tombstoneTime = tombstoneTime;
+        this.tombstoneId = tombstoneId;
+    }
+
+    // Position of a client without a copy: every task, and deletions after the given instant
+    public static SyncToken start(LocalDateTime deletionsAfter) {
+        return new SyncToken(null, 0, deletionsAfter, Long.MAX_VALUE);
+    }
+
+    public String encode() {
+        String raw = (taskTime != null ? taskTime.toString() : START) + SEPARATOR + taskId
+                + SEPARATOR + tombstoneTime + SEPARATOR + tombstoneId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            throw new IllegalArgumentException("Sync token cannot be null or empty");
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed sync token: " + token);
+            }
+            LocalDateTime taskTime = START.equals(parts[0]) ? null : LocalDateTime.parse(parts[0]);
+            return new SyncToken(taskTime, Long.parseLong(parts[1]), LocalDateTime.parse(parts[2]), Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed sync token: " + token, e);
+        }
+    }
+
+    public LocalDateTime getTaskTime() {
+        return taskTime;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public LocalDateTime getTombstoneTime() {
+        return tombstoneTime;
+    }
+
+    public long getTombstoneId() {
+        return tombstoneId;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncToken{" +
+                "taskTime=" + taskTime +
+                ", taskId=" + taskId +
+                ", tombstoneTime=" + tombstoneTime +
+                ", tombstoneId=" + tombstoneId +
+                '}';
+    }
+}
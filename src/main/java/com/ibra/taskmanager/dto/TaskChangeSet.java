@@ -0,0 +1,19 @@
+package com.ibra.taskmanager.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One delta sync response.
+ *
+ * @param updated tasks created or changed since the request token, oldest change first
+ * @param deleted ids of tasks deleted since the request token
+ * @param token   token to send with the next request
+ * @param more    true when a page limit was hit; ask again right away with the new token
+ */
+public record TaskChangeSet<T>(List<T> updated, List<Long> deleted, String token, boolean more) {
+
+    public <R> TaskChangeSet<R> map(Function<T, R> mapper) {
+        return new TaskChangeSet<>(updated.stream().map(mapper).toList(), deleted, token, more);
+    }
+}
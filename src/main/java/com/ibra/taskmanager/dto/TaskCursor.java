@@ -0,0 +1,107 @@
+package com.ibra.taskmanager.dto;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskSortOrder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Keyset cursor pointing at the last (or first) task seen on a page.
+ * It carries the values of the sort key for that task so the next page can be fetched
+ * with a "WHERE (key, id) > (?, ?)" seek instead of an OFFSET.
+ */
+public class TaskCursor {
+
+    private static final String SEPARATOR = "|";
+
+    // Priority rank, only meaningful for TaskSortOrder.PRIORITY
+    private final int rank;
+    // createdAt for CREATED, dueDate for every other ordering
+    private final LocalDateTime timestamp;
+    private final long id;
+
+    public TaskCursor(int rank, LocalDateTime timestamp, long id) {
+        if (timestamp == null) {
+            throw new IllegalArgumentException("Cursor timestamp cannot be null");
+        }
+        this.rank = rank;
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    // Builds the cursor for a task according to the ordering of the page it appeared on
+    public static TaskCursor of(Task task, TaskSortOrder sortOrder) {
+        if (task == null || task.getId() == null) {
+            throw new IllegalArgumentException("Cursor task and its id cannot be null");
+        }
+        LocalDateTime timestamp = sortOrder == TaskSortOrder.CREATED ? task.getCreatedAt() : task.getDueDate();
+        int rank = task.getPriority() != null ? task.getPriority().getRank() : 0;
+        return new TaskCursor(rank, toColumnPrecision(timestamp), task.getId());
+    }
+
+    public static TaskCursor of(TaskSummary task, TaskSortOrder sortOrder) {
+        if (task == null || task.id() == null) {
+            throw new IllegalArgumentException("Cursor task and its id cannot be null");
+        }
+        LocalDateTime timestamp = sortOrder == TaskSortOrder.CREATED ? task.createdAt() : task.dueDate();
+        int rank = task.priority() != null ? task.priority().getRank() : 0;
+        return new TaskCursor(rank, toColumnPrecision(timestamp), task.id());
+    }
+
+    // Timestamp columns keep microseconds, and both PostgreSQL and H2 round to them on insert. A task
+    // that was just saved still holds the JVM clock's nanoseconds; rounding them the same way keeps the
+    // cursor equal to the stored row, so the seek neither repeats nor skips it
+    private static LocalDateTime toColumnPrecision(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return null;
+        }
+        LocalDateTime micros = timestamp.truncatedTo(ChronoUnit.MICROS);
+        return timestamp.getNano() % 1000 >= 500 ? micros.plus(1, ChronoUnit.MICROS) : micros;
+    }
+
+    // Opaque, URL-safe representation used in the list page links
+    public String encode() {
+        String raw = rank + SEPARATOR + timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            throw new IllegalArgumentException("Cursor cannot be null or empty");
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            return new TaskCursor(Integer.parseInt(parts[0]), LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskCursor{" +
+                "rank=" + rank +
+                ", timestamp=" + timestamp +
+                ", id=" + id +
+                '}';
+    }
+}
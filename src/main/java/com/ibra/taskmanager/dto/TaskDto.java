@@ -0,0 +1,23 @@
+package com.ibra.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task as returned by the /api/tasks endpoints. Null fields are left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskDto(Long id, String title, String description, TaskStatus status, TaskPriority priority,
+                      String assignee, LocalDateTime dueDate, LocalDateTime createdAt, LocalDateTime updatedAt,
+                      Long version) {
+
+    public static TaskDto of(Task task) {
+        return new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getPriority(), task.getAssignee(), task.getDueDate(), task.getCreatedAt(), task.getUpdatedAt(),
+                task.getVersion());
+    }
+}
@@ -0,0 +1,32 @@
+package com.ibra.taskmanager.dto;
+
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+
+import java.util.Map;
+
+/**
+ * Task counts per filter value for the list filter bar. Each facet is counted with every criterion
+ * of the current filter except its own, so a count is the number of tasks the list would show if
+ * that value were selected instead.
+ *
+ * @param total      tasks matching the whole filter
+ * @param statuses   tasks per status (every status present)
+ * @param priorities tasks per priority (every priority present)
+ * @param assignees  tasks per assignee, alphabetical; unassigned tasks are not counted
+ */
+public record TaskFacets(long total, Map<TaskStatus, Long> statuses, Map<TaskPriority, Long> priorities,
+                         Map<String, Long> assignees) {
+
+    public long status(TaskStatus status) {
+        return statuses.getOrDefault(status, 0L);
+    }
+
+    public long priority(TaskPriority priority) {
+        return priorities.getOrDefault(priority, 0L);
+    }
+
+    public long assignee(String assignee) {
+        return assignees.getOrDefault(assignee, 0L);
+    }
+}
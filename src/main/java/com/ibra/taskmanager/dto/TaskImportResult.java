@@ -0,0 +1,23 @@
+package com.ibra.taskmanager.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of POST /tasks/import.
+ *
+ * @param records        records read from the upload, valid or not
+ * @param imported       tasks created
+ * @param failed         records rejected
+ * @param errors         the first rejected records, in input order
+ * @param complete       false when the upload could not be read to the end; tasks imported before
+ *                       that point are kept
+ * @param message        why the import stopped early, or null
+ * @param elapsedMillis  wall-clock time of the import
+ * @param tasksPerSecond imported tasks per second
+ */
+public record TaskImportResult(long records, long imported, long failed, List<LineError> errors,
+                               boolean complete, String message, long elapsedMillis, long tasksPerSecond) {
+
+    public record LineError(long line, String message) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.ibra.taskmanager.dto;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Partial update of a task (body of PATCH /tasks/{id}). Null fields are left unchanged; an empty
+ * assignee unassigns the task. {@code version} is the version the client last read; the update is
+ * rejected if the task changed since.
+ */
+public class TaskPatch {
+
+    @NotNull(message = "Version is required")
+    private Long version;
+
+    @Size(min = 3, max = 100, message = "Title must be between 3 and 100 characters")
+    private String title;
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+
+    private TaskStatus status;
+    private TaskPriority priority;
+
+    @Size(max = 100, message = "Assignee cannot exceed 100 characters")
+    private String assignee;
+
+    private LocalDateTime dueDate;
+
+    /**
+     * Copies the set fields onto the task. Returns true if any value actually changed.
+     */
+    public boolean applyTo(Task task) {
+        boolean changed = false;
+        if (title != null && !title.equals(task.getTitle())) {
+            task.setTitle(title);
+            changed = true;
+        }
+        if (description != null && !description.equals(task.getDescription())) {
+            task.setDescription(description);
+            changed = true;
+        }
+        if (status != null && status != task.getStatus()) {
+            task.setStatus(status);
+            changed = true;
+        }
+        if (priority != null && priority != task.getPriority()) {
+            task.setPriority(priority);
+            changed = true;
+        }
+        if (assignee != null) {
+            String newAssignee = assignee.isEmpty() ? null : assignee;
+            if (!Objects.equals(newAssignee, task.getAssignee())) {
+                task.setAssignee(newAssignee);
+                changed = true;
+            }
+        }
+        if (dueDate != null && !dueDate.equals(task.getDueDate())) {
+            task.setDueDate(dueDate);
+            changed = true;
+        }
+        return changed;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public String getAssignee() {
+        return assignee;
+    }
+
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskPatch{" +
+                "version=" + version +
+                ", title='" + title + '\'' +
+                ", description='" + description + '\'' +
+                ", status=" + status +
+                ", priority=" + priority +
+                ", assignee='" + assignee + '\'' +
+                ", dueDate=" + dueDate +
+                '}';
+    }
+}
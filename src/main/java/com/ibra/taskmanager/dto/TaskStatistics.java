@@ -0,0 +1,28 @@
+package com.ibra.taskmanager.dto;
+
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Dashboard counts at one point in time.
+ *
+ * @param total       all tasks
+ * @param byStatus    tasks per status (every status present)
+ * @param byPriority  tasks per priority (every priority present)
+ * @param overdue     open (pending or in progress) tasks past their due date
+ * @param overdueAsOf the time the overdue count refers to; tasks falling due after it are not counted yet
+ */
+public record TaskStatistics(long total, Map<TaskStatus, Long> byStatus, Map<TaskPriority, Long> byPriority,
+                             long overdue, LocalDateTime overdueAsOf) {
+
+    public long countByStatus(TaskStatus status) {
+        return byStatus.getOrDefault(status, 0L);
+    }
+
+    public long countByPriority(TaskPriority priority) {
+        return byPriority.getOrDefault(priority, 0L);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ibra.taskmanager.dto;
+
+/**
+ * One typeahead suggestion returned by GET /tasks/suggest.
+ *
+ * @param type  what the text is: a task title or an assignee name
+ * @param text  the suggested value
+ * @param count number of tasks carrying the value
+ */
+public record TaskSuggestion(Type type, String text, int count) {
+
+    public enum Type {
+        TITLE,
+        ASSIGNEE
+    }
+}
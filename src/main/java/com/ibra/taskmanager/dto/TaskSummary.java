@@ -0,0 +1,21 @@
+package com.ibra.taskmanager.dto;
+
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of the task list, selected column by column instead of hydrating a managed
+ * {@link com.ibra.taskmanager.entity.Task}: no persistence context entry, no dirty-checking snapshot
+ * and no full description.
+ *
+ * @param description the first {@link #DESCRIPTION_PREVIEW_LENGTH} characters of the description
+ * @param createdAt   needed for the keyset cursor of the default ordering
+ */
+public record TaskSummary(Long id, String title, String description, TaskStatus status, TaskPriority priority,
+                          String assignee, LocalDateTime dueDate, LocalDateTime createdAt) {
+
+    // The list shows 50 characters; one more tells the view that the text was cut
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 51;
+}
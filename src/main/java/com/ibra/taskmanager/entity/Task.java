@@ -1,5 +1,7 @@
 package com.ibra.taskmanager.entity;
 
+import com.ibra.taskmanager.entity.converter.TaskPriorityConverter;
+import com.ibra.taskmanager.entity.converter.TaskStatusConverter;
 import com.ibra.taskmanager.enums.TaskPriority;
 import com.ibra.taskmanager.enums.TaskStatus;
 
@@ -7,18 +9,43 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+// Created by the db/migration scripts; declared here as well so generated test schemas match.
+// (updated_at, id) is the delta sync ordering, the others serve list filters and keyset pages
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_updated_at", columnList = "updated_at, id"),
+        @Index(name = "idx_tasks_status_due_date", columnList = "status, due_date, id"),
+        @Index(name = "idx_tasks_assignee_status", columnList = "assignee, status"),
+        @Index(name = "idx_tasks_due_date", columnList = "due_date, id"),
+        @Index(name = "idx_tasks_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_priority_due_date", columnList = "priority DESC, due_date, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.CACHE_REGION)
+@DynamicUpdate
 public class Task {
 
+    // Second-level cache region, configured in caffeine.conf
+    public static final String CACHE_REGION = "task";
+
+    // Ids come from a sequence in blocks of ID_ALLOCATION_SIZE (pooled optimizer), so inserts need no
+    // round-trip per row and can be JDBC-batched
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_id_generator")
+    @SequenceGenerator(name = "task_id_generator", sequenceName = "tasks_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -34,22 +61,37 @@ public class Task {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Set on every insert and update; bulk statements set it explicitly. The column default fills
+    // rows created before delta sync
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
     @NotNull(message = "Due date is required")
     @Column(name = "due_date", nullable = false)
     private LocalDateTime dueDate;
 
+    // Stored as SMALLINT codes, see the converters
     @NotNull(message = "Status is required")
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = TaskStatusConverter.class)
     @Column(nullable = false)
     private TaskStatus status;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = TaskPriorityConverter.class)
     @Column(nullable = false)
     private TaskPriority priority;
 
     @Column(name = "assignee", length = 100)
     private String assignee;
 
+    // Optimistic lock: every UPDATE checks and increments it, so concurrent edits fail instead of
+    // overwriting each other. The column default fills rows created before versioning
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // Default constructor
     public Task() {
         this.status = TaskStatus.PENDING;
@@ -100,6 +142,14 @@ public class Task {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public LocalDateTime getDueDate() {
         return dueDate;
     }
@@ -124,6 +174,14 @@ public class Task {
         this.priority = priority;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getAssignee() {
         return assignee;
     }
@@ -143,6 +201,7 @@ public class Task {
                 ", status=" + status +
                 ", priority=" + priority +
                 ", assignee='" + assignee + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,49 @@
+package com.ibra.taskmanager.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind when a task is deleted, so delta sync clients learn about the deletion.
+ * Task ids come from a sequence and are never reused, so the task id is the key.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = @Index(name = "idx_task_tombstones_deleted_at", columnList = "deleted_at, task_id"))
+public class TaskTombstone {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    protected TaskTombstone() {
+    }
+
+    public TaskTombstone(Long taskId, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskTombstone{" +
+                "taskId=" + taskId +
+                ", deletedAt=" + deletedAt +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+package com.ibra.taskmanager.entity.converter;
+
+import com.ibra.taskmanager.enums.TaskPriority;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link TaskPriority} as its rank in a SMALLINT column, so ORDER BY priority DESC is the
+ * HIGH > MEDIUM > LOW order and can be served by an index.
+ */
+@Converter
+public class TaskPriorityConverter implements AttributeConverter<TaskPriority, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TaskPriority priority) {
+        return priority != null ? (short) priority.getRank() : null;
+    }
+
+    @Override
+    public TaskPriority convertToEntityAttribute(Short rank) {
+        return rank != null ? TaskPriority.fromRank(rank) : null;
+    }
+}
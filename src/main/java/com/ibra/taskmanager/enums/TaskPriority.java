@@ -1,7 +1,28 @@
 package com.ibra.taskmanager.enums;
 
 public enum TaskPriority {
-    LOW,
-    MEDIUM,
-    HIGH
-}
\ No newline at end of file
+    LOW(1),
+    MEDIUM(2),
+    HIGH(3);
+
+    // Higher rank means more urgent; used for HIGH > MEDIUM > LOW ordering. It is also the value stored
+    // in tasks.priority, so the database orders by it directly
+    private final int rank;
+
+    TaskPriority(int rank) {
+        this.rank = rank;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public static TaskPriority fromRank(int rank) {
+        for (TaskPriority priority : values()) {
+            if (priority.rank == rank) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task priority rank: " + rank);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ibra.taskmanager.enums;
+
+/**
+ * Orderings supported by the paginated task list. Every ordering ends with the task id
+ * so that the sort key is unique and can be used as a keyset (seek) cursor.
+ */
+public enum TaskSortOrder {
+    CREATED,        // createdAt ASC, id ASC
+    DUE_DATE_ASC,   // dueDate ASC, id ASC
+    DUE_DATE_DESC,  // dueDate DESC, id DESC
+    PRIORITY;       // priority HIGH > MEDIUM > LOW, then dueDate ASC, id ASC
+
+    // Maps the "sort" request parameter used by the list page
+    public static TaskSortOrder fromParam(String sort) {
+        if ("dueDate".equals(sort)) {
+            return DUE_DATE_ASC;
+        } else if ("dueDateDesc".equals(sort)) {
+            return DUE_DATE_DESC;
+        } else if ("priority".equals(sort)) {
+            return PRIORITY;
+        }
+        return CREATED;
+    }
+}
@@ -2,8 +2,29 @@ package com.ibra.taskmanager.enums;
 
 
 public enum TaskStatus {
-    PENDING,
-    IN_PROGRESS,
-    COMPLETED,
-    CANCELLED
-}
\ No newline at end of file
+    PENDING(1),
+    IN_PROGRESS(2),
+    COMPLETED(3),
+    CANCELLED(4);
+
+    // Value stored in tasks.status; fixed per constant so reordering or adding constants never
+    // changes the meaning of stored rows
+    private final int code;
+
+    TaskStatus(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public static TaskStatus fromCode(int code) {
+        for (TaskStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task status code: " + code);
+    }
+}
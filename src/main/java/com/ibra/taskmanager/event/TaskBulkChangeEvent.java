@@ -0,0 +1,56 @@
+package com.ibra.taskmanager.event;
+
+import com.ibra.taskmanager.enums.TaskStatus;
+
+/**
+ * Published instead of per-task {@link TaskChangeEvent}s when a single operation changes many tasks
+ * at once (bulk create, bulk update, bulk delete). It carries no per-task state, so it stays small
+ * however many rows were touched; listeners holding derived state should reload it.
+ */
+public class TaskBulkChangeEvent {
+
+    private final TaskChangeEvent.Type type;
+    private final int count;
+    // New status of a bulk status transition; null for other bulk changes
+    private final TaskStatus status;
+
+    public TaskBulkChangeEvent(TaskChangeEvent.Type type, int count) {
+        this(type, count, null);
+    }
+
+    public TaskBulkChangeEvent(TaskChangeEvent.Type type, int count, TaskStatus status) {
+        if (type == null) {
+            throw new IllegalArgumentException("Change type cannot be null");
+        }
+        this.type = type;
+        this.count = count;
+        this.status = status;
+    }
+
+    public static TaskBulkChangeEvent statusChanged(TaskStatus status, int count) {
+        return new TaskBulkChangeEvent(TaskChangeEvent.Type.UPDATED, count, status);
+    }
+
+    public TaskChangeEvent.Type getType() {
+        return type;
+    }
+
+    // Number of tasks changed
+    public int getCount() {
+        return count;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    // True if only the status column changed
+    public boolean isStatusChange() {
+        return status != null;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskBulkChangeEvent{type=" + type + ", count=" + count + ", status=" + status + '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.ibra.taskmanager.event;
+
+/**
+ * Published by the service layer for every task mutation. Listeners that maintain derived
+ * in-memory state should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class TaskChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long taskId;
+    // State before the change; null for CREATED (and for DELETED if the task was not loaded)
+    private final TaskSnapshot before;
+    // State after the change; null for DELETED
+    private final TaskSnapshot after;
+
+    public TaskChangeEvent(Type type, Long taskId, TaskSnapshot before, TaskSnapshot after) {
+        if (type == null || taskId == null) {
+            throw new IllegalArgumentException("Change type and task id cannot be null");
+        }
+        this.type = type;
+        this.taskId = taskId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static TaskChangeEvent created(TaskSnapshot after) {
+        return new TaskChangeEvent(Type.CREATED, after.id(), null, after);
+    }
+
+    public static TaskChangeEvent updated(TaskSnapshot before, TaskSnapshot after) {
+        return new TaskChangeEvent(Type.UPDATED, after.id(), before, after);
+    }
+
+    public static TaskChangeEvent deleted(Long taskId, TaskSnapshot before) {
+        return new TaskChangeEvent(Type.DELETED, taskId, before, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public TaskSnapshot getBefore() {
+        return before;
+    }
+
+    public TaskSnapshot getAfter() {
+        return after;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskChangeEvent{" +
+                "type=" + type +
+                ", taskId=" + taskId +
+                '}';
+    }
+}
@@ -0,0 +1,29 @@
+package com.ibra.taskmanager.event;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a task's state at the moment a change was made. Entities are mutable and
+ * may be re-attached or modified later, so change listeners only ever see snapshots.
+ */
+public record TaskSnapshot(Long id,
+                           String title,
+                           String description,
+                           TaskStatus status,
+                           TaskPriority priority,
+                           String assignee,
+                           LocalDateTime dueDate,
+                           LocalDateTime createdAt) {
+
+    public static TaskSnapshot of(Task task) {
+        if (task == null) {
+            return null;
+        }
+        return new TaskSnapshot(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getPriority(), task.getAssignee(), task.getDueDate(), task.getCreatedAt());
+    }
+}
@@ -0,0 +1,132 @@
+package com.ibra.taskmanager.format;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV parsed a character at a time, so quoted fields may span lines and only the current
+ * record is ever held in memory. The first row is the header; columns are matched to fields by
+ * name and may come in any order.
+ */
+class CsvTaskReader implements TaskReader {
+
+    private final BufferedReader in;
+    private String[] header;
+    // Physical line the parser is on
+    private long line = 1;
+
+    CsvTaskReader(InputStream in) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public TaskRecord read() throws IOException {
+        if (header == null && !readHeader()) {
+            return null;
+        }
+        while (true) {
+            long start = line;
+            List<String> row = readRow();
+            if (row == null) {
+                return null;
+            }
+            if (row.size() == 1 && row.get(0).isEmpty()) {
+                continue;
+            }
+            if (row.size() != header.length) {
+                return TaskRecord.error(start, "Expected " + header.length + " fields but found " + row.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                fields.put(header[i], row.get(i));
+            }
+            return TaskRecord.of(start, fields);
+        }
+    }
+
+    private boolean readHeader() throws IOException {
+        List<String> columns = readRow();
+        if (columns == null) {
+            return false;
+        }
+        header = new String[columns.size()];
+        for (int i = 0; i < header.length; i++) {
+            header[i] = columns.get(i).trim();
+        }
+        // Spreadsheet exports often start with a byte order mark
+        if (header[0].startsWith("\uFEFF")) {
+            header[0] = header[0].substring(1);
+        }
+        if (!List.of(header).contains("title") || !List.of(header).contains("dueDate")) {
+            throw new IOException("CSV header must include the title and dueDate columns");
+        }
+        return true;
+    }
+
+    // Fields of the next row, or null at the end of the input
+    private List<String> readRow() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        long start = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (++length > TaskFormat.MAX_RECORD_LENGTH) {
+                throw new IOException("Record on line " + start + " is longer than "
+                        + TaskFormat.MAX_RECORD_LENGTH + " characters");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field on line " + start);
+                }
+                if (c == '"') {
+                    c = in.read();
+                    if (c != '"') {
+                        // Closing quote; c is the character after it
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    in.mark(1);
+                    if (in.read() != '\n') {
+                        in.reset();
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
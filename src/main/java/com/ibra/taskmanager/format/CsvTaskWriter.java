@@ -0,0 +1,86 @@
+package com.ibra.taskmanager.format;
+
+import com.ibra.taskmanager.entity.Task;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with a header row. Fields containing a comma, quote or line break are quoted.
+ */
+class CsvTaskWriter implements TaskWriter {
+
+    private final Writer out;
+
+    CsvTaskWriter(OutputStream out) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.out.write(String.join(",", TaskFormat.FIELDS));
+        this.out.write("\r\n");
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        writeField(task.getId());
+        out.write(',');
+        writeField(task.getTitle());
+        out.write(',');
+        writeField(task.getDescription());
+        out.write(',');
+        writeField(task.getStatus());
+        out.write(',');
+        writeField(task.getPriority());
+        out.write(',');
+        writeField(task.getAssignee());
+        out.write(',');
+        writeField(task.getDueDate());
+        out.write(',');
+        writeField(task.getCreatedAt());
+        out.write(',');
+        writeField(task.getVersion());
+        out.write("\r\n");
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (!needsQuoting(text)) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static boolean needsQuoting(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
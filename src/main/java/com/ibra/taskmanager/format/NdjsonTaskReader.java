@@ -0,0 +1,95 @@
+package com.ibra.taskmanager.format;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Newline-delimited JSON. Each line is parsed on its own with Jackson's streaming parser, so a
+ * malformed line is reported and skipped instead of ending the import.
+ */
+class NdjsonTaskReader implements TaskReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final BufferedReader in;
+    private final StringBuilder buffer = new StringBuilder();
+    private long line;
+
+    NdjsonTaskReader(InputStream in) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public TaskRecord read() throws IOException {
+        while (readLine()) {
+            line++;
+            if (buffer.length() > TaskFormat.MAX_RECORD_LENGTH) {
+                return TaskRecord.error(line, "Line is longer than " + TaskFormat.MAX_RECORD_LENGTH + " characters");
+            }
+            if (buffer.toString().isBlank()) {
+                continue;
+            }
+            try {
+                return TaskRecord.of(line, parseObject(buffer.toString()));
+            } catch (JsonProcessingException e) {
+                return TaskRecord.error(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    // Reads the next line into the buffer, keeping at most one character past the length limit so an
+    // overlong line cannot exhaust memory; false at the end of the input
+    private boolean readLine() throws IOException {
+        buffer.setLength(0);
+        int c = in.read();
+        if (c == -1) {
+            return false;
+        }
+        while (c != -1 && c != '\n') {
+            if (c != '\r' && buffer.length() <= TaskFormat.MAX_RECORD_LENGTH) {
+                buffer.append((char) c);
+            }
+            c = in.read();
+        }
+        return true;
+    }
+
+    // A flat object of scalar values; numbers and booleans are kept as text
+    private static Map<String, String> parseObject(String text) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value.isStructStart()) {
+                    throw new JsonParseException(parser, "Field " + name + " must be a string, number or null");
+                }
+                fields.put(name, value == JsonToken.VALUE_NULL ? null : parser.getText());
+            }
+            if (parser.nextToken() != null) {
+                throw new JsonParseException(parser, "Unexpected content after the object");
+            }
+            return fields;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,67 @@
+package com.ibra.taskmanager.format;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.ibra.taskmanager.entity.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Newline-delimited JSON written with Jackson's streaming generator (no object mapping per row).
+ */
+class NdjsonTaskWriter implements TaskWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+
+    NdjsonTaskWriter(OutputStream out) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        // Root values are separated by the newline written after each task
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        generator.writeStartObject();
+        writeNumber("id", task.getId());
+        writeString("title", task.getTitle());
+        writeString("description", task.getDescription());
+        writeString("status", task.getStatus());
+        writeString("priority", task.getPriority());
+        writeString("assignee", task.getAssignee());
+        writeString("dueDate", task.getDueDate());
+        writeString("createdAt", task.getCreatedAt());
+        writeNumber("version", task.getVersion());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeString(String field, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+
+    private void writeNumber(String field, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
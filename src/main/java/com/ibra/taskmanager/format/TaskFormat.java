@@ -0,0 +1,93 @@
+package com.ibra.taskmanager.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * File formats tasks can be exported and imported in. Both are row oriented, so tasks are written
+ * and read one at a time and never collected in memory.
+ */
+public enum TaskFormat {
+
+    CSV("text/csv", "csv") {
+        @Override
+        public TaskWriter writer(OutputStream out) throws IOException {
+            return new CsvTaskWriter(out);
+        }
+
+        @Override
+        public TaskReader reader(InputStream in) {
+            return new CsvTaskReader(in);
+        }
+    },
+
+    // Newline-delimited JSON: one task object per line
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        public TaskWriter writer(OutputStream out) throws IOException {
+            return new NdjsonTaskWriter(out);
+        }
+
+        @Override
+        public TaskReader reader(InputStream in) {
+            return new NdjsonTaskReader(in);
+        }
+    };
+
+    // Columns / fields, in output order
+    static final String[] FIELDS = {
+            "id", "title", "description", "status", "priority", "assignee", "dueDate", "createdAt", "version"
+    };
+
+    // Longest record an import accepts, in characters; protects against unterminated quotes and
+    // files without line breaks
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final String contentType;
+    private final String extension;
+
+    TaskFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public abstract TaskWriter writer(OutputStream out) throws IOException;
+
+    public abstract TaskReader reader(InputStream in);
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // Case-insensitive lookup of a request parameter; CSV when absent
+    public static TaskFormat fromParam(String format) {
+        if (format == null || format.isEmpty()) {
+            return CSV;
+        }
+        for (TaskFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format: " + format);
+    }
+
+    // Matches a Content-Type header such as "text/csv; charset=UTF-8"
+    public static TaskFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            for (TaskFormat value : values()) {
+                if (value.contentType.equals(type)) {
+                    return value;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ibra.taskmanager.format;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads tasks one record at a time from an input stream. Closing closes the stream.
+ *
+ * <p>Problems confined to one record (bad value, malformed JSON line) come back as an invalid
+ * {@link TaskRecord} so the caller can report them and carry on; an {@link IOException} means the
+ * rest of the input cannot be read.</p>
+ */
+public interface TaskReader extends Closeable {
+
+    // Next record, or null at the end of the input
+    TaskRecord read() throws IOException;
+}
@@ -0,0 +1,102 @@
+package com.ibra.taskmanager.format;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One record read from an import file: either a new (unsaved) task or the reason the record could
+ * not be turned into one. Line numbers are 1-based and point at the line the record starts on.
+ */
+public final class TaskRecord {
+
+    private final long line;
+    private final Task task;
+    private final String error;
+
+    private TaskRecord(long line, Task task, String error) {
+        this.line = line;
+        this.task = task;
+        this.error = error;
+    }
+
+    static TaskRecord error(long line, String error) {
+        return new TaskRecord(line, null, error);
+    }
+
+    // Builds a task from field values keyed by the export field names. id, createdAt and version are
+    // ignored: an import always creates new tasks, so an export can be imported as-is
+    static TaskRecord of(long line, Map<String, String> fields) {
+        Task task = new Task();
+        try {
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                String value = field.getValue() == null || field.getValue().isEmpty() ? null : field.getValue();
+                switch (field.getKey()) {
+                    case "title" -> task.setTitle(value);
+                    case "description" -> task.setDescription(value);
+                    case "assignee" -> task.setAssignee(value);
+                    case "dueDate" -> task.setDueDate(parseDateTime(value));
+                    case "status" -> {
+                        if (value != null) {
+                            task.setStatus(parseEnum(TaskStatus.class, "status", value));
+                        }
+                    }
+                    case "priority" -> {
+                        if (value != null) {
+                            task.setPriority(parseEnum(TaskPriority.class, "priority", value));
+                        }
+                    }
+                    default -> {
+                        // id, createdAt, version and unknown fields
+                    }
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return error(line, e.getMessage());
+        }
+        return new TaskRecord(line, task, null);
+    }
+
+    // ISO date-time (2024-05-01T09:30) or date (2024-05-01, start of day)
+    private static LocalDateTime parseDateTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid dueDate: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String field, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    // The parsed task, or null when the record is invalid
+    public Task getTask() {
+        return task;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
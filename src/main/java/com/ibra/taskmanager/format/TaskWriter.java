@@ -0,0 +1,16 @@
+package com.ibra.taskmanager.format;
+
+import com.ibra.taskmanager.entity.Task;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes tasks one at a time to an output stream. Closing flushes buffered output and closes the stream.
+ */
+public interface TaskWriter extends Closeable {
+
+    void write(Task task) throws IOException;
+
+    void flush() throws IOException;
+}
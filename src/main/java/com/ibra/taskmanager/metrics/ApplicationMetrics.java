@@ -0,0 +1,57 @@
+package com.ibra.taskmanager.metrics;
+
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.push.TaskChangeBroadcaster;
+import com.ibra.taskmanager.service.QueryResultCache;
+import com.ibra.taskmanager.service.TaskStatisticsService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Exposes counters the application already keeps (query result cache, task streams, task counts
+ * and Hibernate statistics) through the metrics registry. They are read when metrics are scraped.
+ */
+@Component
+public class ApplicationMetrics {
+
+    @Autowired
+    public ApplicationMetrics(MetricsRegistry registry, QueryResultCache queryResultCache,
+                              TaskChangeBroadcaster broadcaster, TaskStatisticsService statisticsService,
+                              SessionFactory sessionFactory) {
+        registry.counter("taskmanager_query_cache_hits_total", "Task list queries answered from the query result cache.",
+                () -> queryResultCache.getStats().hitCount());
+        registry.counter("taskmanager_query_cache_misses_total", "Task list queries that had to be run.",
+                () -> queryResultCache.getStats().missCount());
+        registry.counter("taskmanager_query_cache_evictions_total", "Query results evicted for size or age.",
+                () -> queryResultCache.getStats().evictionCount());
+        registry.gauge("taskmanager_query_cache_entries", "Query results currently cached.", queryResultCache::size);
+
+        registry.gauge("taskmanager_task_streams", "Open task change streams.", broadcaster::getSubscriberCount);
+        registry.counter("taskmanager_task_stream_overflows_total",
+                "Times a slow stream subscriber fell behind and was sent a resync.", broadcaster::getOverflowCount);
+
+        for (TaskStatus status : TaskStatus.values()) {
+            registry.gauge("taskmanager_tasks", "Tasks by status.",
+                    () -> statisticsService.getStatistics().countByStatus(status),
+                    "status", status.name().toLowerCase(Locale.ROOT));
+        }
+        registry.gauge("taskmanager_tasks_overdue", "Open tasks past their due date.",
+                () -> statisticsService.getStatistics().overdue());
+
+        Statistics statistics = sessionFactory.getStatistics();
+        if (statistics.isStatisticsEnabled()) {
+            registry.counter("hibernate_queries_total", "HQL and criteria queries executed.", statistics::getQueryExecutionCount);
+            registry.counter("hibernate_statements_total", "JDBC statements prepared.", statistics::getPrepareStatementCount);
+            registry.counter("hibernate_entity_loads_total", "Entities loaded from the database.", statistics::getEntityLoadCount);
+            registry.counter("hibernate_second_level_cache_hits_total", "Second-level cache hits.",
+                    statistics::getSecondLevelCacheHitCount);
+            registry.counter("hibernate_second_level_cache_misses_total", "Second-level cache misses.",
+                    statistics::getSecondLevelCacheMissCount);
+            registry.counter("hibernate_transactions_total", "Transactions completed.", statistics::getTransactionCount);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ibra.taskmanager.metrics;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times controller handler methods, view rendering included. For asynchronous handlers (streamed
+ * exports, event streams) only the time until the handler hands the response off is recorded, not
+ * how long the stream then stays open.
+ */
+public class HandlerMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = HandlerMetricsInterceptor.class.getName() + ".start";
+
+    private final MetricsRegistry registry;
+    private final Map<Method, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    public HandlerMetricsInterceptor(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches re-enter the interceptor; they were timed when the request started
+        if (handler instanceof HandlerMethod && request.getDispatcherType() == DispatcherType.REQUEST) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record(request, handler, false);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record(request, handler, ex != null || response.getStatus() >= 500);
+    }
+
+    private void record(HttpServletRequest request, Object handler, boolean failed) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long startNanos) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        MethodMetrics methodMetrics = metrics.computeIfAbsent(handlerMethod.getMethod(),
+                method -> new MethodMetrics(registry, "controller", handlerMethod.getBeanType().getSimpleName(), method, false));
+        if (failed) {
+            methodMetrics.failed(startNanos);
+        } else {
+            methodMetrics.record(startNanos, null);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ibra.taskmanager.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time of every JDBC statement and batch a Hibernate session executes to the current
+ * {@link RequestTiming}. Hibernate creates one listener per session (hibernate.session.events.auto),
+ * and a session is used by one thread at a time, so the start time needs no synchronization.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private long startNanos;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null && startNanos != 0) {
+            timing.recordStatement(System.nanoTime() - startNanos);
+        }
+        startNanos = 0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ibra.taskmanager.metrics;
+
+import com.ibra.taskmanager.dto.CursorPage;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of one timed method: its latency, its failures and, for methods returning
+ * collections, maps, pages or optionals, the number of results.
+ */
+final class MethodMetrics {
+
+    static final String DURATION = "taskmanager_method_duration_seconds";
+    static final String ERRORS = "taskmanager_method_errors_total";
+    static final String RESULT_SIZE = "taskmanager_method_result_size";
+
+    private static final double NANOS = 1e-9;
+
+    private final LogLinearHistogram duration;
+    private final LongAdder errors;
+    // Null when results are not counted or the return type has no size
+    private final LogLinearHistogram resultSize;
+
+    MethodMetrics(MetricsRegistry registry, String layer, String type, Method method, boolean countResults) {
+        String[] labels = {"layer", layer, "class", type, "method", method.getName()};
+        duration = registry.summary(DURATION, "Time spent in repository, service and controller methods.", NANOS, labels);
+        errors = registry.counter(ERRORS, "Calls that ended with an exception (or, for controllers, a 5xx status).", labels);
+        resultSize = countResults && hasSize(method.getReturnType())
+                ? registry.summary(RESULT_SIZE, "Number of results returned by methods returning collections.", 1, labels)
+                : null;
+    }
+
+    void record(long startNanos, Object result) {
+        duration.record(System.nanoTime() - startNanos);
+        if (resultSize != null) {
+            long size = sizeOf(result);
+            if (size >= 0) {
+                resultSize.record(size);
+            }
+        }
+    }
+
+    void failed(long startNanos) {
+        duration.record(System.nanoTime() - startNanos);
+        errors.increment();
+    }
+
+    private static boolean hasSize(Class<?> type) {
+        return Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+                || CursorPage.class.isAssignableFrom(type) || Optional.class.isAssignableFrom(type);
+    }
+
+    static long sizeOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        } else if (result instanceof Map<?, ?> map) {
+            return map.size();
+        } else if (result instanceof CursorPage<?> page) {
+            return page.getItems().size();
+        } else if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ibra.taskmanager.metrics;
+
+import com.ibra.taskmanager.repository.TaskRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times calls to repository and service beans. Metrics are labelled with the bean's class, so the
+ * caching service and the service it delegates to are told apart even though they implement the
+ * same interface methods.
+ */
+public class MethodMetricsInterceptor implements MethodInterceptor {
+
+    private final MetricsRegistry registry;
+    // Per target class, then per method: a ClassValue lookup and a hash lookup, no allocation
+    private final ClassValue<Map<Method, MethodMetrics>> metrics = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodMetrics> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public MethodMetricsInterceptor(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object target = invocation.getThis();
+        Class<?> type = target != null ? AopUtils.getTargetClass(target) : invocation.getMethod().getDeclaringClass();
+        MethodMetrics methodMetrics = metrics.get(type).computeIfAbsent(invocation.getMethod(),
+                method -> new MethodMetrics(registry, layer(type), type.getSimpleName(), method, true));
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            methodMetrics.failed(start);
+            throw e;
+        }
+        methodMetrics.record(start, result);
+        return result;
+    }
+
+    private static String layer(Class<?> type) {
+        return TaskRepository.class.isAssignableFrom(type) ? "repository" : "service";
+    }
+}
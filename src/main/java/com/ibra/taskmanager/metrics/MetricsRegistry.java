@@ -0,0 +1,154 @@
+package com.ibra.taskmanager.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Application metrics, written out in the Prometheus text format by {@link #write(Writer)}.
+ *
+ * <p>Metrics are looked up once, when a caller first needs them, and kept by the caller; updating
+ * one is a {@link LongAdder} increment or a {@link LogLinearHistogram} record, neither of which
+ * locks or allocates. Labels are given as name/value pairs. Histograms are written as summaries
+ * whose quantiles cover everything recorded since startup.</p>
+ */
+@Component
+public class MetricsRegistry {
+
+    public static final String CONTENT_TYPE = "text/plain;version=0.0.4;charset=utf-8";
+
+    static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final ConcurrentMap<String, Family> families = new ConcurrentSkipListMap<>();
+
+    public LongAdder counter(String name, String help, String... labels) {
+        return (LongAdder) family(name, help, Type.COUNTER, 1)
+                .series.computeIfAbsent(labels(labels), key -> new LongAdder());
+    }
+
+    // A counter kept elsewhere, read when the metrics are written
+    public void counter(String name, String help, LongSupplier value, String... labels) {
+        family(name, help, Type.COUNTER, 1).series.put(labels(labels), value);
+    }
+
+    public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        family(name, help, Type.GAUGE, 1).series.put(labels(labels), value);
+    }
+
+    /**
+     * A histogram written as a summary, each value multiplied by scale (1e-9 records nanoseconds
+     * and writes seconds, the Prometheus base unit).
+     */
+    public LogLinearHistogram summary(String name, String help, double scale, String... labels) {
+        return (LogLinearHistogram) family(name, help, Type.SUMMARY, scale)
+                .series.computeIfAbsent(labels(labels), key -> new LogLinearHistogram());
+    }
+
+    private Family family(String name, String help, Type type, double scale) {
+        Family family = families.computeIfAbsent(name, key -> new Family(name, help, type, scale));
+        if (family.type != type || family.scale != scale) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type.text);
+        }
+        return family;
+    }
+
+    public void write(Writer out) throws IOException {
+        StringBuilder text = new StringBuilder(256);
+        for (Family family : families.values()) {
+            text.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n')
+                    .append("# TYPE ").append(family.name).append(' ').append(family.type.text).append('\n');
+            for (Map.Entry<String, Object> series : family.series.entrySet()) {
+                String labels = series.getKey();
+                Object metric = series.getValue();
+                if (metric instanceof LongAdder counter) {
+                    sample(text, family.name, labels, counter.sum());
+                } else if (metric instanceof LongSupplier counter) {
+                    sample(text, family.name, labels, counter.getAsLong());
+                } else if (metric instanceof DoubleSupplier gauge) {
+                    sample(text, family.name, labels, gauge.getAsDouble());
+                } else {
+                    LogLinearHistogram.Snapshot snapshot = ((LogLinearHistogram) metric).snapshot();
+                    for (double quantile : QUANTILES) {
+                        sample(text, family.name, withLabel(labels, "quantile", Double.toString(quantile)),
+                                snapshot.getValueAtQuantile(quantile) * family.scale);
+                    }
+                    sample(text, family.name + "_sum", labels, snapshot.getSum() * family.scale);
+                    sample(text, family.name + "_count", labels, snapshot.getCount());
+                }
+            }
+            out.write(text.toString());
+            text.setLength(0);
+        }
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, double value) {
+        text.append(name).append(labels).append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            text.append((long) value);
+        } else {
+            text.append(value);
+        }
+        text.append('\n');
+    }
+
+    // Renders {name="value",...}; the rendering is also the key of the series within its family
+    static String labels(String... pairs) {
+        if (pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs");
+        }
+        if (pairs.length == 0) {
+            return "";
+        }
+        StringBuilder labels = new StringBuilder("{");
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(pairs[i]).append("=\"").append(escape(pairs[i + 1])).append('"');
+        }
+        return labels.append('}').toString();
+    }
+
+    private static String withLabel(String labels, String name, String value) {
+        String label = name + "=\"" + value + "\"";
+        return labels.isEmpty() ? "{" + label + "}" : labels.substring(0, labels.length() - 1) + "," + label + "}";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private enum Type {
+        COUNTER("counter"), GAUGE("gauge"), SUMMARY("summary");
+
+        final String text;
+
+        Type(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class Family {
+
+        final String name;
+        final String help;
+        final Type type;
+        final double scale;
+        // Keyed by the rendered labels, so series are written in a stable order
+        final ConcurrentMap<String, Object> series = new ConcurrentSkipListMap<>();
+
+        Family(String name, String help, Type type, double scale) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.scale = scale;
+        }
+    }
+}
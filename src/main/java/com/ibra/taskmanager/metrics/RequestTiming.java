@@ -0,0 +1,91 @@
+package com.ibra.taskmanager.metrics;
+
+import java.util.Locale;
+
+/**
+ * Where the time of the current request went: database statements, the controller handler and
+ * view rendering. Bound to the request thread by {@link ServerTimingFilter} and filled in by
+ * {@link JdbcTimingListener} and {@link ServerTimingInterceptor}; work done on other threads
+ * (streamed exports, background indexing) is not attributed to the request.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private int queryCount;
+    private long dbNanos;
+    private long handlerStartNanos;
+    private long handlerNanos = -1;
+    private long renderNanos = -1;
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    // The timing of the request being handled on this thread, or null
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(long nanos) {
+        queryCount++;
+        dbNanos += nanos;
+    }
+
+    void handlerStarted() {
+        handlerStartNanos = System.nanoTime();
+    }
+
+    // Called once the handler returned; rendering, if any, starts now
+    void handlerFinished() {
+        if (handlerStartNanos != 0 && handlerNanos < 0) {
+            handlerNanos = System.nanoTime() - handlerStartNanos;
+        }
+    }
+
+    void renderFinished() {
+        if (handlerNanos >= 0 && renderNanos < 0) {
+            renderNanos = System.nanoTime() - handlerStartNanos - handlerNanos;
+        }
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    /**
+     * The Server-Timing header value, e.g.
+     * {@code db;dur=3.2;desc="2 queries", handler;dur=4.1, render;dur=6.0, total;dur=10.5}.
+     * The handler time includes the database time of the statements it ran.
+     */
+    public String toHeaderValue() {
+        StringBuilder value = new StringBuilder(96);
+        value.append("db;dur=").append(millis(dbNanos)).append(";desc=\"").append(queryCount)
+                .append(queryCount == 1 ? " query\"" : " queries\"");
+        if (handlerNanos >= 0) {
+            value.append(", handler;dur=").append(millis(handlerNanos));
+        }
+        if (renderNanos >= 0) {
+            value.append(", render;dur=").append(millis(renderNanos));
+        }
+        return value.append(", total;dur=").append(millis(System.nanoTime() - startNanos)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
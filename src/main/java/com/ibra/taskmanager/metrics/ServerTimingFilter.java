@@ -0,0 +1,40 @@
+package com.ibra.taskmanager.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Times each request and reports the breakdown in a {@code Server-Timing} header, which browser
+ * developer tools show next to the request: database time and statement count, handler time,
+ * view rendering time and the total. With the debug footer enabled the same numbers are appended
+ * to HTML pages as a comment.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final boolean debugFooter;
+
+    public ServerTimingFilter(boolean debugFooter) {
+        this.debugFooter = debugFooter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start();
+        try {
+            ServerTimingResponse timedResponse = new ServerTimingResponse(response, timing, debugFooter);
+            filterChain.doFilter(request, timedResponse);
+            // Asynchronous responses write their own body after this thread has returned
+            if (!request.isAsyncStarted()) {
+                timedResponse.finish();
+            }
+        } finally {
+            RequestTiming.clear();
+        }
+    }
+}
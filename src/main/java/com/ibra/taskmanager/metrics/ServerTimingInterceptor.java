@@ -0,0 +1,40 @@
+package com.ibra.taskmanager.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Splits the request time into handler and view rendering for the Server-Timing header: postHandle
+ * runs between the two, afterCompletion after rendering.
+ */
+public class ServerTimingInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.handlerStarted();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.handlerFinished();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            // postHandle is skipped when the handler throws
+            timing.handlerFinished();
+            timing.renderFinished();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.ibra.taskmanager.metrics;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Adds the Server-Timing header before the response is committed. HTML pages are buffered until the
+ * view has rendered, so their header covers rendering and can be repeated in a debug footer; other
+ * responses (JSON, exports, event streams) are passed through and get the header with the timings
+ * known when their body is first written.
+ */
+class ServerTimingResponse extends HttpServletResponseWrapper {
+
+    static final String HEADER = "Server-Timing";
+
+    private final RequestTiming timing;
+    private final boolean debugFooter;
+    private CharArrayWriter buffer;
+    private PrintWriter bufferedWriter;
+    private boolean headerWritten;
+
+    ServerTimingResponse(HttpServletResponse response, RequestTiming timing, boolean debugFooter) {
+        super(response);
+        this.timing = timing;
+        this.debugFooter = debugFooter;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (bufferedWriter != null) {
+            return bufferedWriter;
+        }
+        if (isHtml() && !isCommitted()) {
+            buffer = new CharArrayWriter(8192);
+            bufferedWriter = new PrintWriter(buffer);
+            return bufferedWriter;
+        }
+        writeHeader();
+        return super.getWriter();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        writeHeader();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        // A buffered page is only written out by finish()
+        if (buffer == null) {
+            writeHeader();
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeHeader();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeHeader();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeHeader();
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (buffer != null) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        super.reset();
+        headerWritten = false;
+    }
+
+    // Writes the header and any buffered page once the request has been handled
+    void finish() throws IOException {
+        if (buffer == null) {
+            writeHeader();
+            return;
+        }
+        bufferedWriter.flush();
+        String value = writeHeader();
+        PrintWriter writer = super.getWriter();
+        buffer.writeTo(writer);
+        if (debugFooter && value != null) {
+            writer.write("\n<!-- " + HEADER + ": " + value + " -->\n");
+        }
+        writer.flush();
+    }
+
+    private String writeHeader() {
+        if (headerWritten || isCommitted()) {
+            return null;
+        }
+        headerWritten = true;
+        String value = timing.toHeaderValue();
+        setHeader(HEADER, value);
+        return value;
+    }
+
+    private boolean isHtml() {
+        String contentType = getContentType();
+        return contentType != null && contentType.startsWith("text/html");
+    }
+}
@@ -0,0 +1,237 @@
+package com.ibra.taskmanager.push;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.event.TaskBulkChangeEvent;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.event.TaskSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed task changes to open Server-Sent Events streams.
+ *
+ * <p>Changes arrive as the same after-commit events that keep the in-memory indexes current, so a
+ * client never sees a change that was rolled back. Each change is serialized once and the frame is
+ * shared by every subscriber whose filter it passes; writing is done per subscriber on a small
+ * shared pool (see {@link TaskSubscriber}). An idle connection holds no thread, so thousands of open
+ * dashboards cost a buffer each and no database queries.</p>
+ *
+ * <p>Event names: {@code task} (one task created, updated or deleted), {@code bulk} (many tasks
+ * changed at once), {@code resync} (the client fell behind and some changes were dropped). After a
+ * bulk or resync event clients should reload what they show. A comment line is sent to every stream
+ * periodically so proxies keep idle connections open and dead clients are noticed.</p>
+ */
+@Component
+public class TaskChangeBroadcaster implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeBroadcaster.class);
+
+    // Frames buffered per subscriber before it is considered too slow and told to resync
+    static final int BUFFER_SIZE = 256;
+    static final int MAX_SUBSCRIBERS = 10_000;
+    static final long HEARTBEAT_SECONDS = 20;
+    // Streams are closed after this long; EventSource reconnects on its own
+    static final long STREAM_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    // Reconnect delay suggested to clients
+    static final long RETRY_MILLIS = 5000;
+    private static final int SENDER_THREADS = 4;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final MediaType TEXT_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+    // Built frames are only read when sent, so constant ones are shared by all subscribers
+    private static final Set<DataWithMediaType> RESYNC = frame("resync", "{}");
+    private static final Set<DataWithMediaType> HEARTBEAT =
+            Collections.unmodifiableSet(SseEmitter.event().comment("heartbeat").build());
+
+    private final Set<TaskSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newFixedThreadPool(SENDER_THREADS, daemonThreads("task-sse-sender-"));
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("task-sse-heartbeat-"));
+    private final AtomicLong overflows = new AtomicLong();
+
+    public TaskChangeBroadcaster() {
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Opens a stream of changes to tasks with the given status and/or assignee (null for any).
+     * A change is delivered if the task passed the filter before or after it, so clients also
+     * learn about tasks leaving their view.
+     *
+     * @throws IllegalStateException if the subscriber limit is reached
+     */
+    public SseEmitter subscribe(TaskStatus status, String assignee) {
+        if (subscribers.size() >= MAX_SUBSCRIBERS) {
+            throw new IllegalStateException("Too many open task streams");
+        }
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        String normalizedAssignee = assignee == null || assignee.isBlank() ? null : assignee.trim();
+        TaskSubscriber subscriber = new TaskSubscriber(emitter, status, normalizedAssignee, BUFFER_SIZE, RESYNC,
+                senders, subscribers::remove);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscribers.add(subscriber);
+        // Sent right away so the response is committed and the client knows the stream is live
+        subscriber.offer(SseEmitter.event().name("connected").data("{}", TEXT_UTF8).reconnectTime(RETRY_MILLIS).build());
+        log.debug("Task stream opened (status={}, assignee={}). Open streams: {}", status, normalizedAssignee, subscribers.size());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> frame = null;
+        for (TaskSubscriber subscriber : subscribers) {
+            if (subscriber.matches(event.getBefore()) || subscriber.matches(event.getAfter())) {
+                if (frame == null) {
+                    frame = frame("task", toJson(event));
+                }
+                offer(subscriber, frame);
+            }
+        }
+    }
+
+    // Bulk changes carry no per-task state to filter on, so every subscriber is told to reload
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(TaskBulkChangeEvent event) {
+        if (subscribers.isEmpty() || event.getCount() == 0) {
+            return;
+        }
+        Set<DataWithMediaType> frame = frame("bulk", toJson(event));
+        for (TaskSubscriber subscriber : subscribers) {
+            offer(subscriber, frame);
+        }
+    }
+
+    private void offer(TaskSubscriber subscriber, Set<DataWithMediaType> frame) {
+        if (!subscriber.offer(frame)) {
+            overflows.incrementAndGet();
+        }
+    }
+
+    // Streams with frames still pending are not idle and need no heartbeat
+    void sendHeartbeats() {
+        try {
+            for (TaskSubscriber subscriber : subscribers) {
+                if (subscriber.pending() == 0) {
+                    offer(subscriber, HEARTBEAT);
+                }
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule
+            log.warn("Could not send task stream heartbeats.", e);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Number of times a subscriber's buffer overflowed and it was sent a resync instead
+    public long getOverflowCount() {
+        return overflows.get();
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        for (TaskSubscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        senders.shutdownNow();
+    }
+
+    // One event, ready to send; SseEventBuilder.build() may only be called once per builder
+    private static Set<DataWithMediaType> frame(String name, String json) {
+        return Collections.unmodifiableSet(SseEmitter.event().name(name).data(json, TEXT_UTF8).build());
+    }
+
+    static String toJson(TaskChangeEvent event) {
+        return json(generator -> {
+            generator.writeStringField("type", event.getType().name());
+            generator.writeNumberField("id", event.getTaskId());
+            TaskSnapshot task = event.getAfter();
+            if (task == null) {
+                generator.writeNullField("task");
+                return;
+            }
+            generator.writeObjectFieldStart("task");
+            generator.writeNumberField("id", task.id());
+            writeString(generator, "title", task.title());
+            writeString(generator, "description", task.description());
+            writeString(generator, "status", task.status());
+            writeString(generator, "priority", task.priority());
+            writeString(generator, "assignee", task.assignee());
+            writeString(generator, "dueDate", task.dueDate());
+            writeString(generator, "createdAt", task.createdAt());
+            generator.writeEndObject();
+        });
+    }
+
+    static String toJson(TaskBulkChangeEvent event) {
+        return json(generator -> {
+            generator.writeStringField("type", event.getType().name());
+            generator.writeNumberField("count", event.getCount());
+            writeString(generator, "status", event.getStatus());
+        });
+    }
+
+    private static void writeString(JsonGenerator generator, String field, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+
+    // Compact single-line JSON: a line break inside an SSE data field would split the event
+    private static String json(JsonBody body) {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            body.write(generator);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private interface JsonBody {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package com.ibra.taskmanager.push;
+
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.event.TaskSnapshot;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One open event stream with its filter and a bounded buffer of frames not yet written.
+ *
+ * <p>Publishers only append to the buffer; frames are written to the connection on the shared
+ * executor, at most one drain per subscriber at a time, so a slow client never blocks a commit
+ * or other clients. When the buffer fills up the pending frames are dropped and replaced by a
+ * single resync frame telling the client to reload.</p>
+ */
+final class TaskSubscriber {
+
+    private final SseEmitter emitter;
+    private final TaskStatus status;
+    private final String assignee;
+    private final int capacity;
+    private final Set<DataWithMediaType> resync;
+    private final Executor executor;
+    private final Consumer<TaskSubscriber> onClose;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    // Guarded by this
+    private final Queue<Set<DataWithMediaType>> buffer = new ArrayDeque<>();
+
+    TaskSubscriber(SseEmitter emitter, TaskStatus status, String assignee, int capacity,
+                   Set<DataWithMediaType> resync, Executor executor, Consumer<TaskSubscriber> onClose) {
+        this.emitter = emitter;
+        this.status = status;
+        this.assignee = assignee;
+        this.capacity = capacity;
+        this.resync = resync;
+        this.executor = executor;
+        this.onClose = onClose;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    // True if the subscription has no filter or the task state passes it
+    boolean matches(TaskSnapshot task) {
+        if (task == null) {
+            return false;
+        }
+        return (status == null || status == task.status())
+                && (assignee == null || assignee.equalsIgnoreCase(task.assignee()));
+    }
+
+    // Queues a frame and schedules a drain; returns false if the buffer overflowed
+    boolean offer(Set<DataWithMediaType> frame) {
+        if (closed.get()) {
+            return true;
+        }
+        boolean accepted;
+        synchronized (this) {
+            accepted = buffer.size() < capacity;
+            if (accepted) {
+                buffer.add(frame);
+            } else {
+                buffer.clear();
+                buffer.add(resync);
+            }
+        }
+        scheduleDrain();
+        return accepted;
+    }
+
+    synchronized int pending() {
+        return buffer.size();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close();
+            }
+        }
+    }
+
+    private void drain() {
+        do {
+            try {
+                Set<DataWithMediaType> frame;
+                while (!closed.get() && (frame = poll()) != null) {
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // A frame offered after the last poll but before the flag was cleared found a drain running
+        } while (!closed.get() && pending() > 0 && draining.compareAndSet(false, true));
+    }
+
+    private synchronized Set<DataWithMediaType> poll() {
+        return buffer.poll();
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            synchronized (this) {
+                buffer.clear();
+            }
+            onClose.accept(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+}
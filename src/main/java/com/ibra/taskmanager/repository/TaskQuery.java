@@ -0,0 +1,172 @@
+package com.ibra.taskmanager.repository;
+
+import com.ibra.taskmanager.dto.TaskCursor;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskSortOrder;
+import com.ibra.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Filter, ordering and page specification for {@link TaskRepository#find(TaskQuery)}.
+ * Every criterion is optional; unset criteria do not restrict the result.
+ */
+public class TaskQuery {
+
+    public static final int DEFAULT_LIMIT = 100;
+
+    private TaskStatus status;
+    // Any of these statuses; applies on top of status when both are set
+    private Set<TaskStatus> statuses;
+    private TaskPriority priority;
+    private String assignee;
+    // Case-insensitive substring match on title or description
+    private String keyword;
+    // Due date range: dueFrom inclusive, dueTo exclusive
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueTo;
+    private TaskSortOrder sortOrder = TaskSortOrder.CREATED;
+    // Keyset position; rows strictly after it (or before it when backward) are returned
+    private TaskCursor cursor;
+    private boolean backward;
+    private int limit = DEFAULT_LIMIT;
+
+    public TaskQuery() {
+    }
+
+    public TaskQuery(TaskQuery other) {
+        this.status = other.status;
+        this.statuses = other.statuses;
+        this.priority = other.priority;
+        this.assignee = other.assignee;
+        this.keyword = other.keyword;
+        this.dueFrom = other.dueFrom;
+        this.dueTo = other.dueTo;
+        this.sortOrder = other.sortOrder;
+        this.cursor = other.cursor;
+        this.backward = other.backward;
+        this.limit = other.limit;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public Set<TaskStatus> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(Collection<TaskStatus> statuses) {
+        this.statuses = statuses == null || statuses.isEmpty()
+                ? null
+                : Collections.unmodifiableSet(EnumSet.copyOf(statuses));
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public String getAssignee() {
+        return assignee;
+    }
+
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public LocalDateTime getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(LocalDateTime dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public LocalDateTime getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(LocalDateTime dueTo) {
+        this.dueTo = dueTo;
+    }
+
+    public TaskSortOrder getSortOrder() {
+        return sortOrder;
+    }
+
+    public void setSortOrder(TaskSortOrder sortOrder) {
+        this.sortOrder = sortOrder;
+    }
+
+    public TaskCursor getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(TaskCursor cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isBackward() {
+        return backward;
+    }
+
+    public void setBackward(boolean backward) {
+        this.backward = backward;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    // True if any filter criterion is set (sorting and paging do not count)
+    public boolean hasFilters() {
+        return status != null
+                || statuses != null
+                || priority != null
+                || (assignee != null && !assignee.isEmpty())
+                || (keyword != null && !keyword.trim().isEmpty())
+                || dueFrom != null
+                || dueTo != null;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskQuery{" +
+                "status=" + status +
+                ", statuses=" + statuses +
+                ", priority=" + priority +
+                ", assignee='" + assignee + '\'' +
+                ", keyword='" + keyword + '\'' +
+                ", dueFrom=" + dueFrom +
+                ", dueTo=" + dueTo +
+                ", sortOrder=" + sortOrder +
+                ", cursor=" + cursor +
+                ", backward=" + backward +
+                ", limit=" + limit +
+                '}';
+    }
+}
@@ -2,19 +2,36 @@ package com.ibra.taskmanager.repository;
 
 
 
+import com.ibra.taskmanager.dto.TaskCursor;
+import com.ibra.taskmanager.dto.TaskFacets;
+import com.ibra.taskmanager.dto.TaskPatch;
+import com.ibra.taskmanager.dto.TaskSummary;
 import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.entity.TaskTombstone;
+import com.ibra.taskmanager.enums.TaskPriority;
 import com.ibra.taskmanager.enums.TaskStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TaskRepository {
 
     // Basic CRUD operations
     Task save(Task task);
+    // Persists new tasks, flushing and clearing the persistence context every batchSize rows.
+    // Returns the number of tasks saved; the passed tasks are detached afterwards
+    int saveAll(Iterable<Task> tasks, int batchSize);
     Optional<Task> findById(Long id);
+    // Applies the non-null fields of the patch if the task is still at patch.version, writing only the
+    // changed columns. Empty if the task does not exist; OptimisticLockException on a version conflict
+    Optional<Task> patch(Long id, TaskPatch patch);
+    List<Task> findAllById(Collection<Long> ids);
     List<Task> findAll();
+    // Deletes leave a TaskTombstone behind for delta sync
     void delete(Task task);
     void deleteById(Long id);
 
@@ -29,4 +46,54 @@ public interface TaskRepository {
 
     // Search by title or description
     List<Task> searchByTitleOrDescription(String keyword);
+
+    // Dynamic filter + sort + keyset page in a single query. Returns at most query.limit tasks
+    // strictly after the cursor in the query ordering (or strictly before it when backward is true,
+    // nearest first). A null cursor starts from the beginning (or the end) of the ordering.
+    List<Task> find(TaskQuery query);
+
+    // The same page (and the same lookup by ids) as a read-only projection of the list columns
+    List<TaskSummary> findSummaries(TaskQuery query);
+    List<TaskSummary> findSummariesById(Collection<Long> ids);
+
+    // Streams every task matching the query filters, in the query's sort order (cursor and limit
+    // are ignored), through a forward-only database cursor. Each task is detached after the
+    // consumer returns, so memory use does not grow with the result. Returns the number streamed.
+    // Must run inside a transaction
+    int streamAll(TaskQuery query, Consumer<Task> consumer);
+
+    // Assignee projections (no entity hydration)
+    List<String> findDistinctAssignees();
+    Map<String, Long> countTasksByAssignee();
+
+    // Dashboard aggregates: one GROUP BY over (status, priority), and the number of tasks in the
+    // given statuses due before a point in time
+    Map<TaskStatus, Map<TaskPriority, Long>> countTasksByStatusAndPriority();
+    long countByStatusInAndDueDateBefore(Collection<TaskStatus> statuses, LocalDateTime date);
+
+    // Facet counts for the filter: one GROUP BY (status, priority, assignee) over the tasks matching
+    // its keyword and due date range; the status, priority and assignee criteria are applied in memory
+    TaskFacets countFacets(TaskQuery filter);
+    // Facet counts over the given tasks (e.g. every match of an index search), one GROUP BY per
+    // IN-list sized chunk of ids
+    TaskFacets countFacetsById(Collection<Long> ids);
+
+    // Set-based bulk operations: one UPDATE/DELETE statement per chunk of ids (or per filter), no
+    // entities loaded. Status updates skip tasks already in the target status and increment the
+    // version of the tasks they change. Return affected rows
+    int updateStatusById(Collection<Long> ids, TaskStatus status);
+    int updateStatus(TaskQuery filter, TaskStatus status);
+    int deleteAllById(Collection<Long> ids);
+    int deleteAll(TaskQuery filter);
+
+    // Delta sync: tasks updated (tombstones written) strictly after the (timestamp, id) position and
+    // no later than upTo, in (timestamp, id) order, at most limit rows. A null since means from the start
+    List<Task> findChangedSince(LocalDateTime since, long afterId, LocalDateTime upTo, int limit);
+    List<TaskTombstone> findTombstonesSince(LocalDateTime since, long afterId, LocalDateTime upTo, int limit);
+    // Removes tombstones written before the cutoff; returns how many
+    int deleteTombstonesBefore(LocalDateTime cutoff);
+
+    // Keyset (seek) variants of the due date sorts
+    List<Task> findAllSortedByDueDate(boolean ascending, TaskCursor after, int limit);
+    List<Task> findByStatusAndSortByDueDate(TaskStatus status, boolean ascending, TaskCursor after, int limit);
 }
\ No newline at end of file
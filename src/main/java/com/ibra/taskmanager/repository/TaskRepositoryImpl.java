@@ -1,22 +1,49 @@
 package com.ibra.taskmanager.repository;
 
+import com.ibra.taskmanager.dto.TaskCursor;
+import com.ibra.taskmanager.dto.TaskFacets;
+import com.ibra.taskmanager.dto.TaskPatch;
+import com.ibra.taskmanager.dto.TaskSummary;
 import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.entity.TaskTombstone;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskSortOrder;
 import com.ibra.taskmanager.enums.TaskStatus;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 @Transactional
@@ -24,6 +51,12 @@ public class TaskRepositoryImpl implements TaskRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskRepositoryImpl.class);
 
+    // Ids per IN list in bulk statements, well below driver bind parameter limits
+    static final int MAX_IN_LIST = 1000;
+    // Rows fetched per round-trip when streaming; the PostgreSQL driver only uses a server-side
+    // cursor when this is set and autocommit is off
+    static final int STREAM_FETCH_SIZE = 1000;
+
     @PersistenceContext
     public EntityManager entityManager;
 
@@ -45,15 +78,90 @@ public class TaskRepositoryImpl implements TaskRepository {
                 return task;
             } else {
                 Task mergedTask = entityManager.merge(task); // Use merge for updates
+                // Flush now so a version conflict surfaces here rather than at commit
+                entityManager.flush();
                 logger.info("Task updated successfully: {}", mergedTask);
                 return mergedTask;
             }
+        } catch (OptimisticLockException e) {
+            logger.warn("Task was modified concurrently: {}", task);
+            throw e;
         } catch (Exception e) {
             logger.error("Error saving task: {}", task, e);
             throw new RuntimeException("Error saving task", e);
         }
     }
 
+    @Override
+    public int saveAll(Iterable<Task> tasks, int batchSize) {
+        if (tasks == null) {
+            logger.warn("Attempted to save a null task collection.");
+            throw new IllegalArgumentException("Tasks cannot be null");
+        }
+        if (batchSize <= 0) {
+            logger.warn("Attempted to save tasks with non-positive batch size: {}", batchSize);
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        int count = 0;
+        try {
+            for (Task task : tasks) {
+                if (task == null || task.getId() != null) {
+                    throw new IllegalArgumentException("Only new, non-null tasks can be saved in bulk");
+                }
+                entityManager.persist(task);
+                if (++count % batchSize == 0) {
+                    // One JDBC batch per chunk; clearing keeps the persistence context (and memory) flat
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            logger.info("Tasks saved in bulk. Total: {}", count);
+            return count;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for saveAll after {} tasks", count, e);
+            throw new IllegalArgumentException("Invalid argument: " + e.getMessage(), e);
+        } catch (Exception e) {
+            logger.error("Error saving tasks in bulk after {} tasks", count, e);
+            throw new RuntimeException("Error saving tasks in bulk", e);
+        }
+    }
+
+    @Override
+    public Optional<Task> patch(Long id, TaskPatch patch) {
+        if (id == null || patch == null || patch.getVersion() == null) {
+            logger.warn("Attempted to patch a task with null id, patch or version.");
+            throw new IllegalArgumentException("ID, patch and version cannot be null");
+        }
+        try {
+            Task task = entityManager.find(Task.class, id);
+            if (task == null) {
+                logger.warn("Task not found for patch with id: {}", id);
+                return Optional.empty();
+            }
+            if (!patch.getVersion().equals(task.getVersion())) {
+                throw new OptimisticLockException("Task " + id + " is at version " + task.getVersion()
+                        + ", not " + patch.getVersion(), null, task);
+            }
+            if (patch.applyTo(task)) {
+                // Dynamic update: UPDATE tasks SET <changed columns>, version=? WHERE id=? AND version=?
+                entityManager.flush();
+            }
+            logger.info("Task patched successfully: {}", task);
+            return Optional.of(task);
+        } catch (OptimisticLockException e) {
+            logger.warn("Rejected patch of task {}: {}", id, e.getMessage());
+            throw e;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for patch", e);
+            throw new IllegalArgumentException("Invalid argument", e);
+        } catch (Exception e) {
+            logger.error("Error patching task with id: {}", id, e);
+            throw new RuntimeException("Error patching task", e);
+        }
+    }
+
     @Override
     public Optional<Task> findById(Long id) {
         if (id == null) {
@@ -63,7 +171,7 @@ public class TaskRepositoryImpl implements TaskRepository {
         try {
             Task task = entityManager.find(Task.class, id);
             if (task != null) {
-                logger.info("Task found with id: {}", id);
+                logger.debug("Task found with id: {}", id);
             } else {
                 logger.warn("Task not found with id: {}", id);
             }
@@ -74,6 +182,58 @@ public class TaskRepositoryImpl implements TaskRepository {
         }
     }
 
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        if (ids == null) {
+            logger.warn("Attempted to find tasks with null ids.");
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Task> cq = cb.createQuery(Task.class);
+            Root<Task> root = cq.from(Task.class);
+
+            cq.select(root)
+                    .where(root.get("id").in(ids));
+
+            List<Task> tasks = entityManager.createQuery(cq).getResultList();
+            logger.debug("Found tasks by ids. Requested: {}, found: {}", ids.size(), tasks.size());
+            return tasks;
+        } catch (Exception e) {
+            logger.error("Error finding tasks by ids", e);
+            throw new RuntimeException("Error finding tasks by ids", e);
+        }
+    }
+
+    @Override
+    public List<TaskSummary> findSummariesById(Collection<Long> ids) {
+        if (ids == null) {
+            logger.warn("Attempted to find task summaries with null ids.");
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<TaskSummary> cq = cb.createQuery(TaskSummary.class);
+            Root<Task> root = cq.from(Task.class);
+
+            cq.select(summary(cb, root))
+                    .where(root.get("id").in(ids));
+
+            List<TaskSummary> summaries = readOnly(entityManager.createQuery(cq)).getResultList();
+            logger.debug("Found task summaries by ids. Requested: {}, found: {}", ids.size(), summaries.size());
+            return summaries;
+        } catch (Exception e) {
+            logger.error("Error finding task summaries by ids", e);
+            throw new RuntimeException("Error finding task summaries by ids", e);
+        }
+    }
+
     @Override
     public List<Task> findAll() {
         try {
@@ -82,7 +242,7 @@ public class TaskRepositoryImpl implements TaskRepository {
             Root<Task> root = cq.from(Task.class);
             cq.select(root);
             List<Task> tasks = entityManager.createQuery(cq).getResultList();
-            logger.info("Found all tasks. Total: {}", tasks.size());
+            logger.debug("Found all tasks. Total: {}", tasks.size());
             return tasks;
         } catch (Exception e) {
             logger.error("Error finding all tasks", e);
@@ -98,6 +258,7 @@ public class TaskRepositoryImpl implements TaskRepository {
         }
         try {
             entityManager.remove(task);
+            entityManager.persist(new TaskTombstone(task.getId(), LocalDateTime.now()));
             logger.info("Task deleted successfully: {}", task);
         } catch (IllegalArgumentException e) {
             logger.error("Invalid argument for delete", e);
@@ -115,6 +276,7 @@ public class TaskRepositoryImpl implements TaskRepository {
             Task task = entityManager.find(Task.class, id);
             if (task != null) {
                 entityManager.remove(task);
+                entityManager.persist(new TaskTombstone(id, LocalDateTime.now()));
                 logger.info("Task deleted successfully with id: {}", id);
             } else {
                 logger.warn("Task not found for deletion with id: {}", id);
@@ -140,8 +302,10 @@ public class TaskRepositoryImpl implements TaskRepository {
             cq.select(root)
                     .where(cb.equal(root.get("status"), status));
 
-            List<Task> tasks = entityManager.createQuery(cq).getResultList();
-            logger.info("Found tasks by status: {}. Total: {}", status, tasks.size());
+            List<Task> tasks = entityManager.createQuery(cq)
+                    .setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .getResultList();
+            logger.debug("Found tasks by status: {}. Total: {}", status, tasks.size());
             return tasks;
         } catch (IllegalArgumentException e) {
             logger.error("Invalid argument for findByStatus", e);
@@ -164,7 +328,7 @@ public class TaskRepositoryImpl implements TaskRepository {
                     .where(cb.lessThan(root.get("dueDate"), date));
 
             List<Task> tasks = entityManager.createQuery(cq).getResultList();
-            logger.info("Found tasks by due date before: {}. Total: {}", date, tasks.size());
+            logger.debug("Found tasks by due date before: {}. Total: {}", date, tasks.size());
             return tasks;
         } catch (IllegalArgumentException e) {
             logger.error("Invalid argument for findByDueDateBefore", e);
@@ -187,7 +351,7 @@ public class TaskRepositoryImpl implements TaskRepository {
                     .where(cb.greaterThan(root.get("dueDate"), date));
 
             List<Task> tasks = entityManager.createQuery(cq).getResultList();
-            logger.info("Found tasks by due date after: {}. Total: {}", date, tasks.size());
+            logger.debug("Found tasks by due date after: {}. Total: {}", date, tasks.size());
             return tasks;
         } catch (IllegalArgumentException e) {
             logger.error("Invalid argument for findByDueDateAfter", e);
@@ -211,7 +375,7 @@ public class TaskRepositoryImpl implements TaskRepository {
             }
 
             List<Task> tasks = entityManager.createQuery(cq).getResultList();
-            logger.info("Found all tasks sorted by due date (ascending: {}). Total: {}", ascending, tasks.size());
+            logger.debug("Found all tasks sorted by due date (ascending: {}). Total: {}", ascending, tasks.size());
             return tasks;
         } catch (Exception e) {
             logger.error("Error finding all tasks sorted by due date", e);
@@ -240,7 +404,7 @@ public class TaskRepositoryImpl implements TaskRepository {
             }
 
             List<Task> tasks = entityManager.createQuery(cq).getResultList();
-            logger.info("Found tasks by status: {} and sorted by due date (ascending: {}). Total: {}", status, ascending, tasks.size());
+            logger.debug("Found tasks by status: {} and sorted by due date (ascending: {}). Total: {}", status, ascending, tasks.size());
             return tasks;
         } catch (IllegalArgumentException e) {
             logger.error("Invalid argument for findByStatusAndSortByDueDate", e);
@@ -271,11 +435,721 @@ public class TaskRepositoryImpl implements TaskRepository {
                     .where(cb.or(titlePredicate, descriptionPredicate));
 
             List<Task> tasks = entityManager.createQuery(cq).getResultList();
-            logger.info("Searched tasks by keyword: '{}'. Total: {}", keyword, tasks.size());
+            logger.debug("Searched tasks by keyword: '{}'. Total: {}", keyword, tasks.size());
             return tasks;
         } catch (Exception e) {
             logger.error("Error searching tasks by keyword: '{}'", keyword, e);
             throw new RuntimeException("Error searching tasks", e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<Task> find(TaskQuery query) {
+        requireValidPageQuery(query);
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Task> cq = cb.createQuery(Task.class);
+            Root<Task> root = cq.from(Task.class);
+
+            cq.select(root);
+            applyPageQuery(cb, cq, root, query);
+
+            List<Task> tasks = entityManager.createQuery(cq)
+                    .setMaxResults(query.getLimit())
+                    .setHint(HibernateHints.HINT_CACHEABLE, isCacheable(query))
+                    .getResultList();
+            logger.debug("Found tasks by query: {}. Total: {}", query, tasks.size());
+            return tasks;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for find", e);
+            throw new IllegalArgumentException("Invalid argument", e);
+        } catch (Exception e) {
+            logger.error("Error finding tasks by query: {}", query, e);
+            throw new RuntimeException("Error finding tasks by query", e);
+        }
+    }
+
+    @Override
+    public List<TaskSummary> findSummaries(TaskQuery query) {
+        requireValidPageQuery(query);
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<TaskSummary> cq = cb.createQuery(TaskSummary.class);
+            Root<Task> root = cq.from(Task.class);
+
+            cq.select(summary(cb, root));
+            applyPageQuery(cb, cq, root, query);
+
+            List<TaskSummary> summaries = readOnly(entityManager.createQuery(cq))
+                    .setMaxResults(query.getLimit())
+                    .getResultList();
+            logger.debug("Found task summaries by query: {}. Total: {}", query, summaries.size());
+            return summaries;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for findSummaries", e);
+            throw new IllegalArgumentException("Invalid argument", e);
+        } catch (Exception e) {
+            logger.error("Error finding task summaries by query: {}", query, e);
+            throw new RuntimeException("Error finding task summaries by query", e);
+        }
+    }
+
+    private void requireValidPageQuery(TaskQuery query) {
+        if (query == null) {
+            logger.warn("Attempted to find tasks with a null query.");
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if (query.getSortOrder() == null) {
+            logger.warn("Attempted to find tasks with null sort order.");
+            throw new IllegalArgumentException("Sort order cannot be null");
+        }
+        if (query.getLimit() <= 0) {
+            logger.warn("Attempted to find tasks with non-positive limit: {}", query.getLimit());
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+    }
+
+    // Filters, keyset position and ordering of a page query
+    private void applyPageQuery(CriteriaBuilder cb, CriteriaQuery<?> cq, Root<Task> root, TaskQuery query) {
+        List<Expression<?>> keys = sortKeys(cb, root, query.getSortOrder());
+        boolean[] ascending = sortDirections(query.getSortOrder(), query.isBackward());
+
+        List<Predicate> predicates = filterPredicates(cb, root, query);
+        if (query.getCursor() != null) {
+            predicates.add(seekPredicate(cb, keys, cursorValues(query.getCursor(), query.getSortOrder()), ascending));
+        }
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            orders.add(ascending[i] ? cb.asc(keys.get(i)) : cb.desc(keys.get(i)));
+        }
+
+        cq.where(predicates.toArray(new Predicate[0]))
+                .orderBy(orders);
+    }
+
+    // Constructor expression selecting only the columns the list view shows, with the description cut
+    // to its preview length in the database
+    private CompoundSelection<TaskSummary> summary(CriteriaBuilder cb, Root<Task> root) {
+        return cb.construct(TaskSummary.class,
+                root.get("id"),
+                root.get("title"),
+                cb.substring(root.get("description"), 1, TaskSummary.DESCRIPTION_PREVIEW_LENGTH),
+                root.get("status"),
+                root.get("priority"),
+                root.get("assignee"),
+                root.get("dueDate"),
+                root.get("createdAt"));
+    }
+
+    // Projections load no entities, so there is nothing to dirty-check; MANUAL flush mode also skips
+    // the flush of pending changes that would otherwise run before the query
+    private static <T> TypedQuery<T> readOnly(TypedQuery<T> query) {
+        return query.setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+
+    @Override
+    public int streamAll(TaskQuery query, Consumer<Task> consumer) {
+        if (query == null || query.getSortOrder() == null || consumer == null) {
+            logger.warn("Attempted to stream tasks with a null query, sort order or consumer.");
+            throw new IllegalArgumentException("Query, sort order and consumer cannot be null");
+        }
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Task> cq = cb.createQuery(Task.class);
+            Root<Task> root = cq.from(Task.class);
+
+            List<Expression<?>> keys = sortKeys(cb, root, query.getSortOrder());
+            boolean[] ascending = sortDirections(query.getSortOrder(), false);
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                orders.add(ascending[i] ? cb.asc(keys.get(i)) : cb.desc(keys.get(i)));
+            }
+            cq.select(root)
+                    .where(filterPredicates(cb, root, query).toArray(new Predicate[0]))
+                    .orderBy(orders);
+
+            int count = 0;
+            try (Stream<Task> tasks = entityManager.createQuery(cq)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                    .getResultStream()) {
+                Iterator<Task> iterator = tasks.iterator();
+                while (iterator.hasNext()) {
+                    Task task = iterator.next();
+                    consumer.accept(task);
+                    entityManager.detach(task);
+                    count++;
+                }
+            }
+            logger.debug("Streamed tasks by query: {}. Total: {}", query, count);
+            return count;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for streamAll", e);
+            throw new IllegalArgumentException("Invalid argument", e);
+        }
+    }
+
+    @Override
+    public List<String> findDistinctAssignees() {
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<String> cq = cb.createQuery(String.class);
+            Root<Task> root = cq.from(Task.class);
+
+            cq.select(root.get("assignee"))
+                    .distinct(true)
+                    .where(cb.isNotNull(root.get("assignee")), cb.notEqual(root.get("assignee"), ""))
+                    .orderBy(cb.asc(root.get("assignee")));
+
+            List<String> assignees = entityManager.createQuery(cq).getResultList();
+            logger.debug("Found distinct assignees. Total: {}", assignees.size());
+            return assignees;
+        } catch (Exception e) {
+            logger.error("Error finding distinct assignees", e);
+            throw new RuntimeException("Error finding distinct assignees", e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> countTasksByAssignee() {
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+            Root<Task> root = cq.from(Task.class);
+
+            cq.multiselect(root.get("assignee"), cb.count(root))
+                    .where(cb.isNotNull(root.get("assignee")), cb.notEqual(root.get("assignee"), ""))
+                    .groupBy(root.get("assignee"))
+                    .orderBy(cb.asc(root.get("assignee")));
+
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (Tuple tuple : entityManager.createQuery(cq).getResultList()) {
+                counts.put(tuple.get(0, String.class), tuple.get(1, Long.class));
+            }
+            logger.debug("Counted tasks by assignee. Total assignees: {}", counts.size());
+            return counts;
+        } catch (Exception e) {
+            logger.error("Error counting tasks by assignee", e);
+            throw new RuntimeException("Error counting tasks by assignee", e);
+        }
+    }
+
+    @Override
+    public Map<TaskStatus, Map<TaskPriority, Long>> countTasksByStatusAndPriority() {
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+            Root<Task> root = cq.from(Task.class);
+
+            cq.multiselect(root.get("status"), root.get("priority"), cb.count(root))
+                    .groupBy(root.get("status"), root.get("priority"));
+
+            Map<TaskStatus, Map<TaskPriority, Long>> counts = new EnumMap<>(TaskStatus.class);
+            long total = 0;
+            for (Tuple tuple : entityManager.createQuery(cq).getResultList()) {
+                long count = tuple.get(2, Long.class);
+                counts.computeIfAbsent(tuple.get(0, TaskStatus.class), status -> new EnumMap<>(TaskPriority.class))
+                        .put(tuple.get(1, TaskPriority.class), count);
+                total += count;
+            }
+            logger.debug("Counted tasks by status and priority. Total tasks: {}", total);
+            return counts;
+        } catch (Exception e) {
+            logger.error("Error counting tasks by status and priority", e);
+            throw new RuntimeException("Error counting tasks by status and priority", e);
+        }
+    }
+
+    @Override
+    public long countByStatusInAndDueDateBefore(Collection<TaskStatus> statuses, LocalDateTime date) {
+        if (statuses == null || statuses.isEmpty() || date == null) {
+            logger.warn("Attempted to count tasks with null or empty statuses or due date.");
+            throw new IllegalArgumentException("Statuses and date cannot be null or empty");
+        }
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+            Root<Task> root = cq.from(Task.class);
+
+            cq.select(cb.count(root))
+                    .where(root.get("status").in(statuses), cb.lessThan(root.get("dueDate"), date));
+
+            long count = entityManager.createQuery(cq).getSingleResult();
+            logger.debug("Counted tasks in {} due before {}: {}", statuses, date, count);
+            return count;
+        } catch (Exception e) {
+            logger.error("Error counting tasks by status and due date", e);
+            throw new RuntimeException("Error counting tasks by status and due date", e);
+        }
+    }
+
+    @Override
+    public TaskFacets countFacets(TaskQuery filter) {
+        if (filter == null) {
+            logger.warn("Attempted to count facets with a null filter.");
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+            Root<Task> root = cq.from(Task.class);
+
+            // Only the criteria shared by every facet go to the database
+            TaskQuery shared = new TaskQuery(filter);
+            shared.setStatus(null);
+            shared.setPriority(null);
+            shared.setAssignee(null);
+            cq.multiselect(root.get("status"), root.get("priority"), root.get("assignee"), cb.count(root))
+                    .where(filterPredicates(cb, root, shared).toArray(new Predicate[0]))
+                    .groupBy(root.get("status"), root.get("priority"), root.get("assignee"));
+
+            Map<TaskStatus, Long> statuses = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                statuses.put(status, 0L);
+            }
+            Map<TaskPriority, Long> priorities = new EnumMap<>(TaskPriority.class);
+            for (TaskPriority priority : TaskPriority.values()) {
+                priorities.put(priority, 0L);
+            }
+            Map<String, Long> assignees = new TreeMap<>();
+            String selectedAssignee = filter.getAssignee() == null || filter.getAssignee().isEmpty() ? null : filter.getAssignee();
+            long total = 0;
+            for (Tuple tuple : entityManager.createQuery(cq).getResultList()) {
+                TaskStatus status = tuple.get(0, TaskStatus.class);
+                TaskPriority priority = tuple.get(1, TaskPriority.class);
+                String assignee = tuple.get(2, String.class);
+                long count = tuple.get(3, Long.class);
+
+                boolean statusMatches = filter.getStatus() == null || filter.getStatus() == status;
+                boolean priorityMatches = filter.getPriority() == null || filter.getPriority() == priority;
+                boolean assigneeMatches = selectedAssignee == null || selectedAssignee.equals(assignee);
+                if (priorityMatches && assigneeMatches) {
+                    statuses.merge(status, count, Long::sum);
+                }
+                if (statusMatches && assigneeMatches) {
+                    priorities.merge(priority, count, Long::sum);
+                }
+                if (statusMatches && priorityMatches && assignee != null && !assignee.isEmpty()) {
+                    assignees.merge(assignee, count, Long::sum);
+                }
+                if (statusMatches && priorityMatches && assigneeMatches) {
+                    total += count;
+                }
+            }
+            logger.debug("Counted facets for {}. Total: {}", filter, total);
+            return new TaskFacets(total, statuses, priorities, assignees);
+        } catch (Exception e) {
+            logger.error("Error counting facets for {}", filter, e);
+            throw new RuntimeException("Error counting facets", e);
+        }
+    }
+
+    @Override
+    public TaskFacets countFacetsById(Collection<Long> ids) {
+        if (ids == null) {
+            logger.warn("Attempted to count facets with null ids.");
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        try {
+            Map<TaskStatus, Long> statuses = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                statuses.put(status, 0L);
+            }
+            Map<TaskPriority, Long> priorities = new EnumMap<>(TaskPriority.class);
+            for (TaskPriority priority : TaskPriority.values()) {
+                priorities.put(priority, 0L);
+            }
+            Map<String, Long> assignees = new TreeMap<>();
+            long total = 0;
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            for (List<Long> chunk : chunks(ids)) {
+                CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+                Root<Task> root = cq.from(Task.class);
+                cq.multiselect(root.get("status"), root.get("priority"), root.get("assignee"), cb.count(root))
+                        .where(root.get("id").in(chunk))
+                        .groupBy(root.get("status"), root.get("priority"), root.get("assignee"));
+
+                for (Tuple tuple : entityManager.createQuery(cq).getResultList()) {
+                    String assignee = tuple.get(2, String.class);
+                    long count = tuple.get(3, Long.class);
+                    statuses.merge(tuple.get(0, TaskStatus.class), count, Long::sum);
+                    priorities.merge(tuple.get(1, TaskPriority.class), count, Long::sum);
+                    if (assignee != null && !assignee.isEmpty()) {
+                        assignees.merge(assignee, count, Long::sum);
+                    }
+                    total += count;
+                }
+            }
+            logger.debug("Counted facets by ids. Requested: {}, total: {}", ids.size(), total);
+            return new TaskFacets(total, statuses, priorities, assignees);
+        } catch (Exception e) {
+            logger.error("Error counting facets by ids", e);
+            throw new RuntimeException("Error counting facets by ids", e);
+        }
+    }
+
+    @Override
+    public int updateStatusById(Collection<Long> ids, TaskStatus status) {
+        if (ids == null || status == null) {
+            logger.warn("Attempted bulk status update with null ids or status.");
+            throw new IllegalArgumentException("Ids and status cannot be null");
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int updated = 0;
+            for (List<Long> chunk : chunks(ids)) {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaUpdate<Task> cu = cb.createCriteriaUpdate(Task.class);
+                Root<Task> root = cu.from(Task.class);
+                cu.set(root.<TaskStatus>get("status"), status)
+                        .set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L))
+                        .set(root.<LocalDateTime>get("updatedAt"), now)
+                        .where(root.get("id").in(chunk), cb.notEqual(root.get("status"), status));
+                updated += entityManager.createQuery(cu).executeUpdate();
+            }
+            logger.info("Bulk updated status to {} for {} of {} tasks", status, updated, ids.size());
+            return updated;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for updateStatusById", e);
+            throw new IllegalArgumentException("Invalid argument", e);
+        } catch (Exception e) {
+            logger.error("Error bulk updating task status to {}", status, e);
+            throw new RuntimeException("Error bulk updating task status", e);
+        }
+    }
+
+    @Override
+    public int updateStatus(TaskQuery filter, TaskStatus status) {
+        if (filter == null || status == null) {
+            logger.warn("Attempted bulk status update with null filter or status.");
+            throw new IllegalArgumentException("Filter and status cannot be null");
+        }
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaUpdate<Task> cu = cb.createCriteriaUpdate(Task.class);
+            Root<Task> root = cu.from(Task.class);
+            List<Predicate> predicates = filterPredicates(cb, root, filter);
+            predicates.add(cb.notEqual(root.get("status"), status));
+            cu.set(root.<TaskStatus>get("status"), status)
+                    .set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L))
+                    .set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now())
+                    .where(predicates.toArray(new Predicate[0]));
+            int updated = entityManager.createQuery(cu).executeUpdate();
+            logger.info("Bulk updated status to {} for {} tasks matching {}", status, updated, filter);
+            return updated;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for updateStatus", e);
+            throw new IllegalArgumentException("Invalid argument", e);
+        } catch (Exception e) {
+            logger.error("Error bulk updating status of tasks matching {}", filter, e);
+            throw new RuntimeException("Error bulk updating task status", e);
+        }
+    }
+
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        if (ids == null) {
+            logger.warn("Attempted bulk delete with null ids.");
+            throw new IllegalArgumentException("Ids cannot be null");
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int deleted = 0;
+            for (List<Long> chunk : chunks(ids)) {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+                Root<Task> root = cq.from(Task.class);
+                cq.select(root.get("id")).where(root.get("id").in(chunk));
+                deleted += deleteWithTombstones(entityManager.createQuery(cq).getResultList(), now);
+            }
+            logger.info("Bulk deleted {} of {} tasks", deleted, ids.size());
+            return deleted;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for deleteAllById", e);
+            throw new IllegalArgumentException("Invalid argument", e);
+        } catch (Exception e) {
+            logger.error("Error bulk deleting tasks", e);
+            throw new RuntimeException("Error bulk deleting tasks", e);
+        }
+    }
+
+    @Override
+    public int deleteAll(TaskQuery filter) {
+        if (filter == null) {
+            logger.warn("Attempted bulk delete with a null filter.");
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int deleted = 0;
+            // The ids are needed for the tombstones: select and delete them a chunk at a time
+            while (true) {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+                Root<Task> root = cq.from(Task.class);
+                cq.select(root.get("id"))
+                        .where(filterPredicates(cb, root, filter).toArray(new Predicate[0]))
+                        .orderBy(cb.asc(root.get("id")));
+                List<Long> chunk = entityManager.createQuery(cq).setMaxResults(MAX_IN_LIST).getResultList();
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                deleted += deleteWithTombstones(chunk, now);
+            }
+            logger.info("Bulk deleted {} tasks matching {}", deleted, filter);
+            return deleted;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for deleteAll", e);
+            throw new IllegalArgumentException("Invalid argument", e);
+        } catch (Exception e) {
+            logger.error("Error bulk deleting tasks matching {}", filter, e);
+            throw new RuntimeException("Error bulk deleting tasks", e);
+        }
+    }
+
+    // One DELETE for the ids, then a tombstone per id (JDBC-batched). Clears the persistence context
+    // so tombstones do not pile up in it over a large delete
+    private int deleteWithTombstones(List<Long> ids, LocalDateTime deletedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Task> cd = cb.createCriteriaDelete(Task.class);
+        Root<Task> root = cd.from(Task.class);
+        cd.where(root.get("id").in(ids));
+        int deleted = entityManager.createQuery(cd).executeUpdate();
+        for (Long id : ids) {
+            entityManager.persist(new TaskTombstone(id, deletedAt));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return deleted;
+    }
+
+    @Override
+    public List<Task> findChangedSince(LocalDateTime since, long afterId, LocalDateTime upTo, int limit) {
+        if (upTo == null || limit <= 0) {
+            logger.warn("Attempted to find changed tasks with a null upper bound or a non-positive limit.");
+            throw new IllegalArgumentException("Upper bound cannot be null and limit must be positive");
+        }
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Task> cq = cb.createQuery(Task.class);
+            Root<Task> root = cq.from(Task.class);
+            cq.select(root)
+                    .where(changedAfter(cb, root.get("updatedAt"), root.get("id"), since, afterId, upTo))
+                    .orderBy(cb.asc(root.get("updatedAt")), cb.asc(root.get("id")));
+            List<Task> tasks = entityManager.createQuery(cq).setMaxResults(limit).getResultList();
+            logger.debug("Found {} tasks changed since {}/{}", tasks.size(), since, afterId);
+            return tasks;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for findChangedSince", e);
+            throw new IllegalArgumentException("Invalid argument", e);
+        }
+    }
+
+    @Override
+    public List<TaskTombstone> findTombstonesSince(LocalDateTime since, long afterId, LocalDateTime upTo, int limit) {
+        if (upTo == null || limit <= 0) {
+            logger.warn("Attempted to find tombstones with a null upper bound or a non-positive limit.");
+            throw new IllegalArgumentException("Upper bound cannot be null and limit must be positive");
+        }
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<TaskTombstone> cq = cb.createQuery(TaskTombstone.class);
+            Root<TaskTombstone> root = cq.from(TaskTombstone.class);
+            cq.select(root)
+                    .where(changedAfter(cb, root.get("deletedAt"), root.get("taskId"), since, afterId, upTo))
+                    .orderBy(cb.asc(root.get("deletedAt")), cb.asc(root.get("taskId")));
+            List<TaskTombstone> tombstones = entityManager.createQuery(cq).setMaxResults(limit).getResultList();
+            logger.debug("Found {} tombstones since {}/{}", tombstones.size(), since, afterId);
+            return tombstones;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for findTombstonesSince", e);
+            throw new IllegalArgumentException("Invalid argument", e);
+        }
+    }
+
+    @Override
+    public int deleteTombstonesBefore(LocalDateTime cutoff) {
+        if (cutoff == null) {
+            logger.warn("Attempted to purge tombstones with a null cutoff.");
+            throw new IllegalArgumentException("Cutoff cannot be null");
+        }
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaDelete<TaskTombstone> cd = cb.createCriteriaDelete(TaskTombstone.class);
+            Root<TaskTombstone> root = cd.from(TaskTombstone.class);
+            cd.where(cb.lessThan(root.get("deletedAt"), cutoff));
+            int deleted = entityManager.createQuery(cd).executeUpdate();
+            logger.info("Purged {} tombstones older than {}", deleted, cutoff);
+            return deleted;
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid argument for deleteTombstonesBefore", e);
+            throw new IllegalArgumentException("Invalid argument", e);
+        }
+    }
+
+    // (time, id) > (since, afterId) AND time <= upTo; no lower bound when since is null
+    private Predicate changedAfter(CriteriaBuilder cb, Expression<LocalDateTime> time, Expression<Long> id,
+                                   LocalDateTime since, long afterId, LocalDateTime upTo) {
+        Predicate notAfterUpTo = cb.lessThanOrEqualTo(time, upTo);
+        if (since == null) {
+            return notAfterUpTo;
+        }
+        return cb.and(notAfterUpTo, cb.or(
+                cb.greaterThan(time, since),
+                cb.and(cb.equal(time, since), cb.greaterThan(id, afterId))));
+    }
+
+    @Override
+    public List<Task> findAllSortedByDueDate(boolean ascending, TaskCursor after, int limit) {
+        TaskQuery query = new TaskQuery();
+        query.setSortOrder(ascending ? TaskSortOrder.DUE_DATE_ASC : TaskSortOrder.DUE_DATE_DESC);
+        query.setCursor(after);
+        query.setLimit(limit);
+        return find(query);
+    }
+
+    @Override
+    public List<Task> findByStatusAndSortByDueDate(TaskStatus status, boolean ascending, TaskCursor after, int limit) {
+        if (status == null) {
+            logger.warn("Attempted to find a page of tasks by status and sort with null status.");
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        TaskQuery query = new TaskQuery();
+        query.setStatus(status);
+        query.setSortOrder(ascending ? TaskSortOrder.DUE_DATE_ASC : TaskSortOrder.DUE_DATE_DESC);
+        query.setCursor(after);
+        query.setLimit(limit);
+        return find(query);
+    }
+
+    // Only first pages filtered by the enum columns go to the query cache: their parameter space is
+    // small, so cached results are actually reused. Any write to the tasks table invalidates them
+    private boolean isCacheable(TaskQuery query) {
+        return query.getCursor() == null
+                && query.getKeyword() == null
+                && query.getAssignee() == null
+                && query.getDueFrom() == null
+                && query.getDueTo() == null;
+    }
+
+    // Distinct non-null ids split into IN-list sized chunks
+    private List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += MAX_IN_LIST) {
+            chunks.add(distinct.subList(from, Math.min(from + MAX_IN_LIST, distinct.size())));
+        }
+        return chunks;
+    }
+
+    // WHERE clause for the optional filter criteria of a query
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Task> root, TaskQuery query) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), query.getStatus()));
+        }
+        if (query.getStatuses() != null) {
+            predicates.add(root.get("status").in(query.getStatuses()));
+        }
+        if (query.getPriority() != null) {
+            predicates.add(cb.equal(root.get("priority"), query.getPriority()));
+        }
+        if (query.getAssignee() != null && !query.getAssignee().isEmpty()) {
+            predicates.add(cb.equal(root.get("assignee"), query.getAssignee()));
+        }
+        if (query.getKeyword() != null && !query.getKeyword().trim().isEmpty()) {
+            String likePattern = ("%" + query.getKeyword().trim() + "%").toLowerCase();
+            predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("title")), likePattern),
+                    cb.like(cb.lower(root.get("description")), likePattern)));
+        }
+        if (query.getDueFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), query.getDueFrom()));
+        }
+        if (query.getDueTo() != null) {
+            predicates.add(cb.lessThan(root.get("dueDate"), query.getDueTo()));
+        }
+        return predicates;
+    }
+
+    // Columns (or expressions) making up the unique sort key of each ordering, most significant first
+    private List<Expression<?>> sortKeys(CriteriaBuilder cb, Root<Task> root, TaskSortOrder sortOrder) {
+        List<Expression<?>> keys = new ArrayList<>();
+        switch (sortOrder) {
+            case CREATED:
+                keys.add(root.get("createdAt"));
+                break;
+            case PRIORITY:
+                // Stored as its rank (TaskPriorityConverter), so DESC is HIGH > MEDIUM > LOW
+                keys.add(root.get("priority"));
+                keys.add(root.get("dueDate"));
+                break;
+            default:
+                keys.add(root.get("dueDate"));
+                break;
+        }
+        keys.add(root.get("id"));
+        return keys;
+    }
+
+    private boolean[] sortDirections(TaskSortOrder sortOrder, boolean backward) {
+        boolean[] ascending;
+        switch (sortOrder) {
+            case DUE_DATE_DESC:
+                ascending = new boolean[] { false, false };
+                break;
+            case PRIORITY:
+                ascending = new boolean[] { false, true, true };
+                break;
+            default:
+                ascending = new boolean[] { true, true };
+                break;
+        }
+        if (backward) {
+            for (int i = 0; i < ascending.length; i++) {
+                ascending[i] = !ascending[i];
+            }
+        }
+        return ascending;
+    }
+
+    private List<Comparable<?>> cursorValues(TaskCursor cursor, TaskSortOrder sortOrder) {
+        List<Comparable<?>> values = new ArrayList<>();
+        if (sortOrder == TaskSortOrder.PRIORITY) {
+            values.add(TaskPriority.fromRank(cursor.getRank()));
+        }
+        values.add(cursor.getTimestamp());
+        values.add(cursor.getId());
+        return values;
+    }
+
+    // Lexicographic "row comes after the cursor" predicate:
+    // k1 > v1 OR (k1 = v1 AND k2 > v2) OR (k1 = v1 AND k2 = v2 AND k3 > v3) ...
+    // ANDed with the redundant bound k1 >= v1 so the planner can range-scan an index on the leading key.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seekPredicate(CriteriaBuilder cb, List<Expression<?>> keys, List<Comparable<?>> values, boolean[] ascending) {
+        List<Predicate> alternatives = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            List<Predicate> conjunction = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                conjunction.add(cb.equal(keys.get(j), values.get(j)));
+            }
+            Expression key = keys.get(i);
+            Comparable value = values.get(i);
+            conjunction.add(ascending[i] ? cb.greaterThan(key, value) : cb.lessThan(key, value));
+            alternatives.add(cb.and(conjunction.toArray(new Predicate[0])));
+        }
+        Expression leadingKey = keys.get(0);
+        Comparable leadingValue = values.get(0);
+        Predicate leadingBound = ascending[0]
+                ? cb.greaterThanOrEqualTo(leadingKey, leadingValue)
+                : cb.lessThanOrEqualTo(leadingKey, leadingValue);
+        return cb.and(leadingBound, cb.or(alternatives.toArray(new Predicate[0])));
+    }
+}
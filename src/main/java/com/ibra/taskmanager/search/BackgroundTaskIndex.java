@@ -0,0 +1,138 @@
+package com.ibra.taskmanager.search;
+
+import com.ibra.taskmanager.dto.TaskCursor;
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskSortOrder;
+import com.ibra.taskmanager.event.TaskBulkChangeEvent;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.repository.TaskQuery;
+import com.ibra.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Base class for in-memory indexes over all tasks. The index is built in the background at startup
+ * by paging through the tasks table and then kept current from committed task changes.
+ * Until the build completes {@link #isReady()} is false and callers should fall back to the database.
+ * Bulk changes, which carry no per-task state, trigger a full rebuild.
+ */
+public abstract class BackgroundTaskIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(BackgroundTaskIndex.class);
+
+    static final int BUILD_BATCH_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    // Tasks changed while the build is running; the build must not overwrite them with older rows
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean builderRunning = new AtomicBoolean();
+    private volatile boolean buildRequested;
+    private volatile boolean building;
+    private volatile boolean ready;
+
+    protected BackgroundTaskIndex(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    // Adds a task read from the database during the build
+    protected abstract void add(Task task);
+
+    // Applies a committed change
+    protected abstract void apply(TaskChangeEvent event);
+
+    protected abstract int size();
+
+    // Drops all entries before a rebuild
+    protected abstract void clear();
+
+    // Whether a bulk change can touch indexed fields; only then is a rebuild needed
+    protected boolean isAffectedBy(TaskBulkChangeEvent event) {
+        return true;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        requestBuild();
+    }
+
+    // Starts a background (re)build unless one is running; a running builder picks the request up when it finishes
+    void requestBuild() {
+        buildRequested = true;
+        if (builderRunning.compareAndSet(false, true)) {
+            Thread builder = new Thread(this::runBuilds, getClass().getSimpleName() + "-builder");
+            builder.setDaemon(true);
+            builder.start();
+        }
+    }
+
+    private void runBuilds() {
+        do {
+            while (buildRequested) {
+                buildRequested = false;
+                build();
+            }
+            builderRunning.set(false);
+        } while (buildRequested && builderRunning.compareAndSet(false, true));
+    }
+
+    // Loads every task, one keyset page (and one short transaction) at a time
+    void build() {
+        building = true;
+        ready = false;
+        clear();
+        long started = System.nanoTime();
+        try {
+            TaskQuery query = new TaskQuery();
+            query.setSortOrder(TaskSortOrder.CREATED);
+            query.setLimit(BUILD_BATCH_SIZE);
+            List<Task> batch;
+            do {
+                batch = taskRepository.find(query);
+                for (Task task : batch) {
+                    if (!changedDuringBuild.contains(task.getId())) {
+                        add(task);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    query.setCursor(TaskCursor.of(batch.get(batch.size() - 1), TaskSortOrder.CREATED));
+                }
+            } while (batch.size() == BUILD_BATCH_SIZE);
+            ready = true;
+            log.info("{} built. Total entries: {}, took {} ms",
+                    getClass().getSimpleName(), size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Could not build {}; callers will use the database.", getClass().getSimpleName(), e);
+        } finally {
+            building = false;
+            changedDuringBuild.clear();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        if (building) {
+            changedDuringBuild.add(event.getTaskId());
+        }
+        apply(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(TaskBulkChangeEvent event) {
+        if (event.getCount() == 0 || !isAffectedBy(event)) {
+            return;
+        }
+        log.info("{} rebuilding after {}", getClass().getSimpleName(), event);
+        requestBuild();
+    }
+}
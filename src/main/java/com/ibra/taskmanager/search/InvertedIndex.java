@@ -0,0 +1,468 @@
+package com.ibra.taskmanager.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe in-memory inverted index over task titles and descriptions with BM25 ranking.
+ *
+ * <p>Each indexed task gets an internal document number. Posting lists hold document numbers in
+ * increasing order together with term frequencies in primitive int arrays. Updates append a new
+ * document and tombstone the old one; tombstoned documents are skipped at query time and dropped
+ * when enough of them accumulate.</p>
+ *
+ * <p>Queries are AND by default ({@code release notes}); an upper-case {@code OR} between terms
+ * switches to OR ({@code release OR deploy}).</p>
+ */
+public class InvertedIndex {
+
+    // BM25 parameters
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    // Title terms count this many times towards term frequency
+    private static final int TITLE_BOOST = 2;
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final LongIntHashMap docByTaskId = new LongIntHashMap(1024);
+    private long[] docTaskIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private final BitSet deleted = new BitSet();
+    private int docCount;
+    private int deletedCount;
+    private long totalLength;
+
+    // Indexes (or re-indexes) a task
+    public void upsert(long taskId, String title, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : Tokenizer.tokenize(title)) {
+            frequencies.merge(term, TITLE_BOOST, Integer::sum);
+            length += TITLE_BOOST;
+        }
+        for (String term : Tokenizer.tokenize(description)) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(taskId);
+            int doc = docCount++;
+            ensureDocCapacity(docCount);
+            docTaskIds[doc] = taskId;
+            docLengths[doc] = length;
+            totalLength += length;
+            docByTaskId.put(taskId, doc);
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(doc, entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Number of live (not deleted) tasks in the index
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docByTaskId.clear();
+            deleted.clear();
+            docCount = 0;
+            deletedCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the best matching tasks, most relevant first.
+     */
+    public long[] search(String query, int limit) {
+        if (limit <= 0) {
+            return new long[0];
+        }
+        TopDocs top = new TopDocs(limit);
+        lock.readLock().lock();
+        try {
+            collect(query, top);
+            return top.taskIds(docTaskIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of every matching task, unranked. Scoring is skipped.
+     */
+    public long[] matches(String query) {
+        AllDocs all = new AllDocs();
+        lock.readLock().lock();
+        try {
+            collect(query, all);
+            return all.taskIds(docTaskIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Feeds every live document matching the query to the collector; the read lock must be held
+    private void collect(String query, Collector collector) {
+        boolean matchAny = false;
+        Set<String> terms = new LinkedHashSet<>();
+        for (String raw : query == null ? new String[0] : query.trim().split("\\s+")) {
+            if ("OR".equals(raw)) {
+                matchAny = true;
+            } else {
+                terms.addAll(Tokenizer.tokenize(raw));
+            }
+        }
+        if (terms.isEmpty()) {
+            return;
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                lists.add(list);
+            } else if (!matchAny) {
+                return;
+            }
+        }
+        if (lists.isEmpty()) {
+            return;
+        }
+        if (matchAny) {
+            collectAny(lists, collector);
+        } else {
+            collectAll(lists, collector);
+        }
+    }
+
+    // Conjunction: leapfrog over the posting lists, shortest first
+    private void collectAll(List<PostingList> lists, Collector collector) {
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        int n = lists.size();
+        int[] positions = new int[n];
+        float[] idf = idfs(lists);
+        float avgLength = averageLength();
+
+        PostingList lead = lists.get(0);
+        outer:
+        for (int p = 0; p < lead.size; p++) {
+            int doc = lead.docs[p];
+            positions[0] = p;
+            for (int i = 1; i < n; i++) {
+                PostingList list = lists.get(i);
+                int pos = list.advance(positions[i], doc);
+                if (pos >= list.size) {
+                    break outer;
+                }
+                positions[i] = pos;
+                if (list.docs[pos] != doc) {
+                    continue outer;
+                }
+            }
+            if (deleted.get(doc)) {
+                continue;
+            }
+            float score = 0;
+            if (collector.needsScores()) {
+                for (int i = 0; i < n; i++) {
+                    score += bm25(idf[i], lists.get(i).freqs[positions[i]], docLengths[doc], avgLength);
+                }
+            }
+            collector.offer(doc, score);
+        }
+    }
+
+    // Disjunction: k-way merge of the posting lists
+    private void collectAny(List<PostingList> lists, Collector collector) {
+        int n = lists.size();
+        int[] positions = new int[n];
+        float[] idf = idfs(lists);
+        float avgLength = averageLength();
+
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                PostingList list = lists.get(i);
+                if (positions[i] < list.size && list.docs[positions[i]] < doc) {
+                    doc = list.docs[positions[i]];
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                return;
+            }
+            float score = 0;
+            for (int i = 0; i < n; i++) {
+                PostingList list = lists.get(i);
+                if (positions[i] < list.size && list.docs[positions[i]] == doc) {
+                    if (collector.needsScores()) {
+                        score += bm25(idf[i], list.freqs[positions[i]], docLengths[doc], avgLength);
+                    }
+                    positions[i]++;
+                }
+            }
+            if (!deleted.get(doc)) {
+                collector.offer(doc, score);
+            }
+        }
+    }
+
+    private float[] idfs(List<PostingList> lists) {
+        float[] idf = new float[lists.size()];
+        int documents = Math.max(1, docCount - deletedCount);
+        for (int i = 0; i < idf.length; i++) {
+            // Document frequency includes tombstoned documents until the next compaction
+            int df = Math.min(lists.get(i).size, documents);
+            idf[i] = (float) Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+        }
+        return idf;
+    }
+
+    private float averageLength() {
+        int live = docCount - deletedCount;
+        return live == 0 ? 1f : Math.max(1f, (float) totalLength / live);
+    }
+
+    private static float bm25(float idf, int tf, int docLength, float avgLength) {
+        float norm = K1 * (1 - B + B * docLength / avgLength);
+        return idf * (tf * (K1 + 1)) / (tf + norm);
+    }
+
+    private void removeLocked(long taskId) {
+        int doc = docByTaskId.get(taskId, -1);
+        if (doc < 0) {
+            return;
+        }
+        docByTaskId.remove(taskId);
+        deleted.set(doc);
+        deletedCount++;
+        totalLength -= docLengths[doc];
+        if (deletedCount >= MIN_TOMBSTONES_FOR_COMPACTION && deletedCount * 4 >= docCount) {
+            compact();
+        }
+    }
+
+    // Renumbers live documents densely and drops tombstones from every posting list
+    private void compact() {
+        int[] remap = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = live;
+                docTaskIds[live] = docTaskIds[doc];
+                docLengths[live] = docLengths[doc];
+                docByTaskId.put(docTaskIds[live], live);
+                live++;
+            }
+        }
+        postings.values().removeIf(list -> list.compact(remap) == 0);
+        docCount = live;
+        deletedCount = 0;
+        deleted.clear();
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity > docTaskIds.length) {
+            int newLength = Math.max(capacity, docTaskIds.length * 2);
+            docTaskIds = Arrays.copyOf(docTaskIds, newLength);
+            docLengths = Arrays.copyOf(docLengths, newLength);
+        }
+    }
+
+    // Document numbers (ascending) and term frequencies for one term
+    private static final class PostingList {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        // First position >= from whose document is >= target (galloping, then binary search)
+        int advance(int from, int target) {
+            if (from >= size || docs[from] >= target) {
+                return from;
+            }
+            int step = 1;
+            int low = from;
+            int high = from + 1;
+            while (high < size && docs[high] < target) {
+                low = high;
+                step <<= 1;
+                high = from + step;
+            }
+            high = Math.min(high, size);
+            int pos = Arrays.binarySearch(docs, low + 1, high, target);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+
+        int compact(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    // Receives the matching documents of a query
+    private interface Collector {
+        void offer(int doc, float score);
+
+        boolean needsScores();
+    }
+
+    // Every matching document, in document order
+    private static final class AllDocs implements Collector {
+        private int[] docs = new int[64];
+        private int size;
+
+        @Override
+        public void offer(int doc, float score) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        @Override
+        public boolean needsScores() {
+            return false;
+        }
+
+        long[] taskIds(long[] docTaskIds) {
+            long[] result = new long[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = docTaskIds[docs[i]];
+            }
+            return result;
+        }
+    }
+
+    // Bounded min-heap of (document, score) keeping the best scores seen so far
+    private static final class TopDocs implements Collector {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        TopDocs(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        @Override
+        public void offer(int doc, float score) {
+            if (size < docs.length) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                docs[0] = doc;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        @Override
+        public boolean needsScores() {
+            return true;
+        }
+
+        // Task ids ordered by descending score
+        long[] taskIds(long[] docTaskIds) {
+            long[] result = new long[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = docTaskIds[docs[0]];
+                docs[0] = docs[i];
+                scores[0] = scores[i];
+                size = i;
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    return;
+                }
+                int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+                if (scores[i] <= scores[smallest]) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int doc = docs[a];
+            docs[a] = docs[b];
+            docs[b] = doc;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
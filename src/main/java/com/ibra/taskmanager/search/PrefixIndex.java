@@ -0,0 +1,110 @@
+package com.ibra.taskmanager.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted prefix index for typeahead suggestions. Every value (a title or an assignee name) is
+ * registered under each of its word starts, so "rel" finds both "Release notes" and
+ * "Write release notes". Lookups are a binary search into the sorted key space followed by a short
+ * bounded scan, independent of how many values are indexed.
+ */
+public class PrefixIndex {
+
+    // Separates the normalized word suffix from the original value inside a key
+    private static final char SEPARATOR = '\u0001';
+    // Upper bound on keys examined per lookup so very short prefixes stay cheap
+    private static final int MAX_SCAN = 512;
+
+    // normalized suffix + SEPARATOR + value -> number of tasks carrying that value
+    private final ConcurrentSkipListMap<String, Integer> entries = new ConcurrentSkipListMap<>();
+
+    public void add(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return;
+        }
+        for (String key : keys(value)) {
+            entries.merge(key, 1, Integer::sum);
+        }
+    }
+
+    public void remove(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return;
+        }
+        for (String key : keys(value)) {
+            entries.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Values having a word that starts with the prefix, most frequent first (then alphabetical), with their counts.
+     */
+    public Map<String, Integer> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new LinkedHashMap<>();
+        }
+        NavigableMap<String, Integer> range = entries.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        int scanned = 0;
+        for (Map.Entry<String, Integer> entry : range.entrySet()) {
+            if (++scanned > MAX_SCAN) {
+                break;
+            }
+            String key = entry.getKey();
+            String value = key.substring(key.indexOf(SEPARATOR) + 1);
+            candidates.merge(value, entry.getValue(), Math::max);
+        }
+
+        List<Map.Entry<String, Integer>> sorted = new ArrayList<>(candidates.entrySet());
+        sorted.sort((a, b) -> {
+            int byCount = Integer.compare(b.getValue(), a.getValue());
+            return byCount != 0 ? byCount : a.getKey().compareToIgnoreCase(b.getKey());
+        });
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : sorted) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    // One key per word start of the value
+    private List<String> keys(String value) {
+        String display = value.trim();
+        String normalized = normalize(display);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordStart = Character.isLetterOrDigit(normalized.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)));
+            if (wordStart) {
+                keys.add(normalized.substring(i) + SEPARATOR + display);
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
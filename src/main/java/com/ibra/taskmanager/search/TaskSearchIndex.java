@@ -0,0 +1,64 @@
+package com.ibra.taskmanager.search;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.event.TaskBulkChangeEvent;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.event.TaskSnapshot;
+import com.ibra.taskmanager.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ranked keyword search over all tasks, backed by an {@link InvertedIndex}.
+ */
+@Component
+public class TaskSearchIndex extends BackgroundTaskIndex {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Autowired
+    public TaskSearchIndex(TaskRepository taskRepository) {
+        super(taskRepository);
+    }
+
+    // Task ids ordered by relevance
+    public long[] search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    // Ids of every matching task, unranked
+    public long[] matches(String query) {
+        return index.matches(query);
+    }
+
+    @Override
+    protected void add(Task task) {
+        index.upsert(task.getId(), task.getTitle(), task.getDescription());
+    }
+
+    @Override
+    protected void apply(TaskChangeEvent event) {
+        TaskSnapshot after = event.getAfter();
+        if (event.getType() == TaskChangeEvent.Type.DELETED || after == null) {
+            index.remove(event.getTaskId());
+        } else {
+            index.upsert(after.id(), after.title(), after.description());
+        }
+    }
+
+    @Override
+    protected int size() {
+        return index.size();
+    }
+
+    @Override
+    protected void clear() {
+        index.clear();
+    }
+
+    // Status is not indexed
+    @Override
+    protected boolean isAffectedBy(TaskBulkChangeEvent event) {
+        return !event.isStatusChange();
+    }
+}
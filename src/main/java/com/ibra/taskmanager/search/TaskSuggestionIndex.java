@@ -0,0 +1,78 @@
+package com.ibra.taskmanager.search;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.event.TaskBulkChangeEvent;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.event.TaskSnapshot;
+import com.ibra.taskmanager.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Typeahead suggestions for task titles and assignee names, served from memory.
+ */
+@Component
+public class TaskSuggestionIndex extends BackgroundTaskIndex {
+
+    private final PrefixIndex titles = new PrefixIndex();
+    private final PrefixIndex assignees = new PrefixIndex();
+
+    @Autowired
+    public TaskSuggestionIndex(TaskRepository taskRepository) {
+        super(taskRepository);
+    }
+
+    // Title -> number of tasks with that title
+    public Map<String, Integer> suggestTitles(String prefix, int limit) {
+        return titles.suggest(prefix, limit);
+    }
+
+    // Assignee -> number of tasks assigned
+    public Map<String, Integer> suggestAssignees(String prefix, int limit) {
+        return assignees.suggest(prefix, limit);
+    }
+
+    @Override
+    protected void add(Task task) {
+        titles.add(task.getTitle());
+        assignees.add(task.getAssignee());
+    }
+
+    @Override
+    protected void apply(TaskChangeEvent event) {
+        TaskSnapshot before = event.getBefore();
+        TaskSnapshot after = event.getAfter();
+        if (before != null && (after == null || !Objects.equals(before.title(), after.title()))) {
+            titles.remove(before.title());
+        }
+        if (after != null && (before == null || !Objects.equals(before.title(), after.title()))) {
+            titles.add(after.title());
+        }
+        if (before != null && (after == null || !Objects.equals(before.assignee(), after.assignee()))) {
+            assignees.remove(before.assignee());
+        }
+        if (after != null && (before == null || !Objects.equals(before.assignee(), after.assignee()))) {
+            assignees.add(after.assignee());
+        }
+    }
+
+    @Override
+    protected int size() {
+        return titles.size() + assignees.size();
+    }
+
+    @Override
+    protected void clear() {
+        titles.clear();
+        assignees.clear();
+    }
+
+    // Status is not indexed
+    @Override
+    protected boolean isAffectedBy(TaskBulkChangeEvent event) {
+        return !event.isStatusChange();
+    }
+}
@@ -0,0 +1,161 @@
+package com.ibra.taskmanager.service;
+
+import com.ibra.taskmanager.event.TaskBulkChangeEvent;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.event.TaskSnapshot;
+import com.ibra.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory assignee -> task count index backing the assignee filter of the list page.
+ * Loaded once with a GROUP BY query and then kept current from committed task changes,
+ * so reading it costs O(assignees) instead of a scan of the tasks table. A periodic reload
+ * corrects any drift.
+ */
+@Component
+public class AssigneeIndex implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AssigneeIndex.class);
+
+    static final long RECONCILE_MINUTES = 10;
+
+    private final TaskRepository taskRepository;
+    private final Map<String, Long> counts = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "assignee-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public AssigneeIndex(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Could not load the assignee index; falling back to database lookups.", e);
+        }
+        scheduler.scheduleWithFixedDelay(this::reloadQuietly, RECONCILE_MINUTES, RECONCILE_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Moves every count to the database value. Counts are adjusted by the difference rather than
+     * cleared and refilled, so readers never see an empty or partial index and changes applied while
+     * the query runs are kept; a change committed after the query read the table but applied before
+     * the adjustment is counted twice until the next reload.
+     */
+    public synchronized void reload() {
+        Map<String, Long> fresh = taskRepository.countTasksByAssignee();
+        Set<String> names = new HashSet<>(counts.keySet());
+        names.addAll(fresh.keySet());
+        long drift = 0;
+        for (String name : names) {
+            long difference = fresh.getOrDefault(name, 0L) - counts.getOrDefault(name, 0L);
+            if (difference != 0) {
+                counts.compute(name, (key, count) -> {
+                    long adjusted = (count == null ? 0L : count) + difference;
+                    return adjusted > 0 ? adjusted : null;
+                });
+                drift += Math.abs(difference);
+            }
+        }
+        if (!loaded) {
+            loaded = true;
+            log.info("Assignee index loaded. Total assignees: {}", counts.size());
+        } else if (drift > 0) {
+            log.info("Assignee index reloaded; corrected a drift of {} tasks", drift);
+        }
+    }
+
+    // Scheduled tasks must not throw, or they are cancelled
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload the assignee index.", e);
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Distinct assignees in alphabetical order
+    public List<String> getAssignees() {
+        List<String> assignees = new ArrayList<>(counts.keySet());
+        Collections.sort(assignees);
+        return assignees;
+    }
+
+    // Assignee -> number of tasks, in alphabetical order
+    public Map<String, Long> getTaskCounts() {
+        return new TreeMap<>(counts);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        if (!loaded) {
+            return;
+        }
+        String previous = assigneeOf(event.getBefore());
+        String current = assigneeOf(event.getAfter());
+        if (previous != null && previous.equals(current)) {
+            return;
+        }
+        if (previous != null) {
+            counts.computeIfPresent(previous, (name, count) -> count > 1 ? count - 1 : null);
+        }
+        if (current != null) {
+            counts.merge(current, 1L, Long::sum);
+        }
+    }
+
+    // Bulk changes carry no per-task state; one GROUP BY query is cheaper than tracking them
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(TaskBulkChangeEvent event) {
+        if (event.getCount() == 0 || event.isStatusChange()) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            loaded = false;
+            log.warn("Could not reload the assignee index after {}; falling back to database lookups.", event, e);
+        }
+    }
+
+    private String assigneeOf(TaskSnapshot snapshot) {
+        if (snapshot == null || snapshot.assignee() == null || snapshot.assignee().isEmpty()) {
+            return null;
+        }
+        return snapshot.assignee();
+    }
+}
@@ -0,0 +1,304 @@
+package com.ibra.taskmanager.service;
+
+import com.ibra.taskmanager.dto.CursorPage;
+import com.ibra.taskmanager.dto.TaskChangeSet;
+import com.ibra.taskmanager.dto.TaskFacets;
+import com.ibra.taskmanager.dto.TaskPatch;
+import com.ibra.taskmanager.dto.TaskSuggestion;
+import com.ibra.taskmanager.dto.TaskSummary;
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.repository.TaskQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Caches list query results in front of {@link TaskServiceImpl}.
+ *
+ * <p>Each mutating method invalidates the cache after the delegate returns, that is after its
+ * transaction committed. The overdue and upcoming queries depend on the current time. They are
+ * evaluated at the start of the current minute, so one result per minute is cached and reused.</p>
+ *
+ * <p>Single-task reads, the search index and the assignee index are not cached here; they already
+ * come from memory or from the Hibernate second-level cache.</p>
+ */
+@Service
+@Primary
+public class CachingTaskService implements TaskService {
+
+    static final ChronoUnit TIME_BUCKET = ChronoUnit.MINUTES;
+
+    private final TaskService delegate;
+    private final QueryResultCache cache;
+
+    @Autowired
+    public CachingTaskService(@Qualifier("taskServiceImpl") TaskService delegate, QueryResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        try {
+            return delegate.createTask(task);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public int createTasks(Collection<Task> tasks) {
+        try {
+            return delegate.createTasks(tasks);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public Task updateTask(Task task) {
+        try {
+            return delegate.updateTask(task);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public Optional<Task> patchTask(Long id, TaskPatch patch) {
+        try {
+            return delegate.patchTask(id, patch);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public void deleteTask(Long id) {
+        try {
+            delegate.deleteTask(id);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public void markTaskAsCompleted(Long id) {
+        try {
+            delegate.markTaskAsCompleted(id);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public void markTaskAsInProgress(Long id) {
+        try {
+            delegate.markTaskAsInProgress(id);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public int markTasks(Collection<Long> ids, TaskStatus status) {
+        try {
+            return delegate.markTasks(ids, status);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public int markTasks(TaskQuery filter, TaskStatus status) {
+        try {
+            return delegate.markTasks(filter, status);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public int deleteTasks(Collection<Long> ids) {
+        try {
+            return delegate.deleteTasks(ids);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public int deleteTasks(TaskQuery filter) {
+        try {
+            return delegate.deleteTasks(filter);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public int completeOverdueTasks(String assignee) {
+        try {
+            return delegate.completeOverdueTasks(assignee);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public Optional<Task> getTaskById(Long id) {
+        return delegate.getTaskById(id);
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return cache.get("all", () -> unmodifiable(delegate.getAllTasks()));
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        if (status == null) {
+            return delegate.getTasksByStatus(null);
+        }
+        return cache.get("byStatus", () -> unmodifiable(delegate.getTasksByStatus(status)), status);
+    }
+
+    @Override
+    public List<Task> getOverdueTasks() {
+        return getOverdueTasks(currentBucket());
+    }
+
+    @Override
+    public List<Task> getUpcomingTasks() {
+        return getUpcomingTasks(currentBucket());
+    }
+
+    @Override
+    public List<Task> getOverdueTasks(LocalDateTime asOf) {
+        if (asOf == null) {
+            return delegate.getOverdueTasks(null);
+        }
+        return cache.get("overdue", () -> unmodifiable(delegate.getOverdueTasks(asOf)), asOf);
+    }
+
+    @Override
+    public List<Task> getUpcomingTasks(LocalDateTime asOf) {
+        if (asOf == null) {
+            return delegate.getUpcomingTasks(null);
+        }
+        return cache.get("upcoming", () -> unmodifiable(delegate.getUpcomingTasks(asOf)), asOf);
+    }
+
+    @Override
+    public List<Task> getTasksSortedByDueDate(boolean ascending) {
+        return cache.get("sortedByDueDate", () -> unmodifiable(delegate.getTasksSortedByDueDate(ascending)), ascending);
+    }
+
+    @Override
+    public List<Task> getTasksByStatusSortedByDueDate(TaskStatus status, boolean ascending) {
+        if (status == null) {
+            return delegate.getTasksByStatusSortedByDueDate(null, ascending);
+        }
+        return cache.get("byStatusSortedByDueDate",
+                () -> unmodifiable(delegate.getTasksByStatusSortedByDueDate(status, ascending)), status, ascending);
+    }
+
+    @Override
+    public List<Task> searchTasks(String keyword) {
+        return delegate.searchTasks(keyword);
+    }
+
+    @Override
+    public List<Task> searchTasks(String keyword, int limit) {
+        return delegate.searchTasks(keyword, limit);
+    }
+
+    @Override
+    public List<TaskSummary> searchTaskSummaries(String keyword, int limit) {
+        return delegate.searchTaskSummaries(keyword, limit);
+    }
+
+    @Override
+    public CursorPage<Task> getTaskPage(TaskQuery query, String after, String before) {
+        if (query == null || query.getSortOrder() == null) {
+            return delegate.getTaskPage(query, after, before);
+        }
+        return cache.get("page", () -> delegate.getTaskPage(query, after, before),
+                query.getStatus(), query.getStatuses(), query.getPriority(), query.getAssignee(), query.getKeyword(),
+                query.getDueFrom(), query.getDueTo(), query.getSortOrder(), query.getCursor() != null
+                        ? query.getCursor().encode() : null, query.isBackward(), query.getLimit(), after, before);
+    }
+
+    @Override
+    public CursorPage<TaskSummary> getTaskSummaryPage(TaskQuery query, String after, String before) {
+        if (query == null || query.getSortOrder() == null) {
+            return delegate.getTaskSummaryPage(query, after, before);
+        }
+        return cache.get("summaryPage", () -> delegate.getTaskSummaryPage(query, after, before),
+                query.getStatus(), query.getStatuses(), query.getPriority(), query.getAssignee(), query.getKeyword(),
+                query.getDueFrom(), query.getDueTo(), query.getSortOrder(), query.getCursor() != null
+                        ? query.getCursor().encode() : null, query.isBackward(), query.getLimit(), after, before);
+    }
+
+    @Override
+    public TaskFacets getFacets(TaskQuery filter) {
+        if (filter == null) {
+            return delegate.getFacets(null);
+        }
+        return cache.get("facets", () -> delegate.getFacets(filter),
+                filter.getStatus(), filter.getStatuses(), filter.getPriority(), filter.getAssignee(), filter.getKeyword(),
+                filter.getDueFrom(), filter.getDueTo());
+    }
+
+    @Override
+    public TaskFacets getSearchFacets(String keyword) {
+        return cache.get("searchFacets", () -> delegate.getSearchFacets(keyword), keyword);
+    }
+
+    @Override
+    public int exportTasks(TaskQuery query, Consumer<Task> consumer) {
+        return delegate.exportTasks(query, consumer);
+    }
+
+    @Override
+    public Optional<TaskChangeSet<Task>> getChanges(String token, int limit) {
+        // Tokens are per client and move on every call; nothing worth caching
+        return delegate.getChanges(token, limit);
+    }
+
+    @Override
+    public List<TaskSuggestion> suggest(String prefix, int limit) {
+        return delegate.suggest(prefix, limit);
+    }
+
+    @Override
+    public List<String> getAllAssignees() {
+        return delegate.getAllAssignees();
+    }
+
+    @Override
+    public Map<String, Long> getAssigneeTaskCounts() {
+        return delegate.getAssigneeTaskCounts();
+    }
+
+    // Start of the current time bucket; the "now" used by cached time-relative queries
+    LocalDateTime currentBucket() {
+        return LocalDateTime.now().truncatedTo(TIME_BUCKET);
+    }
+
+    // Cached lists are shared between requests
+    private static <T> List<T> unmodifiable(List<T> list) {
+        return list != null ? Collections.unmodifiableList(list) : Collections.emptyList();
+    }
+}
@@ -0,0 +1,61 @@
+package com.ibra.taskmanager.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Start times of the bulk write transactions still open in this application.
+ *
+ * <p>A bulk change stamps its rows and tombstones while it runs, but they only become visible when
+ * it commits, which can be long after {@link TaskServiceImpl#CHANGE_SETTLE_TIME}. Delta sync must not
+ * move a token past the start of a transaction that has not committed yet, or that transaction's
+ * changes end up behind the token and are never served. {@link #bound(LocalDateTime)} holds the
+ * sync upper bound just before the oldest open one.</p>
+ */
+class OpenWriteTransactions {
+
+    // Rows are stamped no earlier than the registered start; this margin keeps them clear of the
+    // bound after the database rounds timestamps to its own precision
+    static final Duration STAMP_MARGIN = Duration.ofMillis(1);
+
+    private final Map<Object, LocalDateTime> open = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the current transaction until it completes. Must be called before the transaction
+     * stamps any row. Outside a transaction the write commits as it goes and nothing is registered.
+     */
+    void register() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Object key = new Object();
+        open.put(key, LocalDateTime.now());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                open.remove(key);
+            }
+        });
+    }
+
+    // The given upper bound, or just before the start of the oldest open transaction if that is earlier
+    LocalDateTime bound(LocalDateTime upTo) {
+        LocalDateTime bound = upTo;
+        for (LocalDateTime started : open.values()) {
+            LocalDateTime limit = started.minus(STAMP_MARGIN);
+            if (limit.isBefore(bound)) {
+                bound = limit;
+            }
+        }
+        return bound;
+    }
+
+    int size() {
+        return open.size();
+    }
+}
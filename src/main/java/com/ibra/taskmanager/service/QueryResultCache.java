@@ -0,0 +1,81 @@
+package com.ibra.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded cache of read query results (Caffeine, W-TinyLFU eviction).
+ *
+ * <p>Every key carries the data version current when the read started. {@link #invalidate()} bumps
+ * the version after each committed write, so results loaded before the write can no longer be
+ * found, even when their load finishes after the write.</p>
+ */
+@Component
+public class QueryResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryResultCache.class);
+
+    static final int MAX_ENTRIES = 1000;
+    // Upper bound on entry lifetime, for rows changed outside this application
+    static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    private final AtomicLong version = new AtomicLong();
+    // Differs between runs, so a data version handed out before a restart never matches one after it
+    private final long epoch = System.currentTimeMillis();
+    private final Cache<Key, Object> results = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(EXPIRE_AFTER_WRITE)
+            .recordStats()
+            .build();
+
+    /**
+     * Returns the cached result of the named query for these parameters, loading it on a miss.
+     * The loader must not return null.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String query, Supplier<T> loader, Object... params) {
+        Key key = new Key(version.get(), query, Arrays.asList(params));
+        return (T) results.get(key, k -> loader.get());
+    }
+
+    // Called after every committed write
+    public void invalidate() {
+        long current = version.incrementAndGet();
+        // Entries of older versions are unreachable; drop them now instead of waiting for eviction
+        results.invalidateAll();
+        log.debug("Query result cache invalidated, data version {}", current);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Token that changes with every committed write and on every restart; reading it costs no query.
+     * Usable as an HTTP entity tag for anything derived from the tasks table.
+     */
+    public String getDataVersion() {
+        return Long.toString(epoch, 36) + "-" + version.get();
+    }
+
+    public long size() {
+        return results.estimatedSize();
+    }
+
+    public CacheStats getStats() {
+        return results.stats();
+    }
+
+    private record Key(long version, String query, List<Object> params) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.ibra.taskmanager.service;
+
+import com.ibra.taskmanager.dto.TaskImportResult;
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.format.TaskReader;
+import com.ibra.taskmanager.format.TaskRecord;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from a CSV or NDJSON upload.
+ *
+ * <p>Records are read and validated one at a time and collected into chunks of
+ * {@code import.chunk_size}; each chunk is saved with {@link TaskService#createTasks} in its own
+ * transaction. Only one chunk is held in memory, and the upload is not read while a chunk commits,
+ * so a fast client is slowed down by TCP flow control instead of filling the heap.</p>
+ *
+ * <p>Deliberately not transactional: a failure loses at most the current chunk. If a chunk is
+ * rejected by the database its tasks are retried one per transaction, so only the offending lines
+ * are reported.</p>
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    static final int DEFAULT_CHUNK_SIZE = 1000;
+    // Rejected records listed in the result; later ones are only counted
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final TaskService taskService;
+    private final Validator validator;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    @Autowired
+    public TaskImportService(TaskService taskService, Validator validator) {
+        this.taskService = taskService;
+        this.validator = validator;
+    }
+
+    @Value("${import.chunk_size:" + DEFAULT_CHUNK_SIZE + "}")
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            log.error("Import chunk size must be positive: {}", chunkSize);
+            throw new IllegalArgumentException("Import chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public TaskImportResult importTasks(TaskReader reader) {
+        if (reader == null) {
+            log.warn("Attempted to import tasks from a null reader.");
+            throw new IllegalArgumentException("Reader cannot be null");
+        }
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        List<TaskRecord> chunk = new ArrayList<>(chunkSize);
+        String message = null;
+        try {
+            TaskRecord record;
+            while ((record = reader.read()) != null) {
+                progress.records++;
+                String error = record.isValid() ? validate(record.getTask()) : record.getError();
+                if (error != null) {
+                    progress.reject(record.getLine(), error);
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    save(chunk, progress);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Import stopped after {} records: {}", progress.records, e.getMessage());
+            message = e.getMessage();
+        }
+        // Records read before a read failure are valid and kept
+        save(chunk, progress);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long tasksPerSecond = progress.imported * 1000 / Math.max(1, elapsedMillis);
+        log.info("Imported {} of {} records in {} ms ({} tasks/s)",
+                progress.imported, progress.records, elapsedMillis, tasksPerSecond);
+        return new TaskImportResult(progress.records, progress.imported, progress.failed, progress.errors,
+                message == null, message, elapsedMillis, tasksPerSecond);
+    }
+
+    // Bean validation messages joined in a stable order, or null when the task is valid
+    private String validate(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void save(List<TaskRecord> chunk, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Task> tasks = chunk.stream().map(TaskRecord::getTask).collect(Collectors.toList());
+        try {
+            progress.imported += taskService.createTasks(tasks);
+        } catch (RuntimeException e) {
+            log.warn("Chunk of {} tasks starting on line {} failed, retrying one at a time",
+                    chunk.size(), chunk.get(0).getLine(), e);
+            for (TaskRecord record : chunk) {
+                Task task = record.getTask();
+                // The rolled back flush may already have assigned an id and version
+                task.setId(null);
+                task.setVersion(null);
+                try {
+                    progress.imported += taskService.createTasks(List.of(task));
+                } catch (RuntimeException ex) {
+                    progress.reject(record.getLine(), rootMessage(ex));
+                }
+            }
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private static final class Progress {
+        long records;
+        long imported;
+        long failed;
+        final List<TaskImportResult.LineError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TaskImportResult.LineError(line, message));
+            }
+        }
+    }
+}
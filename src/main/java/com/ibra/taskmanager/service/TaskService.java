@@ -1,17 +1,33 @@
 package com.ibra.taskmanager.service;
 
 
+import com.ibra.taskmanager.dto.CursorPage;
+import com.ibra.taskmanager.dto.TaskChangeSet;
+import com.ibra.taskmanager.dto.TaskFacets;
+import com.ibra.taskmanager.dto.TaskPatch;
+import com.ibra.taskmanager.dto.TaskSuggestion;
+import com.ibra.taskmanager.dto.TaskSummary;
 import com.ibra.taskmanager.entity.Task;
 import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.repository.TaskQuery;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TaskService {
 
     // Basic CRUD operations
     Task createTask(Task task);
+    // Bulk create in one transaction, inserted in JDBC batches; returns the number of tasks created
+    int createTasks(Collection<Task> tasks);
     Task updateTask(Task task);
+    // Partial update guarded by patch.version; empty if the task does not exist.
+    // Throws jakarta.persistence.OptimisticLockException if the task changed since that version
+    Optional<Task> patchTask(Long id, TaskPatch patch);
     Optional<Task> getTaskById(Long id);
     List<Task> getAllTasks();
     void deleteTask(Long id);
@@ -20,6 +36,9 @@ public interface TaskService {
     List<Task> getTasksByStatus(TaskStatus status);
     List<Task> getOverdueTasks();
     List<Task> getUpcomingTasks();
+    // Overdue / upcoming relative to the given instant instead of now
+    List<Task> getOverdueTasks(LocalDateTime asOf);
+    List<Task> getUpcomingTasks(LocalDateTime asOf);
     List<Task> getTasksSortedByDueDate(boolean ascending);
 
     // Combined filter and sort
@@ -28,7 +47,55 @@ public interface TaskService {
     // Search by title or description
     List<Task> searchTasks(String keyword);
 
+    // Ranked keyword search (best match first), at most limit results
+    List<Task> searchTasks(String keyword, int limit);
+    List<TaskSummary> searchTaskSummaries(String keyword, int limit);
+
+    // Filtered, sorted keyset page; the query limit is the page size. Pass the nextCursor of a page
+    // as "after" or its prevCursor as "before"
+    int DEFAULT_PAGE_SIZE = 20;
+    int MAX_PAGE_SIZE = 100;
+    CursorPage<Task> getTaskPage(TaskQuery query, String after, String before);
+    // The same page as read-only summaries for rendering the list; no entities are loaded
+    CursorPage<TaskSummary> getTaskSummaryPage(TaskQuery query, String after, String before);
+
+    // Per-status, per-priority and per-assignee counts for the filter bar of a list query, from one
+    // aggregate query; cursor, sort order and limit are ignored
+    TaskFacets getFacets(TaskQuery filter);
+    // The same counts over every task a ranked keyword search matches, not just the page it returns
+    TaskFacets getSearchFacets(String keyword);
+
+    // Hands every task matching the query filters (in its sort order) to the consumer, streamed from
+    // a database cursor inside one read-only transaction; returns the number of tasks
+    int exportTasks(TaskQuery query, Consumer<Task> consumer);
+
+    // Delta sync: tasks created or updated and ids of tasks deleted after the token, at most limit of
+    // each. A null token starts a full sync (every task, then deletions from now on). Empty when the
+    // token is too old to be served; the client must drop its copy and start over without a token.
+    // Throws IllegalArgumentException for a malformed token
+    int DEFAULT_CHANGE_LIMIT = 500;
+    int MAX_CHANGE_LIMIT = 5000;
+    Optional<TaskChangeSet<Task>> getChanges(String token, int limit);
+
+    // Typeahead: up to limit matching titles, then up to limit matching assignees. Empty while the
+    // suggestion index is still loading
+    int MAX_SUGGESTIONS = 10;
+    List<TaskSuggestion> suggest(String prefix, int limit);
+
+    // Distinct assignees (alphabetical) and their task counts
+    List<String> getAllAssignees();
+    Map<String, Long> getAssigneeTaskCounts();
+
     // Status operations
     void markTaskAsCompleted(Long id);
     void markTaskAsInProgress(Long id);
+
+    // Bulk operations, each a single set-based statement (per chunk of ids). Filters must set at
+    // least one criterion. Return the number of tasks changed
+    int markTasks(Collection<Long> ids, TaskStatus status);
+    int markTasks(TaskQuery filter, TaskStatus status);
+    int deleteTasks(Collection<Long> ids);
+    int deleteTasks(TaskQuery filter);
+    // Completes every pending or in-progress task past its due date; all assignees if assignee is null
+    int completeOverdueTasks(String assignee);
 }
\ No newline at end of file
@@ -1,17 +1,46 @@
 package com.ibra.taskmanager.service;
 
+import com.ibra.taskmanager.dto.CursorPage;
+import com.ibra.taskmanager.dto.SyncToken;
+import com.ibra.taskmanager.dto.TaskChangeSet;
+import com.ibra.taskmanager.dto.TaskCursor;
+import com.ibra.taskmanager.dto.TaskFacets;
+import com.ibra.taskmanager.dto.TaskPatch;
+import com.ibra.taskmanager.dto.TaskSuggestion;
+import com.ibra.taskmanager.dto.TaskSummary;
 import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.entity.TaskTombstone;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskSortOrder;
 import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.event.TaskBulkChangeEvent;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.event.TaskSnapshot;
+import com.ibra.taskmanager.repository.TaskQuery;
 import com.ibra.taskmanager.repository.TaskRepository;
+import com.ibra.taskmanager.search.TaskSearchIndex;
+import com.ibra.taskmanager.search.TaskSuggestionIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @Transactional
@@ -19,20 +48,101 @@ public class TaskServiceImpl implements TaskService {
 
     private static final Logger log = LoggerFactory.getLogger(TaskServiceImpl.class);
     private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AssigneeIndex assigneeIndex;
+    private final TaskSearchIndex searchIndex;
+    private final TaskSuggestionIndex suggestionIndex;
+
+    // Rows per flush in createTasks; matches hibernate.jdbc.batch_size so each flush is one JDBC batch
+    static final int DEFAULT_BATCH_SIZE = 50;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    // Delta sync only serves changes at least this old. A transaction still running can commit rows
+    // stamped earlier than rows already handed out; holding recent rows back gives it time to finish.
+    // Bulk changes, which can run longer, also hold sync back until they commit (OpenWriteTransactions)
+    static final Duration CHANGE_SETTLE_TIME = Duration.ofSeconds(5);
+    // Tombstones are purged after this long, so older sync tokens can no longer be served
+    static final Duration TOMBSTONE_RETENTION = Duration.ofDays(30);
+    static final Duration TOMBSTONE_PURGE_INTERVAL = Duration.ofHours(1);
+    private final AtomicLong nextTombstonePurge = new AtomicLong();
+    // Bulk changes can outlast the settle time; sync stays behind the ones not yet committed
+    private final OpenWriteTransactions openBulkWrites = new OpenWriteTransactions();
 
     @Autowired
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           AssigneeIndex assigneeIndex,
+                           TaskSearchIndex searchIndex,
+                           TaskSuggestionIndex suggestionIndex) {
         this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.assigneeIndex = assigneeIndex;
+        this.searchIndex = searchIndex;
+        this.suggestionIndex = suggestionIndex;
+    }
+
+    @Value("${hibernate.jdbc.batch_size:" + DEFAULT_BATCH_SIZE + "}")
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            log.error("Batch size must be positive: {}", batchSize);
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
     }
 
     @Override
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        publishSaved(null, saved);
+        return saved;
+    }
+
+    @Override
+    public int createTasks(Collection<Task> tasks) {
+        if (tasks == null) {
+            log.warn("Attempted to create tasks from a null collection.");
+            throw new IllegalArgumentException("Tasks cannot be null");
+        }
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        openBulkWrites.register();
+        int created = taskRepository.saveAll(tasks, batchSize);
+        // One event for the whole batch; per-task events would hold a snapshot of every row until commit
+        eventPublisher.publishEvent(new TaskBulkChangeEvent(TaskChangeEvent.Type.CREATED, created));
+        return created;
     }
 
     @Override
     public Task updateTask(Task task) {
-        return taskRepository.save(task);
+        // Loading first puts the row in the persistence context, so the merge below does not select it again
+        Optional<Task> current = task != null && task.getId() != null
+                ? taskRepository.findById(task.getId())
+                : Optional.empty();
+        TaskSnapshot before = current.map(TaskSnapshot::of).orElse(null);
+        if (task != null && task.getVersion() == null) {
+            // Caller did not say which version it edited: last write wins, as before versioning
+            current.ifPresent(existing -> task.setVersion(existing.getVersion()));
+        }
+        Task saved = taskRepository.save(task);
+        publishSaved(before, saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<Task> patchTask(Long id, TaskPatch patch) {
+        Optional<Task> current = id != null ? taskRepository.findById(id) : Optional.empty();
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        TaskSnapshot before = TaskSnapshot.of(current.get());
+        Optional<Task> patched = taskRepository.patch(id, patch);
+        patched.ifPresent(task -> {
+            if (!before.equals(TaskSnapshot.of(task))) {
+                publishSaved(before, task);
+            }
+        });
+        return patched;
     }
 
     @Override
@@ -49,7 +159,9 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public void deleteTask(Long id) {
+        TaskSnapshot before = id != null ? taskRepository.findById(id).map(TaskSnapshot::of).orElse(null) : null;
         taskRepository.deleteById(id);
+        eventPublisher.publishEvent(TaskChangeEvent.deleted(id, before));
     }
 
     @Override
@@ -61,13 +173,25 @@ public class TaskServiceImpl implements TaskService {
     @Override
     @Transactional(readOnly = true)
     public List<Task> getOverdueTasks() {
-        return taskRepository.findByDueDateBefore(LocalDateTime.now());
+        return getOverdueTasks(LocalDateTime.now());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Task> getUpcomingTasks() {
-        return taskRepository.findByDueDateAfter(LocalDateTime.now());
+        return getUpcomingTasks(LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> getOverdueTasks(LocalDateTime asOf) {
+        return taskRepository.findByDueDateBefore(asOf);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> getUpcomingTasks(LocalDateTime asOf) {
+        return taskRepository.findByDueDateAfter(asOf);
     }
 
     @Override
@@ -88,12 +212,244 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.searchByTitleOrDescription(keyword);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> searchTasks(String keyword, int limit) {
+        return search(keyword, limit, taskRepository::find, taskRepository::findAllById, Task::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSummary> searchTaskSummaries(String keyword, int limit) {
+        return search(keyword, limit, taskRepository::findSummaries, taskRepository::findSummariesById, TaskSummary::id);
+    }
+
+    // Ranked search through the index, or a plain keyword query while the index is not ready
+    private <T> List<T> search(String keyword, int limit, Function<TaskQuery, List<T>> finder,
+                               Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            log.warn("Attempted to search tasks with null or empty keyword.");
+            throw new IllegalArgumentException("Keyword cannot be null or empty");
+        }
+        int max = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+
+        if (!searchIndex.isReady()) {
+            TaskQuery query = new TaskQuery();
+            query.setKeyword(keyword);
+            query.setLimit(max);
+            return finder.apply(query);
+        }
+
+        long[] rankedIds = searchIndex.search(keyword, max);
+        List<Long> ids = new ArrayList<>(rankedIds.length);
+        for (long id : rankedIds) {
+            ids.add(id);
+        }
+        // Load the matches in one query, then restore the relevance order
+        Map<Long, T> byId = new HashMap<>();
+        for (T task : loader.apply(ids)) {
+            byId.put(idOf.apply(task), task);
+        }
+        List<T> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T task = byId.get(id);
+            if (task != null) {
+                results.add(task);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Task> getTaskPage(TaskQuery query, String after, String before) {
+        return page(query, after, before, taskRepository::find, TaskCursor::of);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummary> getTaskSummaryPage(TaskQuery query, String after, String before) {
+        return page(query, after, before, taskRepository::findSummaries, TaskCursor::of);
+    }
+
+    private <T> CursorPage<T> page(TaskQuery query, String after, String before,
+                                   Function<TaskQuery, List<T>> finder, BiFunction<T, TaskSortOrder, TaskCursor> cursorOf) {
+        TaskQuery pageQuery = query != null ? new TaskQuery(query) : new TaskQuery();
+        TaskSortOrder order = pageQuery.getSortOrder() != null ? pageQuery.getSortOrder() : TaskSortOrder.CREATED;
+        int limit = pageQuery.getLimit() <= 0 ? DEFAULT_PAGE_SIZE : Math.min(pageQuery.getLimit(), MAX_PAGE_SIZE);
+
+        TaskCursor cursor = decodeCursor(after, order);
+        boolean backward = false;
+        if (cursor == null) {
+            cursor = decodeCursor(before, order);
+            backward = cursor != null;
+        }
+
+        pageQuery.setSortOrder(order);
+        pageQuery.setCursor(cursor);
+        pageQuery.setBackward(backward);
+        // Fetch one extra row to learn whether another page exists beyond this one
+        pageQuery.setLimit(limit + 1);
+        List<T> rows = new ArrayList<>(finder.apply(pageQuery));
+        boolean more = rows.size() > limit;
+        if (more) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+        }
+        if (backward) {
+            Collections.reverse(rows);
+        }
+        if (rows.isEmpty()) {
+            return new CursorPage<>(rows, null, null, limit);
+        }
+
+        boolean hasNext = backward || more;
+        boolean hasPrevious = backward ? more : cursor != null;
+        String nextCursor = hasNext ? cursorOf.apply(rows.get(rows.size() - 1), order).encode() : null;
+        String prevCursor = hasPrevious ? cursorOf.apply(rows.get(0), order).encode() : null;
+        return new CursorPage<>(rows, nextCursor, prevCursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskFacets getFacets(TaskQuery filter) {
+        return taskRepository.countFacets(filter != null ? filter : new TaskQuery());
+    }
+
+    // Counted over every task the index matches, not only the ranked page; while the index is not
+    // ready the search falls back to a keyword query, and so do its counts
+    @Override
+    @Transactional(readOnly = true)
+    public TaskFacets getSearchFacets(String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            log.warn("Attempted to count search facets with null or empty keyword.");
+            throw new IllegalArgumentException("Keyword cannot be null or empty");
+        }
+        if (!searchIndex.isReady()) {
+            TaskQuery query = new TaskQuery();
+            query.setKeyword(keyword);
+            return taskRepository.countFacets(query);
+        }
+        long[] matches = searchIndex.matches(keyword);
+        List<Long> ids = new ArrayList<>(matches.length);
+        for (long id : matches) {
+            ids.add(id);
+        }
+        return taskRepository.countFacetsById(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int exportTasks(TaskQuery query, Consumer<Task> consumer) {
+        return taskRepository.streamAll(query, consumer);
+    }
+
+    @Override
+    public Optional<TaskChangeSet<Task>> getChanges(String token, int limit) {
+        return getChanges(token, limit, LocalDateTime.now());
+    }
+
+    Optional<TaskChangeSet<Task>> getChanges(String token, int limit, LocalDateTime now) {
+        int max = limit <= 0 ? DEFAULT_CHANGE_LIMIT : Math.min(limit, MAX_CHANGE_LIMIT);
+        LocalDateTime upTo = openBulkWrites.bound(now.minus(CHANGE_SETTLE_TIME));
+        purgeTombstonesIfDue(now);
+
+        SyncToken from = token == null || token.isEmpty() ? SyncToken.start(upTo) : SyncToken.decode(token);
+        if (from.getTombstoneTime().isBefore(now.minus(TOMBSTONE_RETENTION))) {
+            log.info("Sync token {} is older than the tombstone retention", from);
+            return Optional.empty();
+        }
+
+        // One extra row per stream tells whether the client has to come back for more
+        List<Task> changed = new ArrayList<>(
+                taskRepository.findChangedSince(from.getTaskTime(), from.getTaskId(), upTo, max + 1));
+        List<TaskTombstone> tombstones = new ArrayList<>(
+                taskRepository.findTombstonesSince(from.getTombstoneTime(), from.getTombstoneId(), upTo, max + 1));
+        boolean moreChanged = changed.size() > max;
+        boolean moreDeleted = tombstones.size() > max;
+        if (moreChanged) {
+            changed = new ArrayList<>(changed.subList(0, max));
+        }
+        if (moreDeleted) {
+            tombstones = new ArrayList<>(tombstones.subList(0, max));
+        }
+
+        // A stream that was read to the end is caught up to upTo; moving its position there keeps
+        // idle tokens from ageing out of the retention window
+        SyncToken next = new SyncToken(
+                moreChanged ? changed.get(max - 1).getUpdatedAt() : upTo,
+                moreChanged ? changed.get(max - 1).getId() : Long.MAX_VALUE,
+                moreDeleted ? tombstones.get(max - 1).getDeletedAt() : upTo,
+                moreDeleted ? tombstones.get(max - 1).getTaskId() : Long.MAX_VALUE);
+        List<Long> deleted = tombstones.stream().map(TaskTombstone::getTaskId).toList();
+        return Optional.of(new TaskChangeSet<>(changed, deleted, next.encode(), moreChanged || moreDeleted));
+    }
+
+    // Runs at most once per interval, on whichever sync request comes first
+    private void purgeTombstonesIfDue(LocalDateTime now) {
+        long due = nextTombstonePurge.get();
+        long current = System.currentTimeMillis();
+        if (current >= due && nextTombstonePurge.compareAndSet(due, current + TOMBSTONE_PURGE_INTERVAL.toMillis())) {
+            taskRepository.deleteTombstonesBefore(now.minus(TOMBSTONE_RETENTION));
+        }
+    }
+
+    private TaskCursor decodeCursor(String token, TaskSortOrder order) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            TaskCursor cursor = TaskCursor.decode(token);
+            if (order == TaskSortOrder.PRIORITY) {
+                // Priority pages seek on the stored rank, so the cursor must carry a real one
+                TaskPriority.fromRank(cursor.getRank());
+            }
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed page cursor: {}", token);
+            return null;
+        }
+    }
+
+    @Override
+    public List<TaskSuggestion> suggest(String prefix, int limit) {
+        // Typeahead must stay cheap: answer from memory only, never from the database
+        if (prefix == null || prefix.trim().isEmpty() || limit <= 0 || !suggestionIndex.isReady()) {
+            return Collections.emptyList();
+        }
+        int max = Math.min(limit, MAX_SUGGESTIONS);
+        List<TaskSuggestion> suggestions = new ArrayList<>();
+        suggestionIndex.suggestTitles(prefix, max).forEach((text, count) ->
+                suggestions.add(new TaskSuggestion(TaskSuggestion.Type.TITLE, text, count)));
+        suggestionIndex.suggestAssignees(prefix, max).forEach((text, count) ->
+                suggestions.add(new TaskSuggestion(TaskSuggestion.Type.ASSIGNEE, text, count)));
+        return suggestions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getAllAssignees() {
+        if (assigneeIndex.isLoaded()) {
+            return assigneeIndex.getAssignees();
+        }
+        return taskRepository.findDistinctAssignees();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> getAssigneeTaskCounts() {
+        if (assigneeIndex.isLoaded()) {
+            return assigneeIndex.getTaskCounts();
+        }
+        return taskRepository.countTasksByAssignee();
+    }
+
     @Override
     public void markTaskAsCompleted(Long id) {
         Optional<Task> optionalTask = taskRepository.findById(id);
         optionalTask.ifPresent(task -> {
+            TaskSnapshot before = TaskSnapshot.of(task);
             task.setStatus(TaskStatus.COMPLETED);
-            taskRepository.save(task);
+            publishSaved(before, taskRepository.save(task));
         });
     }
 
@@ -101,8 +457,89 @@ public class TaskServiceImpl implements TaskService {
     public void markTaskAsInProgress(Long id) {
         Optional<Task> optionalTask = taskRepository.findById(id);
         optionalTask.ifPresent(task -> {
+            TaskSnapshot before = TaskSnapshot.of(task);
             task.setStatus(TaskStatus.IN_PROGRESS);
-            taskRepository.save(task);
+            publishSaved(before, taskRepository.save(task));
         });
     }
+
+    // Listeners react after commit (see TaskChangeEvent)
+    @Override
+    public int markTasks(Collection<Long> ids, TaskStatus status) {
+        if (ids == null || status == null) {
+            log.warn("Attempted to mark tasks with null ids or status.");
+            throw new IllegalArgumentException("Ids and status cannot be null");
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        openBulkWrites.register();
+        return publishBulk(TaskBulkChangeEvent.statusChanged(status, taskRepository.updateStatusById(ids, status)));
+    }
+
+    @Override
+    public int markTasks(TaskQuery filter, TaskStatus status) {
+        requireFilters(filter);
+        if (status == null) {
+            log.warn("Attempted to mark tasks with a null status.");
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        openBulkWrites.register();
+        return publishBulk(TaskBulkChangeEvent.statusChanged(status, taskRepository.updateStatus(filter, status)));
+    }
+
+    @Override
+    public int deleteTasks(Collection<Long> ids) {
+        if (ids == null) {
+            log.warn("Attempted to delete tasks with null ids.");
+            throw new IllegalArgumentException("Ids cannot be null");
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        openBulkWrites.register();
+        return publishBulk(new TaskBulkChangeEvent(TaskChangeEvent.Type.DELETED, taskRepository.deleteAllById(ids)));
+    }
+
+    @Override
+    public int deleteTasks(TaskQuery filter) {
+        requireFilters(filter);
+        openBulkWrites.register();
+        return publishBulk(new TaskBulkChangeEvent(TaskChangeEvent.Type.DELETED, taskRepository.deleteAll(filter)));
+    }
+
+    @Override
+    public int completeOverdueTasks(String assignee) {
+        TaskQuery filter = new TaskQuery();
+        filter.setAssignee(assignee);
+        filter.setDueTo(LocalDateTime.now());
+        // Cancelled tasks stay cancelled
+        filter.setStatuses(TaskStatisticsService.OPEN_STATUSES);
+        openBulkWrites.register();
+        int completed = taskRepository.updateStatus(filter, TaskStatus.COMPLETED);
+        return publishBulk(TaskBulkChangeEvent.statusChanged(TaskStatus.COMPLETED, completed));
+    }
+
+    // A filter without criteria would touch every task
+    private void requireFilters(TaskQuery filter) {
+        if (filter == null || !filter.hasFilters()) {
+            log.warn("Attempted a bulk operation without filter criteria: {}", filter);
+            throw new IllegalArgumentException("Bulk operations need at least one filter criterion");
+        }
+    }
+
+    private int publishBulk(TaskBulkChangeEvent event) {
+        if (event.getCount() > 0) {
+            eventPublisher.publishEvent(event);
+        }
+        return event.getCount();
+    }
+
+    private void publishSaved(TaskSnapshot before, Task saved) {
+        if (saved == null || saved.getId() == null) {
+            return;
+        }
+        TaskSnapshot after = TaskSnapshot.of(saved);
+        eventPublisher.publishEvent(before == null ? TaskChangeEvent.created(after) : TaskChangeEvent.updated(before, after));
+    }
 }
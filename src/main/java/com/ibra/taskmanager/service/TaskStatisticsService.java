@@ -0,0 +1,209 @@
+package com.ibra.taskmanager.service;
+
+import com.ibra.taskmanager.dto.TaskStatistics;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.event.TaskBulkChangeEvent;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.event.TaskSnapshot;
+import com.ibra.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Task counts for the dashboard: per status, per priority and overdue.
+ *
+ * <p>Counts are loaded with one GROUP BY (status, priority) query and then kept current from committed
+ * task changes with one {@link LongAdder} per (status, priority) pair, so reading them costs a dozen
+ * counter sums whatever the size of the table. Bulk changes, which carry no per-task state, and a
+ * periodic reconciliation re-run the query and correct any drift.</p>
+ *
+ * <p>Whether a task is overdue also depends on the clock, so the overdue count is re-queried every
+ * minute and in between adjusted by changes to tasks due before the time it was queried at.</p>
+ */
+@Service
+public class TaskStatisticsService implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatisticsService.class);
+
+    static final long RECONCILE_MINUTES = 10;
+    static final long OVERDUE_REFRESH_SECONDS = 60;
+    // Statuses counted as open work for the overdue count
+    static final Set<TaskStatus> OPEN_STATUSES = Collections.unmodifiableSet(EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS));
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final TaskRepository taskRepository;
+    // Indexed by status.ordinal() * PRIORITIES.length + priority.ordinal()
+    private final LongAdder[] counts = new LongAdder[STATUSES.length * PRIORITIES.length];
+    private final LongAdder overdue = new LongAdder();
+    private volatile LocalDateTime overdueAsOf;
+    private volatile boolean loaded;
+    private final AtomicBoolean reconcileRequested = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-statistics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public TaskStatisticsService(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcileQuietly();
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, RECONCILE_MINUTES, RECONCILE_MINUTES, TimeUnit.MINUTES);
+        scheduler.scheduleWithFixedDelay(this::refreshOverdueQuietly, OVERDUE_REFRESH_SECONDS, OVERDUE_REFRESH_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    // False until the first load succeeds; callers should not show counts before that
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public TaskStatistics getStatistics() {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : PRIORITIES) {
+            byPriority.put(priority, 0L);
+        }
+        long total = 0;
+        for (TaskStatus status : STATUSES) {
+            long statusTotal = 0;
+            for (TaskPriority priority : PRIORITIES) {
+                long count = counter(status, priority).sum();
+                statusTotal += count;
+                byPriority.merge(priority, count, Long::sum);
+            }
+            byStatus.put(status, statusTotal);
+            total += statusTotal;
+        }
+        return new TaskStatistics(total, byStatus, byPriority, Math.max(0, overdue.sum()), overdueAsOf);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChange(TaskChangeEvent event) {
+        if (!loaded) {
+            return;
+        }
+        LocalDateTime asOf = overdueAsOf;
+        apply(event.getBefore(), -1, asOf);
+        apply(event.getAfter(), 1, asOf);
+    }
+
+    // Bulk changes do not say which tasks they touched; recount in the background instead of on the writer's thread
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(TaskBulkChangeEvent event) {
+        if (event.getCount() == 0 || !reconcileRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(this::reconcileQuietly);
+        } catch (RejectedExecutionException e) {
+            reconcileRequested.set(false);
+        }
+    }
+
+    private void apply(TaskSnapshot task, int delta, LocalDateTime asOf) {
+        if (task == null || task.status() == null || task.priority() == null) {
+            return;
+        }
+        counter(task.status(), task.priority()).add(delta);
+        if (asOf != null && isOverdue(task, asOf)) {
+            overdue.add(delta);
+        }
+    }
+
+    private static boolean isOverdue(TaskSnapshot task, LocalDateTime asOf) {
+        return OPEN_STATUSES.contains(task.status()) && task.dueDate() != null && task.dueDate().isBefore(asOf);
+    }
+
+    private LongAdder counter(TaskStatus status, TaskPriority priority) {
+        return counts[status.ordinal() * PRIORITIES.length + priority.ordinal()];
+    }
+
+    /**
+     * Re-runs the aggregate queries and moves every counter to the database value. Counters are
+     * adjusted by the difference rather than reset, so changes applied while the query runs are kept;
+     * a change committed after the query read the table but applied before the adjustment is counted
+     * twice until the next reconciliation.
+     */
+    synchronized void reconcile(LocalDateTime now) {
+        reconcileRequested.set(false);
+        Map<TaskStatus, Map<TaskPriority, Long>> fresh = taskRepository.countTasksByStatusAndPriority();
+        long drift = 0;
+        for (TaskStatus status : STATUSES) {
+            Map<TaskPriority, Long> byPriority = fresh.getOrDefault(status, Collections.emptyMap());
+            for (TaskPriority priority : PRIORITIES) {
+                LongAdder counter = counter(status, priority);
+                long difference = byPriority.getOrDefault(priority, 0L) - counter.sum();
+                if (difference != 0) {
+                    counter.add(difference);
+                    drift += Math.abs(difference);
+                }
+            }
+        }
+        refreshOverdue(now);
+        if (!loaded) {
+            loaded = true;
+            log.info("Task statistics loaded. Total tasks: {}", getStatistics().total());
+        } else if (drift > 0) {
+            log.info("Task statistics reconciled; corrected a drift of {} tasks", drift);
+        }
+    }
+
+    synchronized void refreshOverdue(LocalDateTime now) {
+        long count = taskRepository.countByStatusInAndDueDateBefore(OPEN_STATUSES, now);
+        overdueAsOf = now;
+        overdue.add(count - overdue.sum());
+    }
+
+    // Scheduled tasks must not throw, or they are cancelled
+    private void reconcileQuietly() {
+        try {
+            reconcile(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Could not reconcile task statistics.", e);
+        }
+    }
+
+    private void refreshOverdueQuietly() {
+        if (!loaded) {
+            return;
+        }
+        try {
+            refreshOverdue(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the overdue task count.", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+-- Schema as hibernate.hbm2ddl.auto=update left it before migrations were introduced.
+--
+-- Every statement is idempotent: databases created by Hibernate are baselined at version 0 and run
+-- this script too, which only fills in what an older schema may be missing.
+
+-- Task ids are drawn from tasks_id_seq by Hibernate's pooled optimizer in blocks of 50
+-- (Task.ID_ALLOCATION_SIZE). Databases created while tasks.id was an IDENTITY column already own a
+-- sequence of this name that advances by 1; Hibernate refuses to start while the increments differ.
+CREATE SEQUENCE IF NOT EXISTS tasks_id_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT       NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(500),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    due_date    TIMESTAMP(6) NOT NULL,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED')),
+    priority    VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    assignee    VARCHAR(100),
+    version     BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+-- Added after the first release; the defaults fill existing rows
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Delta sync reads changes in (updated_at, id) order
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at ON tasks (updated_at, id);
+
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    task_id    BIGINT       NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (task_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_deleted_at ON task_tombstones (deleted_at, task_id);
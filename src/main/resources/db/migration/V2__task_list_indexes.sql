@@ -0,0 +1,15 @@
+-- Indexes for the task list filters and keyset pages. Every page ordering ends with id as the
+-- tie-breaker (see TaskRepositoryImpl.sortKeys), so the sort indexes carry it too and a page seek is a
+-- single index range scan.
+
+-- Status filter sorted by due date (findByStatus, the list's status filter, overdue counts)
+CREATE INDEX IF NOT EXISTS idx_tasks_status_due_date ON tasks (status, due_date, id);
+
+-- Assignee filter, alone or with a status
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_status ON tasks (assignee, status);
+
+-- Due date ranges (findByDueDateBefore/After) and the unfiltered due date orderings
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date, id);
+
+-- The default CREATED ordering
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at ON tasks (created_at, id);
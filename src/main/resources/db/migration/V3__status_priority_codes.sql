@@ -0,0 +1,28 @@
+-- Status and priority become SMALLINT codes (see TaskStatusConverter and TaskPriorityConverter).
+-- Priority is stored as its rank, so ORDER BY priority DESC is HIGH > MEDIUM > LOW and the priority
+-- ordering no longer needs a CASE expression that no index can serve.
+--
+-- Both columns are converted in one ALTER TABLE, which rewrites the table and its indexes once. A value
+-- without a code becomes NULL and fails the NOT NULL constraint, rolling the migration back.
+
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS tasks_status_check;
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS tasks_priority_check;
+
+ALTER TABLE tasks
+    ALTER COLUMN status TYPE SMALLINT USING CASE status
+        WHEN 'PENDING' THEN 1
+        WHEN 'IN_PROGRESS' THEN 2
+        WHEN 'COMPLETED' THEN 3
+        WHEN 'CANCELLED' THEN 4
+    END,
+    ALTER COLUMN priority TYPE SMALLINT USING CASE priority
+        WHEN 'LOW' THEN 1
+        WHEN 'MEDIUM' THEN 2
+        WHEN 'HIGH' THEN 3
+    END;
+
+ALTER TABLE tasks ADD CONSTRAINT tasks_status_check CHECK (status BETWEEN 1 AND 4);
+ALTER TABLE tasks ADD CONSTRAINT tasks_priority_check CHECK (priority BETWEEN 1 AND 3);
+
+-- The PRIORITY ordering (priority DESC, due_date, id), including its top-N "most urgent" first page
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_due_date ON tasks (priority DESC, due_date, id);
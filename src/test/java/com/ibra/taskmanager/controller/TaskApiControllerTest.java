@@ -0,0 +1,216 @@
+package com.ibra.taskmanager.controller;
+
+import com.ibra.taskmanager.dto.CursorPage;
+import com.ibra.taskmanager.dto.TaskChangeSet;
+import com.ibra.taskmanager.dto.TaskPatch;
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.repository.TaskQuery;
+import com.ibra.taskmanager.service.QueryResultCache;
+import com.ibra.taskmanager.service.TaskService;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class TaskApiControllerTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private QueryResultCache queryResultCache;
+    private MockMvc mockMvc;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        queryResultCache = new QueryResultCache();
+        // No Expression Language implementation on the test classpath, so use the parameter interpolator
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.setMessageInterpolator(new ParameterMessageInterpolator());
+        validator.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(new TaskApiController(taskService, queryResultCache))
+                .setValidator(validator)
+                .build();
+
+        task = new Task("Task 1", null, LocalDateTime.now().plusDays(7));
+        task.setId(1L);
+        task.setPriority(TaskPriority.HIGH);
+        task.setVersion(3L);
+        when(taskService.getTaskPage(any(TaskQuery.class), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(task), "next", null, 20));
+    }
+
+    private String etag() {
+        return "\"" + queryResultCache.getDataVersion() + "\"";
+    }
+
+    @Test
+    void testGetTasks() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("status", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag()))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().string(containsString("\"items\":[{\"id\":1,\"title\":\"Task 1\",\"status\":\"PENDING\",\"priority\":\"HIGH\"")))
+                .andExpect(content().string(containsString("\"nextCursor\":\"next\"")))
+                // Null fields are omitted
+                .andExpect(content().string(not(containsString("\"description\""))));
+
+        verify(taskService).getTaskPage(argThat(q -> q.getStatus() == TaskStatus.PENDING), isNull(), isNull());
+    }
+
+    @Test
+    void testGetTasks_NotModified() throws Exception {
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag()))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", "\"other\", W/" + etag()))
+                .andExpect(status().isNotModified());
+
+        verify(taskService, never()).getTaskPage(any(), any(), any());
+    }
+
+    @Test
+    void testGetTasks_ModifiedAfterWrite() throws Exception {
+        String before = etag();
+        queryResultCache.invalidate();
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", before))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag()));
+    }
+
+    @Test
+    void testGetOverdueTasks_TagIncludesMinute() throws Exception {
+        when(taskService.getOverdueTasks(any(LocalDateTime.class))).thenReturn(List.of(task));
+
+        mockMvc.perform(get("/api/tasks/overdue"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", containsString(queryResultCache.getDataVersion() + "-")));
+
+        verify(taskService).getOverdueTasks(argThat((LocalDateTime asOf) -> asOf.getSecond() == 0 && asOf.getNano() == 0));
+    }
+
+    @Test
+    void testGetChanges() throws Exception {
+        when(taskService.getChanges(null, TaskService.DEFAULT_CHANGE_LIMIT))
+                .thenReturn(Optional.of(new TaskChangeSet<>(List.of(task), List.of(5L), "tok", false)));
+
+        mockMvc.perform(get("/api/tasks/changes"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(content().string(containsString("\"deleted\":[5],\"token\":\"tok\",\"more\":false")))
+                .andExpect(content().string(containsString("\"updated\":[{\"id\":1,")));
+    }
+
+    @Test
+    void testGetChanges_ExpiredOrMalformedToken() throws Exception {
+        when(taskService.getChanges("old", 100)).thenReturn(Optional.empty());
+        when(taskService.getChanges("bad", 100)).thenThrow(new IllegalArgumentException("Malformed sync token: bad"));
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", "old").param("limit", "100"))
+                .andExpect(status().isGone());
+        mockMvc.perform(get("/api/tasks/changes").param("since", "bad").param("limit", "100"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetTask() throws Exception {
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(task));
+        when(taskService.getTaskById(99L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"version\":3")));
+        mockMvc.perform(get("/api/tasks/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCreateTask() throws Exception {
+        when(taskService.createTask(any(Task.class))).thenAnswer(invocation -> {
+            Task created = invocation.getArgument(0);
+            created.setId(42L);
+            return created;
+        });
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":7,\"title\":\"New task\",\"dueDate\":\"2030-01-01T09:00:00\",\"status\":\"PENDING\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/tasks/42"))
+                .andExpect(content().string(containsString("\"id\":42")));
+
+        verify(taskService).createTask(argThat(t -> t.getVersion() == null && "New task".equals(t.getTitle())));
+    }
+
+    @Test
+    void testCreateTask_Invalid() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"New task\",\"status\":\"PENDING\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("{\"errors\":{\"dueDate\":\"Due date is required\"}}"));
+
+        verify(taskService, never()).createTask(any());
+    }
+
+    @Test
+    void testPatchTask_VersionConflict() throws Exception {
+        when(taskService.patchTask(eq(1L), any(TaskPatch.class))).thenThrow(new OptimisticLockException("stale"));
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":2,\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testDeleteTask() throws Exception {
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(task));
+        when(taskService.getTaskById(99L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(delete("/api/tasks/1")).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/tasks/99")).andExpect(status().isNotFound());
+
+        verify(taskService).deleteTask(1L);
+        verify(taskService, never()).deleteTask(99L);
+    }
+
+    @Test
+    void testMatches() {
+        assertTrue(TaskApiController.matches("*", "\"a-1\""));
+        assertTrue(TaskApiController.matches("W/\"a-1\"", "\"a-1\""));
+        assertFalse(TaskApiController.matches("\"a-0\"", "\"a-1\""));
+        assertFalse(TaskApiController.matches(null, "\"a-1\""));
+    }
+}
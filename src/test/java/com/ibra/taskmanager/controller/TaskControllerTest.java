@@ -1,9 +1,21 @@
 package com.ibra.taskmanager.controller;
 
+import com.ibra.taskmanager.dto.CursorPage;
+import com.ibra.taskmanager.dto.TaskFacets;
+import com.ibra.taskmanager.dto.TaskImportResult;
+import com.ibra.taskmanager.dto.TaskPatch;
+import com.ibra.taskmanager.dto.TaskSuggestion;
+import com.ibra.taskmanager.dto.TaskSummary;
 import com.ibra.taskmanager.entity.Task;
 import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskSortOrder;
 import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.format.TaskReader;
+import com.ibra.taskmanager.repository.TaskQuery;
+import com.ibra.taskmanager.service.TaskImportService;
 import com.ibra.taskmanager.service.TaskService;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -11,20 +23,31 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +56,9 @@ public class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskImportService taskImportService;
+
     @InjectMocks
     private TaskController taskController;
 
@@ -40,11 +66,19 @@ public class TaskControllerTest {
 
     private Task task1;
     private Task task2;
+    private TaskSummary summary1;
+    private TaskSummary summary2;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(taskController).build();
+        // No Expression Language implementation on the test classpath, so use the parameter interpolator
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.setMessageInterpolator(new ParameterMessageInterpolator());
+        validator.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController)
+                .setValidator(validator)
+                .build();
 
         task1 = new Task();
         task1.setId(1L);
@@ -59,47 +93,73 @@ public class TaskControllerTest {
         task2.setStatus(TaskStatus.COMPLETED);
         task2.setPriority(TaskPriority.HIGH);
         task2.setDueDate(LocalDateTime.now().plusDays(14));
+
+        summary1 = new TaskSummary(1L, "Task 1", null, TaskStatus.PENDING, TaskPriority.MEDIUM, "John Doe",
+                task1.getDueDate(), null);
+        summary2 = new TaskSummary(2L, "Task 2", null, TaskStatus.COMPLETED, TaskPriority.HIGH, "Jane Smith",
+                task2.getDueDate(), null);
     }
 
 
     @Test
     void testGetAllTasks_StatusFilter() throws Exception {
-        when(taskService.getTasksByStatus(TaskStatus.COMPLETED)).thenReturn(Collections.singletonList(task2));
+        when(taskService.getTaskSummaryPage(argThat(q -> q.getStatus() == TaskStatus.COMPLETED && q.getSortOrder() == TaskSortOrder.CREATED), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(Collections.singletonList(summary2), null, null, 20));
 
         mockMvc.perform(get("/tasks").param("status", TaskStatus.COMPLETED.toString()))
                 .andExpect(status().isOk())
                 .andExpect(view().name("task/list"))
-                .andExpect(model().attribute("tasks", Collections.singletonList(task2)))
+                .andExpect(model().attribute("tasks", Collections.singletonList(summary2)))
                 .andExpect(model().attribute("selectedStatus", TaskStatus.COMPLETED));
     }
 
     @Test
     void testGetAllTasks_PriorityFilter() throws Exception {
-        when(taskService.getAllTasks()).thenReturn(Arrays.asList(task1, task2));
+        when(taskService.getTaskSummaryPage(argThat(q -> q.getPriority() == TaskPriority.HIGH), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(Collections.singletonList(summary2), null, null, 20));
 
         mockMvc.perform(get("/tasks").param("priority", TaskPriority.HIGH.toString()))
                 .andExpect(status().isOk())
                 .andExpect(view().name("task/list"))
-                .andExpect(model().attributeExists("tasks"))
+                .andExpect(model().attribute("tasks", Collections.singletonList(summary2)))
                 .andExpect(model().attribute("selectedPriority", TaskPriority.HIGH));
     }
 
     @Test
     void testGetAllTasks_AssigneeFilter() throws Exception {
-        task1.setAssignee("John Doe");
-        task2.setAssignee("Jane Smith");
-        when(taskService.getAllTasks()).thenReturn(Arrays.asList(task1, task2));
+        when(taskService.getTaskSummaryPage(argThat(q -> "John Doe".equals(q.getAssignee())), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(Collections.singletonList(summary1), null, null, 20));
 
         mockMvc.perform(get("/tasks").param("assignee", "John Doe"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("task/list"))
-                .andExpect(model().attributeExists("tasks"))
+                .andExpect(model().attribute("tasks", Collections.singletonList(summary1)))
                 .andExpect(model().attribute("selectedAssignee", "John Doe"));
     }
 
+    @Test
+    void testGetAllTasks_CombinedFiltersUseSingleQuery() throws Exception {
+        when(taskService.getTaskSummaryPage(argThat(q -> q.getStatus() == TaskStatus.PENDING
+                && q.getPriority() == TaskPriority.MEDIUM
+                && "John Doe".equals(q.getAssignee())
+                && q.getSortOrder() == TaskSortOrder.PRIORITY), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(Collections.singletonList(summary1), null, null, 20));
+
+        mockMvc.perform(get("/tasks")
+                        .param("status", TaskStatus.PENDING.toString())
+                        .param("priority", TaskPriority.MEDIUM.toString())
+                        .param("assignee", "John Doe")
+                        .param("sort", "priority"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("tasks", Collections.singletonList(summary1)));
+
+        verify(taskService, never()).getTasksByStatus(any(TaskStatus.class));
+    }
+
     @Test
     void testGetAllTasks_SortByDueDate() throws Exception {
-        when(taskService.getAllTasks()).thenReturn(Arrays.asList(task1, task2));
+        when(taskService.getTaskSummaryPage(argThat(q -> q.getSortOrder() == TaskSortOrder.DUE_DATE_ASC), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(Arrays.asList(summary1, summary2), null, null, 20));
 
         mockMvc.perform(get("/tasks").param("sort", "dueDate"))
                 .andExpect(status().isOk())
@@ -110,7 +170,8 @@ public class TaskControllerTest {
 
     @Test
     void testGetAllTasks_SortByDueDateDesc() throws Exception {
-        when(taskService.getAllTasks()).thenReturn(Arrays.asList(task1, task2));
+        when(taskService.getTaskSummaryPage(argThat(q -> q.getSortOrder() == TaskSortOrder.DUE_DATE_DESC), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(Arrays.asList(summary1, summary2), null, null, 20));
 
         mockMvc.perform(get("/tasks").param("sort", "dueDateDesc"))
                 .andExpect(status().isOk())
@@ -121,7 +182,8 @@ public class TaskControllerTest {
 
     @Test
     void testGetAllTasks_SortByPriority() throws Exception {
-        when(taskService.getAllTasks()).thenReturn(Arrays.asList(task1, task2));
+        when(taskService.getTaskSummaryPage(argThat(q -> q.getSortOrder() == TaskSortOrder.PRIORITY), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(Arrays.asList(summary1, summary2), null, null, 20));
 
         mockMvc.perform(get("/tasks").param("sort", "priority"))
                 .andExpect(status().isOk())
@@ -130,17 +192,87 @@ public class TaskControllerTest {
                 .andExpect(model().attribute("sort", "priority"));
     }
 
+    @Test
+    void testGetAllTasks_NextPage() throws Exception {
+        when(taskService.getTaskSummaryPage(argThat(q -> q.getSortOrder() == TaskSortOrder.DUE_DATE_ASC && q.getLimit() == 2), eq("cursor-a"), isNull()))
+                .thenReturn(new CursorPage<>(Arrays.asList(summary1, summary2), "cursor-b", "cursor-c", 2));
+
+        mockMvc.perform(get("/tasks").param("sort", "dueDate").param("after", "cursor-a").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("task/list"))
+                .andExpect(model().attribute("tasks", Arrays.asList(summary1, summary2)))
+                .andExpect(model().attribute("nextCursor", "cursor-b"))
+                .andExpect(model().attribute("prevCursor", "cursor-c"))
+                .andExpect(model().attribute("size", 2));
+    }
+
     @Test
     void testGetAllTasks_Search() throws Exception {
-        when(taskService.searchTasks("Task")).thenReturn(Arrays.asList(task1, task2));
+        when(taskService.searchTaskSummaries("Task", TaskService.DEFAULT_PAGE_SIZE)).thenReturn(Arrays.asList(summary1, summary2));
 
         mockMvc.perform(get("/tasks").param("search", "Task"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("task/list"))
-                .andExpect(model().attribute("tasks", Arrays.asList(task1, task2)))
+                .andExpect(model().attribute("tasks", Arrays.asList(summary1, summary2)))
                 .andExpect(model().attribute("search", "Task"));
     }
 
+    @Test
+    void testGetAllTasks_SearchWithFilterUsesQuery() throws Exception {
+        when(taskService.getTaskSummaryPage(argThat(q -> "Task".equals(q.getKeyword()) && q.getStatus() == TaskStatus.PENDING),
+                isNull(), isNull()))
+                .thenReturn(new CursorPage<>(Collections.singletonList(summary1), null, null, 20));
+
+        mockMvc.perform(get("/tasks").param("search", "Task").param("status", TaskStatus.PENDING.toString()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("tasks", Collections.singletonList(summary1)))
+                .andExpect(model().attribute("search", "Task"));
+
+        verify(taskService, never()).searchTaskSummaries(anyString(), anyInt());
+    }
+
+    @Test
+    void testGetAllTasks_FacetsUseCurrentFilterAndSearch() throws Exception {
+        when(taskService.getTaskSummaryPage(any(TaskQuery.class), isNull(), isNull()))
+                .thenReturn(new CursorPage<>(Collections.singletonList(summary1), null, null, 20));
+        TaskFacets facets = new TaskFacets(1, Map.of(TaskStatus.PENDING, 1L), Map.of(TaskPriority.HIGH, 1L),
+                Map.of("John Doe", 1L));
+        when(taskService.getFacets(argThat(q -> "Task".equals(q.getKeyword()) && q.getStatus() == TaskStatus.PENDING)))
+                .thenReturn(facets);
+
+        mockMvc.perform(get("/tasks").param("search", "Task").param("status", TaskStatus.PENDING.toString()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("facets", facets));
+    }
+
+    @Test
+    void testGetAllTasks_SearchFacetsCountEveryMatch() throws Exception {
+        when(taskService.searchTaskSummaries("billing invoice", 1)).thenReturn(Collections.singletonList(summary1));
+        // More matches than the single result on the page
+        TaskFacets facets = new TaskFacets(40, Map.of(TaskStatus.PENDING, 40L), Map.of(TaskPriority.HIGH, 40L),
+                Map.of("John Doe", 40L));
+        when(taskService.getSearchFacets("billing invoice")).thenReturn(facets);
+
+        mockMvc.perform(get("/tasks").param("search", "billing invoice").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("facetsOfResults", true))
+                .andExpect(model().attribute("facets", facets));
+
+        verify(taskService, never()).getFacets(any());
+    }
+
+    @Test
+    void testSuggest() throws Exception {
+        when(taskService.suggest("rel", 5)).thenReturn(Collections.singletonList(
+                new TaskSuggestion(TaskSuggestion.Type.TITLE, "Write release notes", 1)));
+
+        mockMvc.perform(get("/tasks/suggest").param("q", "rel"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(
+                        "[{\"type\":\"TITLE\",\"text\":\"Write release notes\",\"count\":1}]"));
+    }
+
     @Test
     void testShowCreateForm() throws Exception {
         mockMvc.perform(get("/tasks/new"))
@@ -210,6 +342,130 @@ public class TaskControllerTest {
     }
 
 
+    @Test
+    void testUpdateTask_ConcurrentChangeRedirectsToEditForm() throws Exception {
+        when(taskService.updateTask(any(Task.class))).thenThrow(new OptimisticLockException("stale"));
+
+        mockMvc.perform(post("/tasks/1")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("title", "Updated Task")
+                        .param("dueDate", LocalDateTime.now().plusDays(14).toString())
+                        .param("status", TaskStatus.PENDING.toString())
+                        .param("priority", TaskPriority.HIGH.toString())
+                        .param("version", "3"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/tasks/1/edit"))
+                .andExpect(flash().attributeExists("message"));
+    }
+
+    @Test
+    void testPatchTask() throws Exception {
+        when(taskService.patchTask(eq(1L), argThat(p -> p != null && p.getVersion() == 3L
+                && p.getStatus() == TaskStatus.COMPLETED && p.getTitle() == null))).thenReturn(Optional.of(task1));
+
+        mockMvc.perform(patch("/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":3,\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testPatchTask_VersionConflict() throws Exception {
+        when(taskService.patchTask(eq(1L), any(TaskPatch.class))).thenThrow(new OptimisticLockException("stale"));
+
+        mockMvc.perform(patch("/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":2,\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testPatchTask_NotFound() throws Exception {
+        when(taskService.patchTask(eq(99L), any(TaskPatch.class))).thenReturn(Optional.empty());
+
+        mockMvc.perform(patch("/tasks/99")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":0,\"title\":\"New title\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testPatchTask_MissingVersion() throws Exception {
+        mockMvc.perform(patch("/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).patchTask(anyLong(), any(TaskPatch.class));
+    }
+
+    @Test
+    void testExportTasks_Ndjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(1);
+            consumer.accept(task1);
+            consumer.accept(task2);
+            return 2;
+        }).when(taskService).exportTasks(argThat(q -> q.getStatus() == TaskStatus.PENDING), any());
+
+        MvcResult result = mockMvc.perform(get("/tasks/export")
+                        .param("format", "ndjson")
+                        .param("status", "PENDING"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.ndjson\""))
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string(containsString("\"title\":\"Task 1\"")))
+                .andExpect(content().string(containsString("\"title\":\"Task 2\"")));
+    }
+
+    @Test
+    void testExportTasks_UnknownFormat() throws Exception {
+        mockMvc.perform(get("/tasks/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).exportTasks(any(), any());
+    }
+
+    @Test
+    void testImportTasks() throws Exception {
+        TaskImportResult result = new TaskImportResult(2, 1, 1,
+                List.of(new TaskImportResult.LineError(3, "Due date is required")), true, null, 5, 200);
+        when(taskImportService.importTasks(any(TaskReader.class))).thenReturn(result);
+
+        mockMvc.perform(post("/tasks/import")
+                        .contentType("text/csv")
+                        .content("title,dueDate\nTask one,2024-05-01\nTask two,\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"imported\":1")))
+                .andExpect(content().string(containsString("{\"line\":3,\"message\":\"Due date is required\"}")));
+    }
+
+    @Test
+    void testImportTasks_Incomplete() throws Exception {
+        TaskImportResult result = new TaskImportResult(0, 0, 0, List.of(), false,
+                "CSV header must include the title and dueDate columns", 1, 0);
+        when(taskImportService.importTasks(any(TaskReader.class))).thenReturn(result);
+
+        mockMvc.perform(post("/tasks/import")
+                        .contentType("application/x-ndjson")
+                        .content("oops"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testImportTasks_UnsupportedContentType() throws Exception {
+        mockMvc.perform(post("/tasks/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(taskImportService, never()).importTasks(any());
+    }
+
     @Test
     void testViewTask_TaskFound() throws Exception {
         when(taskService.getTaskById(1L)).thenReturn(Optional.of(task1));
@@ -264,4 +520,46 @@ public class TaskControllerTest {
 
         verify(taskService).markTaskAsInProgress(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBulkComplete() throws Exception {
+        when(taskService.markTasks(Arrays.asList(1L, 2L), TaskStatus.COMPLETED)).thenReturn(2);
+
+        mockMvc.perform(post("/tasks/bulk").param("ids", "1", "2").param("action", "complete"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/tasks"))
+                .andExpect(flash().attribute("message", "2 task(s) marked as completed!"));
+
+        verify(taskService).markTasks(Arrays.asList(1L, 2L), TaskStatus.COMPLETED);
+    }
+
+    @Test
+    void testBulkDelete() throws Exception {
+        when(taskService.deleteTasks(Arrays.asList(1L, 2L))).thenReturn(2);
+
+        mockMvc.perform(post("/tasks/bulk").param("ids", "1", "2").param("action", "delete"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("message", "2 task(s) deleted successfully!"));
+
+        verify(taskService).deleteTasks(Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    void testBulkActionWithoutSelection() throws Exception {
+        mockMvc.perform(post("/tasks/bulk").param("action", "complete"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("message", "No tasks selected."));
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void testCompleteOverdueForAssignee() throws Exception {
+        when(taskService.completeOverdueTasks("alice")).thenReturn(3);
+
+        mockMvc.perform(post("/tasks/bulk/complete-overdue").param("assignee", "alice"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/tasks?assignee=alice"))
+                .andExpect(flash().attribute("message", "3 overdue task(s) marked as completed!"));
+    }
+}
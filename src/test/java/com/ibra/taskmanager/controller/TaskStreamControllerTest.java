@@ -0,0 +1,102 @@
+package com.ibra.taskmanager.controller;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.event.TaskSnapshot;
+import com.ibra.taskmanager.push.TaskChangeBroadcaster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class TaskStreamControllerTest {
+
+    private TaskChangeBroadcaster broadcaster;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new TaskChangeBroadcaster();
+        mockMvc = MockMvcBuilders.standaloneSetup(new TaskStreamController(broadcaster)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    // Events are written by the broadcaster's sender threads, so wait for them to show up
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+
+    private static TaskSnapshot snapshot(long id, TaskStatus status, String assignee) {
+        Task task = new Task("Task " + id, null, LocalDateTime.now().plusDays(1));
+        task.setId(id);
+        task.setStatus(status);
+        task.setAssignee(assignee);
+        return TaskSnapshot.of(task);
+    }
+
+    @Test
+    void testStreamPushesMatchingChanges() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream")
+                        .param("status", "PENDING")
+                        .param("assignee", "alice"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andReturn();
+        MockHttpServletResponse response = result.getResponse();
+        assertTrue(response.getContentType().startsWith("text/event-stream"));
+        assertTrue(awaitContent(response, "event:connected").contains("retry:"));
+        assertEquals(1, broadcaster.getSubscriberCount());
+
+        broadcaster.onTaskChange(TaskChangeEvent.created(snapshot(1L, TaskStatus.PENDING, "bob")));
+        broadcaster.onTaskChange(TaskChangeEvent.created(snapshot(2L, TaskStatus.PENDING, "alice")));
+        // Leaving the filtered view is delivered too
+        broadcaster.onTaskChange(TaskChangeEvent.updated(snapshot(2L, TaskStatus.PENDING, "alice"),
+                snapshot(2L, TaskStatus.COMPLETED, "alice")));
+
+        String content = awaitContent(response, "\"type\":\"UPDATED\"");
+        assertTrue(content.contains("event:task\ndata:{\"type\":\"CREATED\",\"id\":2"));
+        assertTrue(content.contains("\"status\":\"COMPLETED\""));
+        assertFalse(content.contains("\"id\":1"));
+    }
+
+    @Test
+    void testStreamRejectedWhenFull() throws Exception {
+        TaskChangeBroadcaster full = new TaskChangeBroadcaster() {
+            @Override
+            public SseEmitter subscribe(TaskStatus status, String assignee) {
+                throw new IllegalStateException("Too many open task streams");
+            }
+        };
+        try {
+            MockMvcBuilders.standaloneSetup(new TaskStreamController(full)).build()
+                    .perform(get("/api/tasks/stream"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "30"));
+        } finally {
+            full.destroy();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ibra.taskmanager.dataset;
+
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+import org.apache.commons.dbcp2.BasicDataSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Command line entry point: generates tasks and loads them into the database the application is
+ * configured for (database.properties, with -Djdbc.url=... and friends taking precedence, as in
+ * AppConfig). The schema must exist; run mvn flyway:migrate first. Run with
+ *
+ * <pre>mvn -P dataset -DskipTests verify -Ddataset.args="--count 1000000"</pre>
+ *
+ * <p>Options: --count N, --seed N, --statuses "pending=30,in_progress=20,completed=40,cancelled=10",
+ * --priorities "low=30,medium=50,high=20", --assignees N, --assignee-skew X, --unassigned X (0 to 1),
+ * --due-spread-days N, --reference 2030-01-01T00:00 and --chunk-size N (rows per transaction).</p>
+ */
+public class DatasetGenerator {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        long count = Long.parseLong(options.getOrDefault("count", "1000000"));
+
+        DatasetSpec spec = new DatasetSpec();
+        if (options.containsKey("seed")) {
+            spec.setSeed(Long.parseLong(options.get("seed")));
+        }
+        if (options.containsKey("statuses")) {
+            spec.setStatusWeights(parseWeights(options.get("statuses"), TaskStatus.class, TaskStatus::valueOf));
+        }
+        if (options.containsKey("priorities")) {
+            spec.setPriorityWeights(parseWeights(options.get("priorities"), TaskPriority.class, TaskPriority::valueOf));
+        }
+        if (options.containsKey("assignees")) {
+            spec.setAssignees(Integer.parseInt(options.get("assignees")));
+        }
+        if (options.containsKey("assignee-skew")) {
+            spec.setAssigneeSkew(Double.parseDouble(options.get("assignee-skew")));
+        }
+        if (options.containsKey("unassigned")) {
+            spec.setUnassignedFraction(Double.parseDouble(options.get("unassigned")));
+        }
+        if (options.containsKey("due-spread-days")) {
+            spec.setDueDateSpreadDays(Integer.parseInt(options.get("due-spread-days")));
+        }
+        if (options.containsKey("reference")) {
+            spec.setReferenceTime(LocalDateTime.parse(options.get("reference")));
+        }
+
+        try (BasicDataSource dataSource = dataSource()) {
+            TaskLoader loader = new TaskLoader(dataSource);
+            if (options.containsKey("chunk-size")) {
+                loader.setChunkSize(Integer.parseInt(options.get("chunk-size")));
+            }
+            loader.load(new TaskGenerator(spec), count);
+        }
+    }
+
+    private static BasicDataSource dataSource() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = DatasetGenerator.class.getResourceAsStream("/database.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        properties.putAll(System.getProperties());
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(properties.getProperty("jdbc.driverClassName"));
+        dataSource.setUrl(properties.getProperty("jdbc.url"));
+        dataSource.setUsername(properties.getProperty("jdbc.username"));
+        dataSource.setPassword(properties.getProperty("jdbc.password"));
+        // The loader unwraps the pooled connection to reach PostgreSQL's COPY API
+        dataSource.setAccessToUnderlyingConnectionAllowed(true);
+        return dataSource;
+    }
+
+    // Parses "name=weight" pairs such as "pending=30,completed=70"
+    static <E extends Enum<E>> Map<E, Integer> parseWeights(String value, Class<E> type, Function<String, E> parser) {
+        Map<E, Integer> weights = new EnumMap<>(type);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed weight: " + entry);
+            }
+            weights.put(parser.apply(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    // Options are "--name value" pairs
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value but found: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,122 @@
+package com.ibra.taskmanager.dataset;
+
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The shape of a generated data set. The defaults describe a team tracker in steady state: half of
+ * the tasks closed, a fifth unassigned, a few assignees holding most of the work and due dates
+ * within a few weeks of the reference time.
+ *
+ * <p>Two generators built from equal specs produce the same tasks, so the reference time is part of
+ * the spec rather than read from the clock; it defaults to the start of the current day.</p>
+ */
+public class DatasetSpec {
+
+    private long seed = 42;
+    private final Map<TaskStatus, Integer> statusWeights = new EnumMap<>(TaskStatus.class);
+    private final Map<TaskPriority, Integer> priorityWeights = new EnumMap<>(TaskPriority.class);
+    private int assignees = 200;
+    // Zipf exponent of assignee popularity: 0 is uniform, 1 gives the busiest assignee about
+    // a sixth of the assigned tasks out of 200
+    private double assigneeSkew = 1.0;
+    private double unassignedFraction = 0.2;
+    // Standard deviation of due dates around the reference time
+    private int dueDateSpreadDays = 30;
+    private LocalDateTime referenceTime = LocalDate.now().atStartOfDay();
+
+    public DatasetSpec() {
+        statusWeights.put(TaskStatus.PENDING, 30);
+        statusWeights.put(TaskStatus.IN_PROGRESS, 20);
+        statusWeights.put(TaskStatus.COMPLETED, 40);
+        statusWeights.put(TaskStatus.CANCELLED, 10);
+        priorityWeights.put(TaskPriority.LOW, 30);
+        priorityWeights.put(TaskPriority.MEDIUM, 50);
+        priorityWeights.put(TaskPriority.HIGH, 20);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public Map<TaskStatus, Integer> getStatusWeights() {
+        return statusWeights;
+    }
+
+    // Replaces the status mix; statuses left out are not generated
+    public void setStatusWeights(Map<TaskStatus, Integer> weights) {
+        statusWeights.clear();
+        statusWeights.putAll(weights);
+    }
+
+    public Map<TaskPriority, Integer> getPriorityWeights() {
+        return priorityWeights;
+    }
+
+    // Replaces the priority mix; priorities left out are not generated
+    public void setPriorityWeights(Map<TaskPriority, Integer> weights) {
+        priorityWeights.clear();
+        priorityWeights.putAll(weights);
+    }
+
+    public int getAssignees() {
+        return assignees;
+    }
+
+    public void setAssignees(int assignees) {
+        if (assignees < 1) {
+            throw new IllegalArgumentException("At least one assignee is required");
+        }
+        this.assignees = assignees;
+    }
+
+    public double getAssigneeSkew() {
+        return assigneeSkew;
+    }
+
+    public void setAssigneeSkew(double assigneeSkew) {
+        if (assigneeSkew < 0) {
+            throw new IllegalArgumentException("Assignee skew cannot be negative");
+        }
+        this.assigneeSkew = assigneeSkew;
+    }
+
+    public double getUnassignedFraction() {
+        return unassignedFraction;
+    }
+
+    public void setUnassignedFraction(double unassignedFraction) {
+        if (unassignedFraction < 0 || unassignedFraction > 1) {
+            throw new IllegalArgumentException("Unassigned fraction must be between 0 and 1");
+        }
+        this.unassignedFraction = unassignedFraction;
+    }
+
+    public int getDueDateSpreadDays() {
+        return dueDateSpreadDays;
+    }
+
+    public void setDueDateSpreadDays(int dueDateSpreadDays) {
+        if (dueDateSpreadDays < 1) {
+            throw new IllegalArgumentException("Due date spread must be at least one day");
+        }
+        this.dueDateSpreadDays = dueDateSpreadDays;
+    }
+
+    public LocalDateTime getReferenceTime() {
+        return referenceTime;
+    }
+
+    public void setReferenceTime(LocalDateTime referenceTime) {
+        this.referenceTime = referenceTime;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ibra.taskmanager.dataset;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates tasks following a {@link DatasetSpec}, one at a time so any number can be streamed
+ * without holding them. The same spec always yields the same sequence of tasks.
+ *
+ * <ul>
+ *   <li>Open tasks are due around the reference time, leaning towards the future, so about a third
+ *   of them are overdue; completed and cancelled tasks were due before it.</li>
+ *   <li>Tasks were created some days before their due date (or before the reference time, when that
+ *   comes first) and last updated between creation and the reference time.</li>
+ *   <li>Assignees follow a Zipf distribution over {@link DatasetSpec#getAssignees()} names.</li>
+ * </ul>
+ *
+ * <p>Generated tasks have no id; creation and update times are set, which the JDBC loader stores
+ * as they are and Hibernate replaces with the current time on persist.</p>
+ */
+public class TaskGenerator {
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    // Open due dates are centered half a spread after the reference time
+    private static final double OPEN_DUE_SHIFT = 0.5;
+    private static final double MEAN_LEAD_DAYS = 14;
+    private static final double DESCRIPTION_FRACTION = 0.8;
+
+    private final DatasetSpec spec;
+    private final Random random;
+    private final TaskVocabulary vocabulary = new TaskVocabulary();
+    private final Weighted<TaskStatus> statuses;
+    private final Weighted<TaskPriority> priorities;
+    private final ZipfDistribution assignees;
+
+    public TaskGenerator(DatasetSpec spec) {
+        this.spec = spec;
+        this.random = new Random(spec.getSeed());
+        this.statuses = new Weighted<>(spec.getStatusWeights());
+        this.priorities = new Weighted<>(spec.getPriorityWeights());
+        this.assignees = new ZipfDistribution(spec.getAssignees(), spec.getAssigneeSkew());
+    }
+
+    public Task next() {
+        LocalDateTime now = spec.getReferenceTime();
+        TaskStatus status = statuses.sample(random);
+        double spreadMinutes = spec.getDueDateSpreadDays() * (double) MINUTES_PER_DAY;
+        double deviation = random.nextGaussian();
+        long dueOffset = isOpen(status)
+                ? Math.round((deviation + OPEN_DUE_SHIFT) * spreadMinutes)
+                : -Math.round(Math.abs(deviation) * spreadMinutes);
+        LocalDateTime dueDate = now.plusMinutes(dueOffset);
+
+        // Exponentially distributed lead time: most tasks are created shortly before they are due
+        long leadMinutes = Math.round(-Math.log(1 - random.nextDouble()) * MEAN_LEAD_DAYS * MINUTES_PER_DAY);
+        LocalDateTime createdAt = (dueDate.isBefore(now) ? dueDate : now).minusMinutes(leadMinutes);
+        LocalDateTime updatedAt = createdAt.plusMinutes(
+                (long) (random.nextDouble() * Duration.between(createdAt, now).toMinutes()));
+
+        String description = random.nextDouble() < DESCRIPTION_FRACTION ? vocabulary.description(random) : null;
+        Task task = new Task(vocabulary.title(random), description, dueDate);
+        task.setStatus(status);
+        task.setPriority(priorities.sample(random));
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(updatedAt);
+        if (random.nextDouble() >= spec.getUnassignedFraction()) {
+            task.setAssignee(TaskVocabulary.assignee(assignees.sample(random)));
+        }
+        return task;
+    }
+
+    private static boolean isOpen(TaskStatus status) {
+        return status == TaskStatus.PENDING || status == TaskStatus.IN_PROGRESS;
+    }
+
+    // Picks a key with probability proportional to its weight
+    private static class Weighted<E> {
+
+        private final Object[] values;
+        private final int[] thresholds;
+
+        Weighted(Map<E, Integer> weights) {
+            values = new Object[weights.size()];
+            thresholds = new int[weights.size()];
+            int total = 0;
+            int i = 0;
+            for (Map.Entry<E, Integer> entry : weights.entrySet()) {
+                if (entry.getValue() < 0) {
+                    throw new IllegalArgumentException("Negative weight for " + entry.getKey());
+                }
+                total += entry.getValue();
+                values[i] = entry.getKey();
+                thresholds[i++] = total;
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("At least one positive weight is required");
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        E sample(Random random) {
+            int value = random.nextInt(thresholds[thresholds.length - 1]);
+            for (int i = 0; i < thresholds.length; i++) {
+                if (value < thresholds[i]) {
+                    return (E) values[i];
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+    }
+}
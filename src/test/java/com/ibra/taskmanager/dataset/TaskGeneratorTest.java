@@ -0,0 +1,160 @@
+package com.ibra.taskmanager.dataset;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskGeneratorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 0, 0);
+    private static final int COUNT = 20_000;
+
+    private static DatasetSpec spec() {
+        DatasetSpec spec = new DatasetSpec();
+        spec.setReferenceTime(NOW);
+        return spec;
+    }
+
+    @Test
+    void testSameSpecGivesSameTasks() {
+        TaskGenerator first = new TaskGenerator(spec());
+        TaskGenerator second = new TaskGenerator(spec());
+        for (int i = 0; i < 100; i++) {
+            Task a = first.next();
+            Task b = second.next();
+            assertEquals(a.getTitle(), b.getTitle());
+            assertEquals(a.getDescription(), b.getDescription());
+            assertEquals(a.getDueDate(), b.getDueDate());
+            assertEquals(a.getCreatedAt(), b.getCreatedAt());
+            assertEquals(a.getStatus(), b.getStatus());
+            assertEquals(a.getPriority(), b.getPriority());
+            assertEquals(a.getAssignee(), b.getAssignee());
+        }
+
+        DatasetSpec other = spec();
+        other.setSeed(7);
+        assertNotEquals(titles(new TaskGenerator(spec())), titles(new TaskGenerator(other)));
+    }
+
+    private static List<String> titles(TaskGenerator generator) {
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            titles.add(generator.next().getTitle());
+        }
+        return titles;
+    }
+
+    @Test
+    void testTasksAreValid() {
+        TaskGenerator generator = new TaskGenerator(spec());
+        for (int i = 0; i < COUNT; i++) {
+            Task task = generator.next();
+            assertNull(task.getId());
+            assertTrue(task.getTitle().length() >= 3 && task.getTitle().length() <= 100, task.getTitle());
+            assertTrue(task.getDescription() == null || task.getDescription().length() <= 500);
+            assertTrue(task.getAssignee() == null || task.getAssignee().length() <= 100);
+            assertFalse(task.getCreatedAt().isAfter(task.getUpdatedAt()));
+            assertFalse(task.getUpdatedAt().isAfter(NOW));
+            assertFalse(task.getCreatedAt().isAfter(task.getDueDate()));
+        }
+    }
+
+    @Test
+    void testStatusAndPriorityMix() {
+        DatasetSpec spec = spec();
+        Map<TaskStatus, Integer> statuses = new EnumMap<>(TaskStatus.class);
+        statuses.put(TaskStatus.PENDING, 3);
+        statuses.put(TaskStatus.COMPLETED, 1);
+        spec.setStatusWeights(statuses);
+        spec.setPriorityWeights(Map.of(TaskPriority.HIGH, 1));
+
+        Map<TaskStatus, Integer> counts = new EnumMap<>(TaskStatus.class);
+        int overdueOpen = 0;
+        TaskGenerator generator = new TaskGenerator(spec);
+        for (int i = 0; i < COUNT; i++) {
+            Task task = generator.next();
+            counts.merge(task.getStatus(), 1, Integer::sum);
+            assertEquals(TaskPriority.HIGH, task.getPriority());
+            if (task.getStatus() == TaskStatus.COMPLETED) {
+                // Closed tasks were due in the past
+                assertFalse(task.getDueDate().isAfter(NOW));
+            } else if (task.getDueDate().isBefore(NOW)) {
+                overdueOpen++;
+            }
+        }
+
+        assertEquals(2, counts.size());
+        assertEquals(0.75, counts.get(TaskStatus.PENDING) / (double) COUNT, 0.02);
+        // About a third of open tasks are overdue
+        assertEquals(0.31, overdueOpen / (double) counts.get(TaskStatus.PENDING), 0.03);
+    }
+
+    @Test
+    void testAssigneesAreSkewed() {
+        DatasetSpec spec = spec();
+        spec.setAssignees(100);
+        spec.setUnassignedFraction(0.25);
+        Map<String, Integer> counts = new HashMap<>();
+        int unassigned = 0;
+        TaskGenerator generator = new TaskGenerator(spec);
+        for (int i = 0; i < COUNT; i++) {
+            String assignee = generator.next().getAssignee();
+            if (assignee == null) {
+                unassigned++;
+            } else {
+                counts.merge(assignee, 1, Integer::sum);
+            }
+        }
+
+        assertEquals(0.25, unassigned / (double) COUNT, 0.02);
+        assertTrue(counts.size() <= 100);
+        // With exponent 1 over 100 names the most popular assignee gets about 19% of the work
+        int busiest = counts.get(TaskVocabulary.assignee(0));
+        assertEquals(0.19, busiest / (double) (COUNT - unassigned), 0.02);
+        assertTrue(busiest > 10 * counts.getOrDefault(TaskVocabulary.assignee(20), 0));
+    }
+
+    @Test
+    void testZipfDistribution() {
+        ZipfDistribution uniform = new ZipfDistribution(4, 0);
+        assertEquals(0.25, uniform.probability(3), 1e-9);
+
+        ZipfDistribution zipf = new ZipfDistribution(3, 1);
+        // 1 : 1/2 : 1/3
+        assertEquals(6 / 11.0, zipf.probability(0), 1e-9);
+        assertEquals(2 / 11.0, zipf.probability(2), 1e-9);
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            int rank = zipf.sample(random);
+            assertTrue(rank >= 0 && rank < zipf.size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1));
+    }
+
+    @Test
+    void testAssigneeNamesAreDistinct() {
+        assertEquals("alice.smith", TaskVocabulary.assignee(0));
+        assertNotEquals(TaskVocabulary.assignee(20), TaskVocabulary.assignee(0));
+        assertEquals("alice.smith1", TaskVocabulary.assignee(400));
+    }
+
+    @Test
+    void testParseWeights() {
+        Map<TaskStatus, Integer> weights = DatasetGenerator.parseWeights("pending=30, in_progress=20",
+                TaskStatus.class, TaskStatus::valueOf);
+        assertEquals(Map.of(TaskStatus.PENDING, 30, TaskStatus.IN_PROGRESS, 20), weights);
+        assertThrows(IllegalArgumentException.class,
+                () -> DatasetGenerator.parseWeights("urgent=1", TaskStatus.class, TaskStatus::valueOf));
+    }
+}
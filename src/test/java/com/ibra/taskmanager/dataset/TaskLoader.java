@@ -0,0 +1,215 @@
+package com.ibra.taskmanager.dataset;
+
+import com.ibra.taskmanager.entity.Task;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes generated tasks straight into the tasks table of a DataSource, bypassing Hibernate:
+ * through COPY on PostgreSQL and batched INSERTs elsewhere (H2), committing every chunk so a
+ * load of millions of rows neither holds one huge transaction nor pays a commit per row.
+ *
+ * <p>Ids are drawn from tasks_id_seq in blocks of {@link Task#ID_ALLOCATION_SIZE}, the way
+ * Hibernate's pooled optimizer draws them, so a running application keeps allocating ids that do
+ * not collide with the loaded rows. Its in-memory indexes and counters only see the new rows after
+ * a restart, so load before starting it.</p>
+ */
+public class TaskLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskLoader.class);
+
+    static final String COLUMNS = "id, title, description, created_at, updated_at, due_date, status, priority, assignee, version";
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private final DataSource dataSource;
+    // Rows per transaction
+    private int chunkSize = 10_000;
+    // Rows per JDBC batch when COPY is not available
+    private int batchSize = 1_000;
+
+    public TaskLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public void load(TaskGenerator generator, long count) throws SQLException {
+        load(generator, count, id -> {
+        });
+    }
+
+    // Inserts count tasks from the generator, passing the id of each to onLoaded once its chunk is committed
+    public void load(TaskGenerator generator, long count, LongConsumer onLoaded) throws SQLException {
+        long started = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                boolean postgres = connection.isWrapperFor(PGConnection.class);
+                long loaded = 0;
+                while (loaded < count) {
+                    int size = (int) Math.min(chunkSize, count - loaded);
+                    List<Task> chunk = new ArrayList<>(size);
+                    long[] chunkIds = nextIds(connection, postgres, size);
+                    for (int i = 0; i < size; i++) {
+                        Task task = generator.next();
+                        task.setId(chunkIds[i]);
+                        chunk.add(task);
+                    }
+                    if (postgres) {
+                        copy(connection.unwrap(PGConnection.class), chunk);
+                    } else {
+                        insert(connection, chunk);
+                    }
+                    connection.commit();
+                    for (int i = 0; i < size; i++) {
+                        onLoaded.accept(chunkIds[i]);
+                    }
+                    if ((loaded + size) / PROGRESS_INTERVAL > loaded / PROGRESS_INTERVAL) {
+                        log.info("Loaded {} of {} tasks.", loaded + size, count);
+                    }
+                    loaded += size;
+                }
+                if (postgres) {
+                    // Fresh planner statistics, so the first queries against the new rows are planned for their real size
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("ANALYZE tasks");
+                    }
+                    connection.commit();
+                }
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        log.info("Loaded {} tasks in {} ms.", count, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Sequence value v stands for the ids v - ID_ALLOCATION_SIZE + 1 .. v, as for the pooled optimizer
+    private static long[] nextIds(Connection connection, boolean postgres, int count) throws SQLException {
+        int blocks = (count + Task.ID_ALLOCATION_SIZE - 1) / Task.ID_ALLOCATION_SIZE;
+        String sql = postgres
+                ? "SELECT nextval('tasks_id_seq') FROM generate_series(1, ?)"
+                : "SELECT NEXT VALUE FOR tasks_id_seq FROM SYSTEM_RANGE(1, ?)";
+        long[] ids = new long[count];
+        int filled = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, blocks);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next() && filled < count) {
+                    long high = resultSet.getLong(1);
+                    for (long id = Math.max(1, high - Task.ID_ALLOCATION_SIZE + 1); id <= high && filled < count; id++) {
+                        ids[filled++] = id;
+                    }
+                }
+            }
+        }
+        if (filled < count) {
+            // Only the first block of a new sequence is short
+            return concat(ids, filled, nextIds(connection, postgres, count - filled));
+        }
+        return ids;
+    }
+
+    private static long[] concat(long[] head, int headLength, long[] tail) {
+        long[] ids = new long[headLength + tail.length];
+        System.arraycopy(head, 0, ids, 0, headLength);
+        System.arraycopy(tail, 0, ids, headLength, tail.length);
+        return ids;
+    }
+
+    private void insert(Connection connection, List<Task> chunk) throws SQLException {
+        String sql = "INSERT INTO tasks (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int batched = 0;
+            for (Task task : chunk) {
+                statement.setLong(1, task.getId());
+                statement.setString(2, task.getTitle());
+                statement.setString(3, task.getDescription());
+                statement.setObject(4, task.getCreatedAt());
+                statement.setObject(5, task.getUpdatedAt());
+                statement.setObject(6, task.getDueDate());
+                statement.setShort(7, (short) task.getStatus().getCode());
+                statement.setShort(8, (short) task.getPriority().getRank());
+                if (task.getAssignee() != null) {
+                    statement.setString(9, task.getAssignee());
+                } else {
+                    statement.setNull(9, Types.VARCHAR);
+                }
+                statement.addBatch();
+                if (++batched % batchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+            if (batched % batchSize != 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    // COPY in CSV format: an unquoted empty field is NULL, text is always quoted
+    private static void copy(PGConnection connection, List<Task> chunk) throws SQLException {
+        String sql = "COPY tasks (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, sql), StandardCharsets.UTF_8), 1 << 16)) {
+            for (Task task : chunk) {
+                out.write(String.valueOf(task.getId()));
+                out.write(',');
+                out.write(quote(task.getTitle()));
+                out.write(',');
+                out.write(quote(task.getDescription()));
+                out.write(',');
+                out.write(task.getCreatedAt().toString());
+                out.write(',');
+                out.write(task.getUpdatedAt().toString());
+                out.write(',');
+                out.write(task.getDueDate().toString());
+                out.write(',');
+                out.write(String.valueOf(task.getStatus().getCode()));
+                out.write(',');
+                out.write(String.valueOf(task.getPriority().getRank()));
+                out.write(',');
+                out.write(quote(task.getAssignee()));
+                out.write(",0\n");
+            }
+        } catch (IOException e) {
+            throw new SQLException("Could not copy tasks into the database.", e);
+        }
+    }
+
+    static String quote(String value) {
+        return value == null ? "" : '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
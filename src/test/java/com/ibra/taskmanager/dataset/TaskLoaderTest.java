@@ -0,0 +1,106 @@
+package com.ibra.taskmanager.dataset;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskLoaderTest {
+
+    private static final String URL = "jdbc:h2:mem:dataset;DB_CLOSE_DELAY=-1";
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 0, 0);
+
+    private static EntityManagerFactory emf;
+    private static JdbcDataSource dataSource;
+
+    // The persistence unit creates the schema; the loader writes to it over plain JDBC
+    @BeforeAll
+    static void setUp() {
+        emf = Persistence.createEntityManagerFactory("test-persistence-unit",
+                Map.of("jakarta.persistence.jdbc.url", URL, "hibernate.show_sql", "false"));
+        dataSource = new JdbcDataSource();
+        dataSource.setURL(URL);
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    @Test
+    void testLoadsGeneratedTasks() throws Exception {
+        DatasetSpec spec = new DatasetSpec();
+        spec.setReferenceTime(NOW);
+        TaskLoader loader = new TaskLoader(dataSource);
+        loader.setChunkSize(120);
+        loader.setBatchSize(25);
+        List<Long> ids = new ArrayList<>();
+
+        loader.load(new TaskGenerator(spec), 250, ids::add);
+
+        assertEquals(250, ids.size());
+        assertEquals(250, new HashSet<>(ids).size());
+        Task expected = new TaskGenerator(spec).next();
+        EntityManager em = emf.createEntityManager();
+        try {
+            assertEquals(250L, em.createQuery("select count(t) from Task t where t.id in :ids", Long.class)
+                    .setParameter("ids", ids)
+                    .getSingleResult());
+            Task first = em.find(Task.class, ids.get(0));
+            assertEquals(expected.getTitle(), first.getTitle());
+            assertEquals(expected.getDescription(), first.getDescription());
+            assertEquals(expected.getDueDate(), first.getDueDate());
+            assertEquals(expected.getCreatedAt(), first.getCreatedAt());
+            assertEquals(expected.getStatus(), first.getStatus());
+            assertEquals(expected.getPriority(), first.getPriority());
+            assertEquals(expected.getAssignee(), first.getAssignee());
+            assertEquals(0L, first.getVersion());
+        } finally {
+            em.close();
+        }
+    }
+
+    @Test
+    void testIdsDoNotCollideWithHibernate() throws Exception {
+        DatasetSpec spec = new DatasetSpec();
+        spec.setReferenceTime(NOW);
+        List<Long> ids = new ArrayList<>();
+        new TaskLoader(dataSource).load(new TaskGenerator(spec), 60, ids::add);
+
+        // Hibernate draws its next block from the same sequence, past the loaded ids
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            Task task = new Task("Created after loading", null, NOW.plusDays(1));
+            task.setStatus(TaskStatus.PENDING);
+            em.persist(task);
+            em.getTransaction().commit();
+            assertFalse(ids.contains(task.getId()));
+        } finally {
+            em.close();
+        }
+    }
+
+    @Test
+    void testQuote() {
+        assertEquals("", TaskLoader.quote(null));
+        assertEquals("\"Say \"\"hi\"\", then leave\"", TaskLoader.quote("Say \"hi\", then leave"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.ibra.taskmanager.dataset;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Titles, descriptions and assignee names that read like real ones. Subjects and teams are drawn
+ * with a Zipf skew, so a handful of words ("budget", "release") occur in many tasks and most occur
+ * in few, which is what a search index or a LIKE scan meets in practice.
+ */
+public class TaskVocabulary {
+
+    private static final String[] VERBS = {
+            "Review", "Prepare", "Update", "Fix", "Draft", "Schedule", "Migrate", "Test", "Deploy",
+            "Document", "Plan", "Audit", "Clean up", "Approve", "Follow up on", "Investigate"
+    };
+    private static final String[] QUALIFIERS = {
+            "quarterly", "customer", "internal", "billing", "mobile", "legacy", "security", "payroll",
+            "marketing", "support", "annual", "vendor", "staging", "onboarding", "holiday", "partner"
+    };
+    // Most common first: sampled by Zipf rank
+    private static final String[] SUBJECTS = {
+            "budget", "release", "report", "invoice", "meeting", "dashboard", "contract", "backup",
+            "roadmap", "survey", "newsletter", "database", "audit", "hiring plan", "API", "checklist",
+            "migration", "presentation", "policy", "forecast", "website", "training", "inventory",
+            "campaign", "license", "workflow", "benchmark", "runbook", "template", "certificate"
+    };
+    private static final String[] TEAMS = {
+            "Sales", "Finance", "Platform", "Support", "Marketing", "HR", "Legal", "Design", "Operations", "Data"
+    };
+    private static final String[] WEEKDAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday"};
+    private static final String[] SENTENCES = {
+            "Follow up with the %s team about the %s %s.",
+            "Blocked until the %2$s %3$s is signed off by %1$s.",
+            "Needs a review from %s before %4$s.",
+            "See the notes from the last %2$s %3$s meeting.",
+            "Estimated at %5$d hours; %1$s has the details.",
+            "Customer reported this twice, keep %s in the loop.",
+            "Compare against last year's %2$s %3$s before sending it out.",
+            "Due %4$s at the latest."
+    };
+    private static final String[] FIRST_NAMES = {
+            "alice", "bob", "carol", "dave", "erin", "frank", "grace", "heidi", "ivan", "judy",
+            "mallory", "nina", "oscar", "peggy", "rupert", "sybil", "trent", "ursula", "victor", "wendy"
+    };
+    private static final String[] LAST_NAMES = {
+            "smith", "jones", "garcia", "miller", "davis", "martin", "lopez", "wilson", "moore", "taylor",
+            "clark", "lewis", "walker", "hall", "young", "king", "wright", "scott", "green", "baker"
+    };
+
+    private final ZipfDistribution subjects = new ZipfDistribution(SUBJECTS.length, 1.0);
+    private final ZipfDistribution teams = new ZipfDistribution(TEAMS.length, 0.8);
+
+    // At most about 50 characters, well under the 100 a title may have
+    public String title(Random random) {
+        StringBuilder title = new StringBuilder(pick(VERBS, random))
+                .append(' ').append(pick(QUALIFIERS, random))
+                .append(' ').append(subject(random));
+        if (random.nextInt(3) == 0) {
+            title.append(" for ").append(TEAMS[teams.sample(random)]);
+        }
+        return title.toString();
+    }
+
+    // One to three sentences, at most a few hundred characters
+    public String description(Random random) {
+        int sentences = 1 + random.nextInt(3);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(String.format(Locale.ROOT, pick(SENTENCES, random), TEAMS[teams.sample(random)],
+                    pick(QUALIFIERS, random), subject(random), pick(WEEKDAYS, random), 1 + random.nextInt(40)));
+        }
+        return description.toString();
+    }
+
+    // A word that occurs in titles, as popular in searches as it is in the data
+    public String keyword(Random random) {
+        return subject(random);
+    }
+
+    // Distinct for every rank, in the usual first.last form
+    public static String assignee(int rank) {
+        String name = FIRST_NAMES[rank % FIRST_NAMES.length] + "."
+                + LAST_NAMES[(rank / FIRST_NAMES.length) % LAST_NAMES.length];
+        int round = rank / (FIRST_NAMES.length * LAST_NAMES.length);
+        return round == 0 ? name : name + round;
+    }
+
+    private String subject(Random random) {
+        return SUBJECTS[subjects.sample(random)];
+    }
+
+    private static String pick(String[] words, Random random) {
+        return words[random.nextInt(words.length)];
+    }
+}
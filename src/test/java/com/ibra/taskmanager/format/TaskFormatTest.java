@@ -0,0 +1,161 @@
+package com.ibra.taskmanager.format;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskFormatTest {
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        task = new Task("Write \"release\" notes", "Line one\nline two, with comma", LocalDateTime.of(2024, 5, 1, 9, 30));
+        task.setId(7L);
+        task.setPriority(TaskPriority.HIGH);
+        task.setVersion(2L);
+    }
+
+    private String export(TaskFormat format, Task... tasks) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TaskWriter writer = format.writer(out)) {
+            for (Task t : tasks) {
+                writer.write(t);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testCsvQuotesSpecialCharacters() throws IOException {
+        assertEquals("id,title,description,status,priority,assignee,dueDate,createdAt,version\r\n"
+                        + "7,\"Write \"\"release\"\" notes\",\"Line one\nline two, with comma\",PENDING,HIGH,,2024-05-01T09:30,,2\r\n",
+                export(TaskFormat.CSV, task));
+    }
+
+    @Test
+    void testNdjsonWritesOneObjectPerLine() throws IOException {
+        Task other = new Task("Plan sprint", null, LocalDateTime.of(2024, 5, 2, 10, 0));
+        other.setId(8L);
+
+        String[] lines = export(TaskFormat.NDJSON, task, other).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":7,\"title\":\"Write \\\"release\\\" notes\",\"description\":\"Line one\\nline two, with comma\","
+                + "\"status\":\"PENDING\",\"priority\":\"HIGH\",\"assignee\":null,\"dueDate\":\"2024-05-01T09:30\","
+                + "\"createdAt\":null,\"version\":2}", lines[0]);
+        assertEquals("{\"id\":8,\"title\":\"Plan sprint\",\"description\":null,\"status\":\"PENDING\",\"priority\":\"MEDIUM\","
+                + "\"assignee\":null,\"dueDate\":\"2024-05-02T10:00\",\"createdAt\":null,\"version\":null}", lines[1]);
+    }
+
+    @Test
+    void testFromParam() {
+        assertEquals(TaskFormat.CSV, TaskFormat.fromParam(null));
+        assertEquals(TaskFormat.NDJSON, TaskFormat.fromParam("ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> TaskFormat.fromParam("xml"));
+    }
+
+    private List<TaskRecord> readAll(TaskFormat format, String input) throws IOException {
+        List<TaskRecord> records = new ArrayList<>();
+        try (TaskReader reader = format.reader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)))) {
+            TaskRecord record;
+            while ((record = reader.read()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    void testCsvRoundTrip() throws IOException {
+        task.setAssignee("alice");
+
+        List<TaskRecord> records = readAll(TaskFormat.CSV, export(TaskFormat.CSV, task));
+
+        assertEquals(1, records.size());
+        Task imported = records.get(0).getTask();
+        assertNull(imported.getId());
+        assertNull(imported.getVersion());
+        assertEquals(task.getTitle(), imported.getTitle());
+        assertEquals(task.getDescription(), imported.getDescription());
+        assertEquals(TaskPriority.HIGH, imported.getPriority());
+        assertEquals("alice", imported.getAssignee());
+        assertEquals(task.getDueDate(), imported.getDueDate());
+    }
+
+    @Test
+    void testCsvReportsBadRecordsWithLineNumbers() throws IOException {
+        String csv = "\uFEFFtitle,dueDate,status\n"
+                + "\"Multi\nline\",2024-05-01,done\n"
+                + "Too,many,fields,here\r\n"
+                + "\n"
+                + "Valid task,2024-05-03T10:15,completed\n";
+
+        List<TaskRecord> records = readAll(TaskFormat.CSV, csv);
+
+        assertEquals(3, records.size());
+        assertEquals(2, records.get(0).getLine());
+        assertEquals("Invalid status: done", records.get(0).getError());
+        assertEquals(4, records.get(1).getLine());
+        assertEquals("Expected 3 fields but found 4", records.get(1).getError());
+        assertEquals(6, records.get(2).getLine());
+        assertTrue(records.get(2).isValid());
+        assertEquals(TaskStatus.COMPLETED, records.get(2).getTask().getStatus());
+        assertEquals(LocalDateTime.of(2024, 5, 3, 10, 15), records.get(2).getTask().getDueDate());
+    }
+
+    @Test
+    void testCsvRejectsHeaderWithoutRequiredColumns() {
+        assertThrows(IOException.class, () -> readAll(TaskFormat.CSV, "name,due\nTask,2024-05-01\n"));
+    }
+
+    @Test
+    void testCsvUnterminatedQuote() {
+        assertThrows(IOException.class, () -> readAll(TaskFormat.CSV, "title,dueDate\n\"Open,2024-05-01\n"));
+    }
+
+    @Test
+    void testNdjsonSkipsMalformedLines() throws IOException {
+        String ndjson = "{\"title\":\"First task\",\"dueDate\":\"2024-05-01T09:30\",\"priority\":\"low\"}\n"
+                + "{\"title\": \n"
+                + "\n"
+                + "{\"title\":\"Third task\",\"dueDate\":\"2024-05-02\",\"tags\":[\"x\"]}\n"
+                + "{\"title\":\"Fourth task\",\"dueDate\":\"2024-05-02\",\"id\":42}";
+
+        List<TaskRecord> records = readAll(TaskFormat.NDJSON, ndjson);
+
+        assertEquals(4, records.size());
+        assertTrue(records.get(0).isValid());
+        assertEquals(TaskPriority.LOW, records.get(0).getTask().getPriority());
+        assertEquals(2, records.get(1).getLine());
+        assertFalse(records.get(1).isValid());
+        assertEquals(4, records.get(2).getLine());
+        assertFalse(records.get(2).isValid());
+        assertEquals(5, records.get(3).getLine());
+        assertNull(records.get(3).getTask().getId());
+        assertEquals(LocalDateTime.of(2024, 5, 2, 0, 0), records.get(3).getTask().getDueDate());
+    }
+
+    @Test
+    void testFromContentType() {
+        assertEquals(TaskFormat.CSV, TaskFormat.fromContentType("text/csv; charset=UTF-8"));
+        assertEquals(TaskFormat.NDJSON, TaskFormat.fromContentType("application/x-ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> TaskFormat.fromContentType("application/json"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ibra.taskmanager.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogLinearHistogramTest {
+
+    @Test
+    void testBucketBounds() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 33, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LogLinearHistogram.index(value);
+            assertTrue(LogLinearHistogram.lowerBound(index) <= value, "lower bound of " + value);
+            assertTrue(LogLinearHistogram.upperBound(index) >= value, "upper bound of " + value);
+        }
+        assertEquals(LogLinearHistogram.BUCKETS - 1, LogLinearHistogram.index(Long.MAX_VALUE));
+        // Consecutive buckets leave no gaps
+        for (int i = 0; i < LogLinearHistogram.BUCKETS - 1; i++) {
+            assertEquals(LogLinearHistogram.upperBound(i) + 1, LogLinearHistogram.lowerBound(i + 1));
+        }
+    }
+
+    @Test
+    void testQuantilesWithinRelativeError() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(1000L * 10_000 * 10_001 / 2, snapshot.getSum());
+        assertEquals(5_000_000, snapshot.getValueAtQuantile(0.5), 5_000_000 / 16.0);
+        assertEquals(9_900_000, snapshot.getValueAtQuantile(0.99), 9_900_000 / 16.0);
+        assertEquals(10_000_000, snapshot.getValueAtQuantile(1), 10_000_000 / 16.0);
+    }
+
+    @Test
+    void testEmptyAndNegative() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        assertEquals(0, histogram.snapshot().getValueAtQuantile(0.5));
+
+        histogram.record(-5);
+        assertEquals(1, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getValueAtQuantile(0.5));
+    }
+
+    @Test
+    void testConcurrentRecording() throws InterruptedException {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000, histogram.snapshot().getCount());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ibra.taskmanager.metrics;
+
+import com.ibra.taskmanager.config.MetricsConfig;
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MethodMetricsInterceptorTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    private String scrape() throws IOException {
+        StringWriter out = new StringWriter();
+        registry.write(out);
+        return out.toString();
+    }
+
+    @Test
+    void testRepositoryCallsAreTimed() throws IOException {
+        TaskRepository target = mock(TaskRepository.class);
+        Task task = new Task("Timed task", null, LocalDateTime.now());
+        when(target.findAll()).thenReturn(List.of(task, task));
+        doThrow(new IllegalArgumentException("No such task")).when(target).deleteById(1L);
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(TaskRepository.class);
+        proxyFactory.addAdvisor(MetricsConfig.methodMetricsAdvisor(registry));
+        TaskRepository repository = (TaskRepository) proxyFactory.getProxy();
+
+        assertEquals(2, repository.findAll().size());
+        repository.findAll();
+        assertThrows(IllegalArgumentException.class, () -> repository.deleteById(1L));
+
+        String text = scrape();
+        assertTrue(text.matches("(?s).*taskmanager_method_duration_seconds_count\\{layer=\"repository\",class=\"[^\"]*\",method=\"findAll\"} 2\n.*"));
+        assertTrue(text.matches("(?s).*taskmanager_method_result_size_sum\\{layer=\"repository\",class=\"[^\"]*\",method=\"findAll\"} 4\n.*"));
+        assertTrue(text.matches("(?s).*taskmanager_method_errors_total\\{layer=\"repository\",class=\"[^\"]*\",method=\"deleteById\"} 1\n.*"));
+        // deleteById returns nothing, so it has no result size
+        assertFalse(text.matches("(?s).*taskmanager_method_result_size[^\n]*deleteById.*"));
+    }
+
+    @Test
+    void testResultSizes() {
+        assertEquals(3, MethodMetrics.sizeOf(List.of(1, 2, 3)));
+        assertEquals(0, MethodMetrics.sizeOf(java.util.Optional.empty()));
+        assertEquals(-1, MethodMetrics.sizeOf("text"));
+        assertEquals(-1, MethodMetrics.sizeOf(null));
+    }
+}
@@ -0,0 +1,64 @@
+package com.ibra.taskmanager.metrics;
+
+import com.ibra.taskmanager.controller.MetricsController;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.StringWriter;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class MetricsControllerTest {
+
+    @Test
+    void testMetricsInPrometheusFormat() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("taskmanager_test_total", "A test counter.").add(5);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new MetricsController(registry))
+                .addInterceptors(new HandlerMetricsInterceptor(registry))
+                .build();
+
+        mockMvc.perform(get("/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(content().contentTypeCompatibleWith("text/plain"))
+                .andExpect(content().string(containsString("# TYPE taskmanager_test_total counter\ntaskmanager_test_total 5\n")));
+
+        // The first scrape was timed by the interceptor
+        mockMvc.perform(get("/metrics").header("Accept", "text/plain;version=0.0.4"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "taskmanager_method_duration_seconds_count{layer=\"controller\",class=\"MetricsController\",method=\"metrics\"} 1\n")));
+    }
+
+    @Test
+    void testHandlersAreTimed() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        HandlerMetricsInterceptor interceptor = new HandlerMetricsInterceptor(registry);
+        HandlerMethod handler = new HandlerMethod(new MetricsController(registry), "metrics");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/metrics");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request, response, handler));
+        interceptor.afterCompletion(request, response, handler, null);
+
+        MockHttpServletRequest failing = new MockHttpServletRequest("GET", "/metrics");
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        interceptor.preHandle(failing, failed, handler);
+        failed.setStatus(500);
+        interceptor.afterCompletion(failing, failed, handler, null);
+
+        StringWriter out = new StringWriter();
+        registry.write(out);
+        String text = out.toString();
+        assertTrue(text.contains("taskmanager_method_duration_seconds_count{layer=\"controller\",class=\"MetricsController\",method=\"metrics\"} 2\n"));
+        assertTrue(text.contains("taskmanager_method_errors_total{layer=\"controller\",class=\"MetricsController\",method=\"metrics\"} 1\n"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.ibra.taskmanager.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    private String scrape() throws IOException {
+        StringWriter out = new StringWriter();
+        registry.write(out);
+        return out.toString();
+    }
+
+    @Test
+    void testCountersAndGauges() throws IOException {
+        LongAdder requests = registry.counter("requests_total", "Requests.", "path", "/tasks");
+        requests.add(3);
+        assertSame(requests, registry.counter("requests_total", "Requests.", "path", "/tasks"));
+        registry.counter("requests_total", "Requests.", () -> 7, "path", "/api");
+        registry.gauge("temperature", "Degrees.", () -> 21.5);
+
+        String text = scrape();
+        assertTrue(text.contains("# HELP requests_total Requests.\n# TYPE requests_total counter\n"));
+        // Series are sorted by their labels
+        assertTrue(text.contains("requests_total{path=\"/api\"} 7\nrequests_total{path=\"/tasks\"} 3\n"));
+        assertTrue(text.contains("# TYPE temperature gauge\ntemperature 21.5\n"));
+    }
+
+    @Test
+    void testSummary() throws IOException {
+        LogLinearHistogram duration = registry.summary("duration_seconds", "Time.", 1e-9, "method", "find");
+        duration.record(2_000_000);
+
+        String text = scrape();
+        assertTrue(text.contains("# TYPE duration_seconds summary\n"));
+        assertTrue(text.contains("duration_seconds{method=\"find\",quantile=\"0.5\"} 0.00"));
+        assertTrue(text.contains("duration_seconds{method=\"find\",quantile=\"0.999\"}"));
+        assertTrue(text.contains("duration_seconds_sum{method=\"find\"} 0.002"));
+        assertTrue(text.contains("duration_seconds_count{method=\"find\"} 1\n"));
+    }
+
+    @Test
+    void testLabelValuesAreEscaped() {
+        assertEquals("{q=\"say \\\"hi\\\"\\n\\\\\"}", MetricsRegistry.labels("q", "say \"hi\"\n\\"));
+        assertEquals("", MetricsRegistry.labels());
+        assertThrows(IllegalArgumentException.class, () -> MetricsRegistry.labels("odd"));
+    }
+
+    @Test
+    void testTypeConflict() {
+        registry.counter("calls", "Calls.");
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("calls", "Calls.", () -> 1));
+    }
+}
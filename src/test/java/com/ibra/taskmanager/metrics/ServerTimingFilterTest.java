@@ -0,0 +1,82 @@
+package com.ibra.taskmanager.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTimingFilterTest {
+
+    private static final String HEADER = "Server-Timing";
+    private static final Object HANDLER = new Object();
+
+    // Runs two statements through the Hibernate listener, then a handler and its rendering
+    private static void handle(MockHttpServletRequest request, MockHttpServletResponse response, FilterChain body) throws Exception {
+        ServerTimingInterceptor interceptor = new ServerTimingInterceptor();
+        FilterChain chain = (req, res) -> {
+            assertNotNull(RequestTiming.current());
+            interceptor.preHandle(request, response, HANDLER);
+            JdbcTimingListener listener = new JdbcTimingListener();
+            listener.jdbcExecuteStatementStart();
+            listener.jdbcExecuteStatementEnd();
+            listener.jdbcExecuteBatchStart();
+            listener.jdbcExecuteBatchEnd();
+            interceptor.postHandle(request, response, HANDLER, null);
+            body.doFilter(req, res);
+            interceptor.afterCompletion(request, response, HANDLER, null);
+        };
+        new ServerTimingFilter(true).doFilter(request, response, chain);
+    }
+
+    @Test
+    void testHtmlPageIncludesRenderTimeAndFooter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handle(new MockHttpServletRequest("GET", "/tasks"), response, (req, res) -> {
+            res.setContentType("text/html;charset=UTF-8");
+            res.getWriter().write("<html></html>");
+            // Rendering must not commit the response before the header is set
+            res.flushBuffer();
+            assertFalse(res.isCommitted());
+        });
+
+        String header = response.getHeader(HEADER);
+        assertNotNull(header);
+        assertTrue(header.matches("db;dur=\\d+\\.\\d;desc=\"2 queries\", handler;dur=\\d+\\.\\d, render;dur=\\d+\\.\\d, total;dur=\\d+\\.\\d"), header);
+        assertEquals("<html></html>\n<!-- Server-Timing: " + header + " -->\n", response.getContentAsString());
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void testOtherResponsesArePassedThrough() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handle(new MockHttpServletRequest("GET", "/api/tasks"), response, (req, res) -> {
+            res.setContentType("application/json");
+            res.getOutputStream().write("[]".getBytes());
+        });
+
+        assertTrue(response.getHeader(HEADER).startsWith("db;dur="));
+        assertTrue(response.getHeader(HEADER).contains("desc=\"2 queries\", handler;dur="));
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    void testRedirectHasHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handle(new MockHttpServletRequest("POST", "/tasks"), response,
+                (req, res) -> ((HttpServletResponse) res).sendRedirect("/tasks"));
+
+        assertEquals("/tasks", response.getRedirectedUrl());
+        assertNotNull(response.getHeader(HEADER));
+    }
+
+    @Test
+    void testStatementsOutsideRequestsAreIgnored() {
+        JdbcTimingListener listener = new JdbcTimingListener();
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+        assertNull(RequestTiming.current());
+    }
+}
@@ -0,0 +1,164 @@
+package com.ibra.taskmanager.push;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.event.TaskBulkChangeEvent;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.event.TaskSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskChangeBroadcasterTest {
+
+    private TaskChangeBroadcaster broadcaster;
+    private final List<TaskSubscriber> closed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new TaskChangeBroadcaster();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    private static TaskSnapshot snapshot(long id, TaskStatus status, String assignee) {
+        Task task = new Task("Task " + id, "Description", LocalDateTime.of(2030, 1, 1, 9, 0));
+        task.setId(id);
+        task.setStatus(status);
+        task.setAssignee(assignee);
+        return TaskSnapshot.of(task);
+    }
+
+    private static Set<DataWithMediaType> frame(String name) {
+        return SseEmitter.event().name(name).data("{}").build();
+    }
+
+    private TaskSubscriber subscriber(SseEmitter emitter, TaskStatus status, String assignee, int capacity, Executor executor) {
+        return new TaskSubscriber(emitter, status, assignee, capacity, frame("resync"), executor, closed::add);
+    }
+
+    // Records what would have been written to the connection
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> events = new ArrayList<>();
+        boolean failing;
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder text = new StringBuilder();
+            for (DataWithMediaType item : items) {
+                text.append(item.getData());
+            }
+            events.add(text.toString());
+        }
+    }
+
+    @Test
+    void testSubscriberMatchesFilter() {
+        TaskSubscriber any = subscriber(new RecordingEmitter(), null, null, 4, Runnable::run);
+        TaskSubscriber pending = subscriber(new RecordingEmitter(), TaskStatus.PENDING, null, 4, Runnable::run);
+        TaskSubscriber alice = subscriber(new RecordingEmitter(), TaskStatus.PENDING, "alice", 4, Runnable::run);
+
+        TaskSnapshot task = snapshot(1L, TaskStatus.PENDING, "Alice");
+        assertTrue(any.matches(task));
+        assertTrue(pending.matches(task));
+        assertTrue(alice.matches(task));
+        assertFalse(pending.matches(snapshot(1L, TaskStatus.COMPLETED, "Alice")));
+        assertFalse(alice.matches(snapshot(1L, TaskStatus.PENDING, "Bob")));
+        assertFalse(any.matches(null));
+    }
+
+    @Test
+    void testFramesAreSentInOrder() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        TaskSubscriber subscriber = subscriber(emitter, null, null, 4, Runnable::run);
+
+        assertTrue(subscriber.offer(frame("first")));
+        assertTrue(subscriber.offer(frame("second")));
+
+        assertEquals(2, emitter.events.size());
+        assertTrue(emitter.events.get(0).startsWith("event:first"));
+        assertTrue(emitter.events.get(1).startsWith("event:second"));
+        assertEquals(0, subscriber.pending());
+    }
+
+    @Test
+    void testOverflowReplacesBufferWithResync() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        List<Runnable> drains = new ArrayList<>();
+        TaskSubscriber subscriber = subscriber(emitter, null, null, 2, drains::add);
+
+        assertTrue(subscriber.offer(frame("a")));
+        assertTrue(subscriber.offer(frame("b")));
+        assertFalse(subscriber.offer(frame("c")));
+        assertTrue(subscriber.offer(frame("d")));
+        // Only one drain is scheduled however many frames are queued
+        assertEquals(1, drains.size());
+
+        drains.get(0).run();
+
+        assertEquals(2, emitter.events.size());
+        assertTrue(emitter.events.get(0).startsWith("event:resync"));
+        assertTrue(emitter.events.get(1).startsWith("event:d"));
+    }
+
+    @Test
+    void testSendFailureClosesSubscriber() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.failing = true;
+        TaskSubscriber subscriber = subscriber(emitter, null, null, 4, Runnable::run);
+
+        subscriber.offer(frame("a"));
+
+        assertTrue(subscriber.isClosed());
+        assertEquals(List.of(subscriber), closed);
+        // Frames for a closed subscriber are dropped
+        subscriber.offer(frame("b"));
+        assertEquals(0, subscriber.pending());
+    }
+
+    @Test
+    void testSubscribeAndDestroy() {
+        broadcaster.subscribe(TaskStatus.PENDING, " alice ");
+        broadcaster.subscribe(null, "");
+        assertEquals(2, broadcaster.getSubscriberCount());
+
+        broadcaster.onTaskChange(TaskChangeEvent.created(snapshot(1L, TaskStatus.PENDING, "alice")));
+        broadcaster.onBulkChange(TaskBulkChangeEvent.statusChanged(TaskStatus.COMPLETED, 3));
+
+        broadcaster.destroy();
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void testTaskChangeJson() {
+        String created = TaskChangeBroadcaster.toJson(TaskChangeEvent.created(snapshot(7L, TaskStatus.IN_PROGRESS, "bob")));
+        assertTrue(created.startsWith("{\"type\":\"CREATED\",\"id\":7,\"task\":{\"id\":7,\"title\":\"Task 7\""));
+        assertTrue(created.contains("\"status\":\"IN_PROGRESS\""));
+        assertTrue(created.contains("\"assignee\":\"bob\""));
+        assertTrue(created.contains("\"dueDate\":\"2030-01-01T09:00\""));
+        assertFalse(created.contains("\n"));
+
+        String deleted = TaskChangeBroadcaster.toJson(TaskChangeEvent.deleted(7L, snapshot(7L, TaskStatus.PENDING, null)));
+        assertEquals("{\"type\":\"DELETED\",\"id\":7,\"task\":null}", deleted);
+
+        String bulk = TaskChangeBroadcaster.toJson(TaskBulkChangeEvent.statusChanged(TaskStatus.COMPLETED, 12));
+        assertEquals("{\"type\":\"UPDATED\",\"count\":12,\"status\":\"COMPLETED\"}", bulk);
+    }
+}
@@ -1,18 +1,31 @@
 package com.ibra.taskmanager.repository;
 
+import com.ibra.taskmanager.dto.TaskCursor;
+import com.ibra.taskmanager.dto.TaskFacets;
+import com.ibra.taskmanager.dto.TaskPatch;
+import com.ibra.taskmanager.dto.TaskSummary;
 import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.entity.TaskTombstone;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskSortOrder;
 import com.ibra.taskmanager.enums.TaskStatus;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.Persistence;
 import org.junit.jupiter.api.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,7 +43,8 @@ public class TaskRepositoryImplTest {
         Task task = new Task();
         task.setTitle(title);
         task.setDescription(description);
-        task.setDueDate(dueDate);
+        // Columns keep microseconds; the JVM clock's nanoseconds would not survive the round trip
+        task.setDueDate(dueDate != null ? dueDate.truncatedTo(ChronoUnit.MICROS) : null);
         task.setStatus(status);
         return task;
     }
@@ -93,6 +107,36 @@ public class TaskRepositoryImplTest {
         logger.info("Test saveTask_nullTitle passed.");
     }
 
+    @Test
+    public void testSaveAll_persistsInBatches() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            tasks.add(createTask("Bulk Task " + i, "Description", LocalDateTime.now().plusDays(i), TaskStatus.PENDING));
+        }
+
+        int saved = taskRepository.saveAll(tasks, 3);
+
+        assertEquals(7, saved);
+        assertTrue(tasks.stream().allMatch(task -> task.getId() != null));
+        assertFalse(em.contains(tasks.get(6)));
+        assertEquals(7, taskRepository.findAll().size());
+        logger.info("Test saveAll_persistsInBatches passed.");
+    }
+
+    @Test
+    public void testSaveAll_rejectsExistingTask() {
+        Task existing = createTask("Existing Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        em.persist(existing);
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.saveAll(List.of(existing), 10));
+        logger.info("Test saveAll_rejectsExistingTask passed.");
+    }
+
+    @Test
+    public void testSaveAll_invalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.saveAll(new ArrayList<>(), 0));
+        logger.info("Test saveAll_invalidBatchSize passed.");
+    }
+
     @Test
     public void testFindById_success() {
         Task task = createTask("Find Task", "Find Description", LocalDateTime.now().plusDays(2), TaskStatus.IN_PROGRESS);
@@ -180,6 +224,20 @@ public class TaskRepositoryImplTest {
         logger.info("Test findByStatus_success passed.");
     }
 
+    @Test
+    public void testFindByStatus_reflectsSavedChanges() {
+        Task task = createTask("Task 1", "Description 1", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        em.persist(task);
+        assertEquals(1, taskRepository.findByStatus(TaskStatus.PENDING).size());
+
+        task.setStatus(TaskStatus.COMPLETED);
+        taskRepository.save(task);
+
+        assertTrue(taskRepository.findByStatus(TaskStatus.PENDING).isEmpty());
+        assertEquals(1, taskRepository.findByStatus(TaskStatus.COMPLETED).size());
+        logger.info("Test findByStatus_reflectsSavedChanges passed.");
+    }
+
     @Test
     public void testFindByStatus_noMatchingTasks() {
         List<Task> cancelledTasks = taskRepository.findByStatus(TaskStatus.CANCELLED);
@@ -349,5 +407,677 @@ public class TaskRepositoryImplTest {
         assertThrows(IllegalArgumentException.class, () -> taskRepository.searchByTitleOrDescription(""));
         logger.info("Test searchByTitleOrDescription_emptyKeyword passed.");
     }
-}
 
+    @Test
+    public void testFind_seeksForwardWithoutGapsOrDuplicates() {
+        LocalDateTime now = LocalDateTime.now();
+        em.persist(createTask("Task 3", "Description 3", now.plusDays(3), TaskStatus.PENDING));
+        em.persist(createTask("Task 1", "Description 1", now.plusDays(1), TaskStatus.PENDING));
+        em.persist(createTask("Task 5", "Description 5", now.plusDays(5), TaskStatus.PENDING));
+        em.persist(createTask("Task 2", "Description 2", now.plusDays(2), TaskStatus.PENDING));
+        em.persist(createTask("Task 4", "Description 4", now.plusDays(4), TaskStatus.PENDING));
+
+        List<Task> first = taskRepository.find(pageQuery(TaskSortOrder.DUE_DATE_ASC, null, false, 2));
+        assertEquals(List.of("Task 1", "Task 2"), first.stream().map(Task::getTitle).toList());
+
+        TaskCursor cursor = TaskCursor.of(first.get(1), TaskSortOrder.DUE_DATE_ASC);
+        List<Task> second = taskRepository.find(pageQuery(TaskSortOrder.DUE_DATE_ASC, cursor, false, 2));
+        assertEquals(List.of("Task 3", "Task 4"), second.stream().map(Task::getTitle).toList());
+
+        cursor = TaskCursor.of(second.get(1), TaskSortOrder.DUE_DATE_ASC);
+        List<Task> third = taskRepository.find(pageQuery(TaskSortOrder.DUE_DATE_ASC, cursor, false, 2));
+        assertEquals(List.of("Task 5"), third.stream().map(Task::getTitle).toList());
+        logger.info("Test find_seeksForwardWithoutGapsOrDuplicates passed.");
+    }
+
+    @Test
+    public void testFind_backwardReturnsNearestFirst() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        em.persist(createTask("Task 1", "Description 1", now.plusDays(1), TaskStatus.PENDING));
+        em.persist(createTask("Task 2", "Description 2", now.plusDays(2), TaskStatus.PENDING));
+        Task task3 = createTask("Task 3", "Description 3", now.plusDays(3), TaskStatus.PENDING);
+        em.persist(task3);
+
+        TaskCursor cursor = TaskCursor.of(task3, TaskSortOrder.DUE_DATE_ASC);
+        List<Task> tasks = taskRepository.find(pageQuery(TaskSortOrder.DUE_DATE_ASC, cursor, true, 5));
+        assertEquals(List.of("Task 2", "Task 1"), tasks.stream().map(Task::getTitle).toList());
+        logger.info("Test find_backwardReturnsNearestFirst passed.");
+    }
+
+    @Test
+    public void testFind_priorityOrderWithTies() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Task low = createTask("Low", "Description", now.plusDays(1), TaskStatus.PENDING);
+        low.setPriority(TaskPriority.LOW);
+        Task highLate = createTask("High late", "Description", now.plusDays(3), TaskStatus.PENDING);
+        highLate.setPriority(TaskPriority.HIGH);
+        Task highEarly = createTask("High early", "Description", now.plusDays(2), TaskStatus.PENDING);
+        highEarly.setPriority(TaskPriority.HIGH);
+        Task medium = createTask("Medium", "Description", now.plusDays(1), TaskStatus.PENDING);
+        em.persist(low);
+        em.persist(highLate);
+        em.persist(highEarly);
+        em.persist(medium);
+
+        List<Task> first = taskRepository.find(pageQuery(TaskSortOrder.PRIORITY, null, false, 2));
+        assertEquals(List.of("High early", "High late"), first.stream().map(Task::getTitle).toList());
+
+        TaskCursor cursor = TaskCursor.of(first.get(1), TaskSortOrder.PRIORITY);
+        List<Task> second = taskRepository.find(pageQuery(TaskSortOrder.PRIORITY, cursor, false, 2));
+        assertEquals(List.of("Medium", "Low"), second.stream().map(Task::getTitle).toList());
+        logger.info("Test find_priorityOrderWithTies passed.");
+    }
+
+    @Test
+    public void testPriorityAndStatusStoredAsCodes() {
+        Task task = createTask("Coded", "Description", LocalDateTime.now().plusDays(1), TaskStatus.IN_PROGRESS);
+        task.setPriority(TaskPriority.HIGH);
+        em.persist(task);
+        em.flush();
+
+        Object[] row = (Object[]) em.createNativeQuery("SELECT status, priority FROM tasks WHERE id = :id")
+                .setParameter("id", task.getId())
+                .getSingleResult();
+        assertEquals(TaskStatus.IN_PROGRESS.getCode(), ((Number) row[0]).intValue());
+        assertEquals(TaskPriority.HIGH.getRank(), ((Number) row[1]).intValue());
+
+        em.clear();
+        Task loaded = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.IN_PROGRESS, loaded.getStatus());
+        assertEquals(TaskPriority.HIGH, loaded.getPriority());
+        logger.info("Test priorityAndStatusStoredAsCodes passed.");
+    }
+
+    @Test
+    public void testFind_priorityCursorWithUnknownRank() {
+        TaskCursor cursor = new TaskCursor(7, LocalDateTime.now(), 1L);
+        assertThrows(IllegalArgumentException.class,
+                () -> taskRepository.find(pageQuery(TaskSortOrder.PRIORITY, cursor, false, 2)));
+        logger.info("Test find_priorityCursorWithUnknownRank passed.");
+    }
+
+    @Test
+    public void testFindByStatusAndSortByDueDate_seek() {
+        // Columns keep microseconds; fixtures must not carry the JVM clock's nanoseconds
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        em.persist(createTask("Task 1", "Description 1", now.plusDays(1), TaskStatus.PENDING));
+        em.persist(createTask("Task 2", "Description 2", now.plusDays(2), TaskStatus.COMPLETED));
+        Task task3 = createTask("Task 3", "Description 3", now.plusDays(3), TaskStatus.PENDING);
+        em.persist(task3);
+        em.persist(createTask("Task 4", "Description 4", now.plusDays(4), TaskStatus.PENDING));
+
+        TaskCursor cursor = TaskCursor.of(task3, TaskSortOrder.DUE_DATE_DESC);
+        List<Task> tasks = taskRepository.findByStatusAndSortByDueDate(TaskStatus.PENDING, false, cursor, 10);
+        assertEquals(List.of("Task 1"), tasks.stream().map(Task::getTitle).toList());
+        logger.info("Test findByStatusAndSortByDueDate_seek passed.");
+    }
+
+    @Test
+    public void testFind_cursorFromSavedTaskWithNanoseconds() {
+        LocalDateTime due = LocalDateTime.of(2030, 1, 1, 9, 0, 0, 123_456_789);
+        // createTask truncates; set the clock-precision values directly
+        Task first = createTask("Task 1", "Description 1", due, TaskStatus.PENDING);
+        first.setDueDate(due);
+        Task second = createTask("Task 2", "Description 2", due.plusSeconds(1), TaskStatus.PENDING);
+        second.setDueDate(due.plusSeconds(1));
+        em.persist(first);
+        em.persist(second);
+        em.flush();
+
+        // The entity still holds nanoseconds the column rounded away
+        TaskCursor cursor = TaskCursor.of(first, TaskSortOrder.DUE_DATE_ASC);
+        assertEquals(due.withNano(123_457_000), cursor.getTimestamp());
+        List<Task> after = taskRepository.find(pageQuery(TaskSortOrder.DUE_DATE_ASC, cursor, false, 5));
+        assertEquals(List.of("Task 2"), after.stream().map(Task::getTitle).toList());
+        List<Task> before = taskRepository.find(pageQuery(TaskSortOrder.DUE_DATE_ASC,
+                TaskCursor.of(second, TaskSortOrder.DUE_DATE_ASC), true, 5));
+        assertEquals(List.of("Task 1"), before.stream().map(Task::getTitle).toList());
+        logger.info("Test find_cursorFromSavedTaskWithNanoseconds passed.");
+    }
+
+    @Test
+    public void testFind_invalidLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskRepository.find(pageQuery(TaskSortOrder.CREATED, null, false, 0)));
+        logger.info("Test find_invalidLimit passed.");
+    }
+
+    @Test
+    public void testFind_nullQuery() {
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.find(null));
+        logger.info("Test find_nullQuery passed.");
+    }
+
+    @Test
+    public void testFind_combinesAllFilters() {
+        LocalDateTime now = LocalDateTime.now();
+        Task match = createTask("Release notes", "Write the release notes", now.plusDays(2), TaskStatus.PENDING);
+        match.setPriority(TaskPriority.HIGH);
+        match.setAssignee("alice");
+        Task wrongAssignee = createTask("Release build", "Cut the release build", now.plusDays(2), TaskStatus.PENDING);
+        wrongAssignee.setPriority(TaskPriority.HIGH);
+        wrongAssignee.setAssignee("bob");
+        Task wrongPriority = createTask("Release party", "Plan the release party", now.plusDays(2), TaskStatus.PENDING);
+        wrongPriority.setAssignee("alice");
+        Task tooLate = createTask("Release retro", "Hold the release retro", now.plusDays(20), TaskStatus.PENDING);
+        tooLate.setPriority(TaskPriority.HIGH);
+        tooLate.setAssignee("alice");
+        Task noKeyword = createTask("Fix login", "Session expires too early", now.plusDays(2), TaskStatus.PENDING);
+        noKeyword.setPriority(TaskPriority.HIGH);
+        noKeyword.setAssignee("alice");
+        em.persist(match);
+        em.persist(wrongAssignee);
+        em.persist(wrongPriority);
+        em.persist(tooLate);
+        em.persist(noKeyword);
+
+        TaskQuery query = new TaskQuery();
+        query.setStatus(TaskStatus.PENDING);
+        query.setPriority(TaskPriority.HIGH);
+        query.setAssignee("alice");
+        query.setKeyword("RELEASE");
+        query.setDueFrom(now);
+        query.setDueTo(now.plusDays(10));
+        List<Task> tasks = taskRepository.find(query);
+        assertEquals(List.of("Release notes"), tasks.stream().map(Task::getTitle).toList());
+        logger.info("Test find_combinesAllFilters passed.");
+    }
+
+    @Test
+    public void testFind_appliesLimit() {
+        LocalDateTime now = LocalDateTime.now();
+        em.persist(createTask("Task 1", "Description 1", now.plusDays(1), TaskStatus.PENDING));
+        em.persist(createTask("Task 2", "Description 2", now.plusDays(2), TaskStatus.PENDING));
+        em.persist(createTask("Task 3", "Description 3", now.plusDays(3), TaskStatus.PENDING));
+
+        List<Task> tasks = taskRepository.find(pageQuery(TaskSortOrder.DUE_DATE_DESC, null, false, 2));
+        assertEquals(List.of("Task 3", "Task 2"), tasks.stream().map(Task::getTitle).toList());
+        logger.info("Test find_appliesLimit passed.");
+    }
+
+    @Test
+    public void testFindSummaries_matchesEntityPage() {
+        LocalDateTime now = LocalDateTime.now();
+        em.persist(createTask("Task 3", "Description 3", now.plusDays(3), TaskStatus.PENDING));
+        em.persist(createTask("Task 1", "Description 1", now.plusDays(1), TaskStatus.PENDING));
+        em.persist(createTask("Task 2", "Description 2", now.plusDays(2), TaskStatus.COMPLETED));
+        em.persist(createTask("Task 4", "Description 4", now.plusDays(4), TaskStatus.PENDING));
+        // Summary queries run with flush mode MANUAL, so pending inserts must be flushed first
+        em.flush();
+
+        TaskQuery query = pageQuery(TaskSortOrder.DUE_DATE_ASC, null, false, 2);
+        query.setStatus(TaskStatus.PENDING);
+        List<TaskSummary> first = taskRepository.findSummaries(query);
+        assertEquals(List.of("Task 1", "Task 3"), first.stream().map(TaskSummary::title).toList());
+        assertEquals(taskRepository.find(query).stream().map(Task::getId).toList(),
+                first.stream().map(TaskSummary::id).toList());
+
+        query.setCursor(TaskCursor.of(first.get(1), TaskSortOrder.DUE_DATE_ASC));
+        List<TaskSummary> second = taskRepository.findSummaries(query);
+        assertEquals(List.of("Task 4"), second.stream().map(TaskSummary::title).toList());
+        assertEquals(TaskPriority.MEDIUM, second.get(0).priority());
+        assertNotNull(second.get(0).createdAt());
+        logger.info("Test findSummaries_matchesEntityPage passed.");
+    }
+
+    @Test
+    public void testFindSummaries_truncatesDescription() {
+        String description = "x".repeat(200);
+        em.persist(createTask("Long", description, LocalDateTime.now().plusDays(1), TaskStatus.PENDING));
+        em.persist(createTask("Empty", null, LocalDateTime.now().plusDays(2), TaskStatus.PENDING));
+        em.flush();
+
+        List<TaskSummary> summaries = taskRepository.findSummaries(pageQuery(TaskSortOrder.DUE_DATE_ASC, null, false, 10));
+        assertEquals(description.substring(0, TaskSummary.DESCRIPTION_PREVIEW_LENGTH), summaries.get(0).description());
+        assertNull(summaries.get(1).description());
+        logger.info("Test findSummaries_truncatesDescription passed.");
+    }
+
+    @Test
+    public void testFindSummaries_nullQuery() {
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.findSummaries(null));
+        logger.info("Test findSummaries_nullQuery passed.");
+    }
+
+    @Test
+    public void testFindSummariesById_success() {
+        Task task1 = createTask("Task 1", "Description 1", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        Task task2 = createTask("Task 2", "Description 2", LocalDateTime.now().plusDays(2), TaskStatus.COMPLETED);
+        em.persist(task1);
+        em.persist(task2);
+        em.persist(createTask("Task 3", "Description 3", LocalDateTime.now().plusDays(3), TaskStatus.PENDING));
+        em.flush();
+
+        List<TaskSummary> summaries = taskRepository.findSummariesById(List.of(task1.getId(), task2.getId(), -1L));
+        assertEquals(Set.of("Task 1", "Task 2"), summaries.stream().map(TaskSummary::title).collect(Collectors.toSet()));
+        assertTrue(taskRepository.findSummariesById(List.of()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.findSummariesById(null));
+        logger.info("Test findSummariesById_success passed.");
+    }
+
+    @Test
+    public void testFindDistinctAssignees_success() {
+        LocalDateTime now = LocalDateTime.now();
+        Task task1 = createTask("Task 1", "Description 1", now.plusDays(1), TaskStatus.PENDING);
+        task1.setAssignee("bob");
+        Task task2 = createTask("Task 2", "Description 2", now.plusDays(2), TaskStatus.PENDING);
+        task2.setAssignee("alice");
+        Task task3 = createTask("Task 3", "Description 3", now.plusDays(3), TaskStatus.PENDING);
+        task3.setAssignee("bob");
+        em.persist(task1);
+        em.persist(task2);
+        em.persist(task3);
+        em.persist(createTask("Task 4", "Description 4", now.plusDays(4), TaskStatus.PENDING));
+
+        List<String> assignees = taskRepository.findDistinctAssignees();
+        assertEquals(List.of("alice", "bob"), assignees);
+        logger.info("Test findDistinctAssignees_success passed.");
+    }
+
+    @Test
+    public void testCountTasksByAssignee_success() {
+        LocalDateTime now = LocalDateTime.now();
+        Task task1 = createTask("Task 1", "Description 1", now.plusDays(1), TaskStatus.PENDING);
+        task1.setAssignee("bob");
+        Task task2 = createTask("Task 2", "Description 2", now.plusDays(2), TaskStatus.PENDING);
+        task2.setAssignee("alice");
+        Task task3 = createTask("Task 3", "Description 3", now.plusDays(3), TaskStatus.COMPLETED);
+        task3.setAssignee("bob");
+        em.persist(task1);
+        em.persist(task2);
+        em.persist(task3);
+
+        Map<String, Long> counts = taskRepository.countTasksByAssignee();
+        assertEquals(Map.of("alice", 1L, "bob", 2L), counts);
+        logger.info("Test countTasksByAssignee_success passed.");
+    }
+
+    @Test
+    public void testCountTasksByStatusAndPriority_success() {
+        LocalDateTime now = LocalDateTime.now();
+        Task task1 = createTask("Task 1", "Description 1", now.plusDays(1), TaskStatus.PENDING);
+        task1.setPriority(TaskPriority.HIGH);
+        Task task2 = createTask("Task 2", "Description 2", now.plusDays(2), TaskStatus.PENDING);
+        task2.setPriority(TaskPriority.HIGH);
+        Task task3 = createTask("Task 3", "Description 3", now.plusDays(3), TaskStatus.COMPLETED);
+        task3.setPriority(TaskPriority.LOW);
+        em.persist(task1);
+        em.persist(task2);
+        em.persist(task3);
+
+        Map<TaskStatus, Map<TaskPriority, Long>> counts = taskRepository.countTasksByStatusAndPriority();
+        assertEquals(Map.of(TaskStatus.PENDING, Map.of(TaskPriority.HIGH, 2L),
+                TaskStatus.COMPLETED, Map.of(TaskPriority.LOW, 1L)), counts);
+        logger.info("Test countTasksByStatusAndPriority_success passed.");
+    }
+
+    @Test
+    public void testCountByStatusInAndDueDateBefore_success() {
+        LocalDateTime now = LocalDateTime.now();
+        em.persist(createTask("Task 1", "Description 1", now.minusDays(1), TaskStatus.PENDING));
+        em.persist(createTask("Task 2", "Description 2", now.minusDays(2), TaskStatus.IN_PROGRESS));
+        em.persist(createTask("Task 3", "Description 3", now.minusDays(3), TaskStatus.COMPLETED));
+        em.persist(createTask("Task 4", "Description 4", now.plusDays(1), TaskStatus.PENDING));
+
+        assertEquals(2L, taskRepository.countByStatusInAndDueDateBefore(
+                List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS), now));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskRepository.countByStatusInAndDueDateBefore(List.of(), now));
+        logger.info("Test countByStatusInAndDueDateBefore_success passed.");
+    }
+
+    @Test
+    public void testCountFacets_excludesOwnCriterion() {
+        LocalDateTime now = LocalDateTime.now();
+        Task task1 = createTask("Release notes", "Description 1", now.plusDays(1), TaskStatus.PENDING);
+        task1.setPriority(TaskPriority.HIGH);
+        task1.setAssignee("bob");
+        Task task2 = createTask("Release build", "Description 2", now.plusDays(2), TaskStatus.COMPLETED);
+        task2.setPriority(TaskPriority.HIGH);
+        task2.setAssignee("alice");
+        Task task3 = createTask("Release party", "Description 3", now.plusDays(3), TaskStatus.PENDING);
+        task3.setPriority(TaskPriority.LOW);
+        Task task4 = createTask("Unrelated", "Description 4", now.plusDays(4), TaskStatus.PENDING);
+        task4.setPriority(TaskPriority.HIGH);
+        task4.setAssignee("bob");
+        em.persist(task1);
+        em.persist(task2);
+        em.persist(task3);
+        em.persist(task4);
+
+        TaskQuery filter = new TaskQuery();
+        filter.setKeyword("release");
+        filter.setStatus(TaskStatus.PENDING);
+        filter.setPriority(TaskPriority.HIGH);
+        TaskFacets facets = taskRepository.countFacets(filter);
+
+        assertEquals(1L, facets.total());
+        // Status counts ignore the status filter, priority counts the priority filter
+        assertEquals(1L, facets.status(TaskStatus.PENDING));
+        assertEquals(1L, facets.status(TaskStatus.COMPLETED));
+        assertEquals(0L, facets.status(TaskStatus.CANCELLED));
+        assertEquals(1L, facets.priority(TaskPriority.HIGH));
+        assertEquals(1L, facets.priority(TaskPriority.LOW));
+        assertEquals(Map.of("bob", 1L), facets.assignees());
+        logger.info("Test countFacets_excludesOwnCriterion passed.");
+    }
+
+    @Test
+    public void testCountFacetsById_countsOnlyGivenTasks() {
+        LocalDateTime now = LocalDateTime.now();
+        Task task1 = createTask("Task 1", "Description 1", now.plusDays(1), TaskStatus.PENDING);
+        task1.setPriority(TaskPriority.HIGH);
+        task1.setAssignee("bob");
+        Task task2 = createTask("Task 2", "Description 2", now.plusDays(2), TaskStatus.COMPLETED);
+        task2.setPriority(TaskPriority.HIGH);
+        Task task3 = createTask("Task 3", "Description 3", now.plusDays(3), TaskStatus.PENDING);
+        task3.setPriority(TaskPriority.LOW);
+        task3.setAssignee("bob");
+        em.persist(task1);
+        em.persist(task2);
+        em.persist(task3);
+
+        List<Long> ids = new ArrayList<>(List.of(task1.getId(), task2.getId(), 9999L));
+        // Spans more than one IN-list chunk
+        for (long id = 100_000; ids.size() <= TaskRepositoryImpl.MAX_IN_LIST; id++) {
+            ids.add(id);
+        }
+        TaskFacets facets = taskRepository.countFacetsById(ids);
+
+        assertEquals(2L, facets.total());
+        assertEquals(1L, facets.status(TaskStatus.PENDING));
+        assertEquals(1L, facets.status(TaskStatus.COMPLETED));
+        assertEquals(2L, facets.priority(TaskPriority.HIGH));
+        assertEquals(0L, facets.priority(TaskPriority.LOW));
+        assertEquals(Map.of("bob", 1L), facets.assignees());
+        assertEquals(0L, taskRepository.countFacetsById(List.of()).total());
+        logger.info("Test countFacetsById_countsOnlyGivenTasks passed.");
+    }
+
+    @Test
+    public void testFindAllById_success() {
+        Task task1 = createTask("Task 1", "Description 1", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        Task task2 = createTask("Task 2", "Description 2", LocalDateTime.now().plusDays(2), TaskStatus.PENDING);
+        em.persist(task1);
+        em.persist(task2);
+        em.persist(createTask("Task 3", "Description 3", LocalDateTime.now().plusDays(3), TaskStatus.PENDING));
+
+        List<Task> tasks = taskRepository.findAllById(List.of(task1.getId(), task2.getId(), 9999L));
+        assertEquals(2, tasks.size());
+        assertTrue(taskRepository.findAllById(List.of()).isEmpty());
+        logger.info("Test findAllById_success passed.");
+    }
+
+    private TaskQuery pageQuery(TaskSortOrder sortOrder, TaskCursor cursor, boolean backward, int limit) {
+        TaskQuery query = new TaskQuery();
+        query.setSortOrder(sortOrder);
+        query.setCursor(cursor);
+        query.setBackward(backward);
+        query.setLimit(limit);
+        return query;
+    }
+
+    @Test
+    public void testUpdateStatusById_skipsTasksAlreadyInStatus() {
+        Task pending = createTask("Pending Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        Task done = createTask("Done Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.COMPLETED);
+        Task other = createTask("Other Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        em.persist(pending);
+        em.persist(done);
+        em.persist(other);
+        em.flush();
+
+        int updated = taskRepository.updateStatusById(List.of(pending.getId(), done.getId()), TaskStatus.COMPLETED);
+        em.clear();
+
+        assertEquals(1, updated);
+        assertEquals(TaskStatus.COMPLETED, taskRepository.findById(pending.getId()).get().getStatus());
+        assertEquals(TaskStatus.PENDING, taskRepository.findById(other.getId()).get().getStatus());
+        logger.info("Test updateStatusById_skipsTasksAlreadyInStatus passed.");
+    }
+
+    @Test
+    public void testUpdateStatus_byFilter() {
+        Task overdue = createTask("Overdue Task", "Description", LocalDateTime.now().minusDays(1), TaskStatus.PENDING);
+        overdue.setAssignee("alice");
+        Task future = createTask("Future Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        future.setAssignee("alice");
+        Task otherAssignee = createTask("Bob Task", "Description", LocalDateTime.now().minusDays(1), TaskStatus.PENDING);
+        otherAssignee.setAssignee("bob");
+        em.persist(overdue);
+        em.persist(future);
+        em.persist(otherAssignee);
+        em.flush();
+
+        TaskQuery filter = new TaskQuery();
+        filter.setAssignee("alice");
+        filter.setDueTo(LocalDateTime.now());
+        int updated = taskRepository.updateStatus(filter, TaskStatus.COMPLETED);
+        em.clear();
+
+        assertEquals(1, updated);
+        assertEquals(TaskStatus.COMPLETED, taskRepository.findById(overdue.getId()).get().getStatus());
+        assertEquals(TaskStatus.PENDING, taskRepository.findById(future.getId()).get().getStatus());
+        assertEquals(TaskStatus.PENDING, taskRepository.findById(otherAssignee.getId()).get().getStatus());
+        logger.info("Test updateStatus_byFilter passed.");
+    }
+
+    @Test
+    public void testUpdateStatus_byStatusSet() {
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+        Task pending = createTask("Pending Task", "Description", yesterday, TaskStatus.PENDING);
+        Task started = createTask("Started Task", "Description", yesterday, TaskStatus.IN_PROGRESS);
+        Task cancelled = createTask("Cancelled Task", "Description", yesterday, TaskStatus.CANCELLED);
+        em.persist(pending);
+        em.persist(started);
+        em.persist(cancelled);
+        em.flush();
+
+        TaskQuery filter = new TaskQuery();
+        filter.setStatuses(List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS));
+        filter.setDueTo(LocalDateTime.now());
+        int updated = taskRepository.updateStatus(filter, TaskStatus.COMPLETED);
+        em.clear();
+
+        assertEquals(2, updated);
+        assertEquals(TaskStatus.COMPLETED, taskRepository.findById(pending.getId()).get().getStatus());
+        assertEquals(TaskStatus.COMPLETED, taskRepository.findById(started.getId()).get().getStatus());
+        assertEquals(TaskStatus.CANCELLED, taskRepository.findById(cancelled.getId()).get().getStatus());
+        logger.info("Test updateStatus_byStatusSet passed.");
+    }
+
+    @Test
+    public void testDeleteAllById_success() {
+        Task first = createTask("Task 1", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        Task second = createTask("Task 2", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        Task kept = createTask("Task 3", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        em.persist(first);
+        em.persist(second);
+        em.persist(kept);
+        em.flush();
+
+        int deleted = taskRepository.deleteAllById(List.of(first.getId(), second.getId(), first.getId()));
+        em.clear();
+
+        assertEquals(2, deleted);
+        assertEquals(1, taskRepository.findAll().size());
+        logger.info("Test deleteAllById_success passed.");
+    }
+
+    @Test
+    public void testPatch_updatesChangedFieldsAndVersion() {
+        Task task = createTask("Patch Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        em.persist(task);
+        em.flush();
+        long version = task.getVersion();
+
+        TaskPatch patch = new TaskPatch();
+        patch.setVersion(version);
+        patch.setStatus(TaskStatus.COMPLETED);
+        Task patched = taskRepository.patch(task.getId(), patch).orElseThrow();
+
+        assertEquals(TaskStatus.COMPLETED, patched.getStatus());
+        assertEquals("Patch Task", patched.getTitle());
+        assertEquals(version + 1, patched.getVersion());
+        logger.info("Test patch_updatesChangedFieldsAndVersion passed.");
+    }
+
+    @Test
+    public void testPatch_staleVersion() {
+        Task task = createTask("Patch Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        em.persist(task);
+        em.flush();
+
+        TaskPatch patch = new TaskPatch();
+        patch.setVersion(task.getVersion() + 1);
+        patch.setTitle("Too late");
+
+        assertThrows(OptimisticLockException.class, () -> taskRepository.patch(task.getId(), patch));
+        assertEquals("Patch Task", task.getTitle());
+        logger.info("Test patch_staleVersion passed.");
+    }
+
+    @Test
+    public void testPatch_notFound() {
+        TaskPatch patch = new TaskPatch();
+        patch.setVersion(0L);
+        assertTrue(taskRepository.patch(12345L, patch).isEmpty());
+        logger.info("Test patch_notFound passed.");
+    }
+
+    @Test
+    public void testUpdateStatusById_incrementsVersion() {
+        Task task = createTask("Versioned Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        em.persist(task);
+        em.flush();
+        long version = task.getVersion();
+
+        taskRepository.updateStatusById(List.of(task.getId()), TaskStatus.IN_PROGRESS);
+        em.clear();
+
+        assertEquals(version + 1, taskRepository.findById(task.getId()).get().getVersion());
+        logger.info("Test updateStatusById_incrementsVersion passed.");
+    }
+
+    @Test
+    public void testStreamAll_appliesFiltersAndOrderAndDetaches() {
+        LocalDateTime now = LocalDateTime.now();
+        em.persist(createTask("Task 1", "Description 1", now.plusDays(3), TaskStatus.PENDING));
+        em.persist(createTask("Task 2", "Description 2", now.plusDays(1), TaskStatus.PENDING));
+        em.persist(createTask("Task 3", "Description 3", now.plusDays(2), TaskStatus.COMPLETED));
+        em.flush();
+
+        TaskQuery query = new TaskQuery();
+        query.setSortOrder(TaskSortOrder.DUE_DATE_ASC);
+        query.setStatus(TaskStatus.PENDING);
+        List<Task> streamed = new ArrayList<>();
+
+        int count = taskRepository.streamAll(query, streamed::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of("Task 2", "Task 1"), streamed.stream().map(Task::getTitle).toList());
+        assertFalse(em.contains(streamed.get(0)));
+        logger.info("Test streamAll_appliesFiltersAndOrderAndDetaches passed.");
+    }
+
+    @Test
+    public void testStreamAll_nullConsumer() {
+        TaskQuery query = new TaskQuery();
+        query.setSortOrder(TaskSortOrder.DUE_DATE_ASC);
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.streamAll(query, null));
+    }
+
+    @Test
+    public void testDeleteById_writesTombstone() {
+        Task task = createTask("Deleted Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        em.persist(task);
+        em.flush();
+
+        taskRepository.deleteById(task.getId());
+        em.flush();
+
+        TaskTombstone tombstone = em.find(TaskTombstone.class, task.getId());
+        assertNotNull(tombstone);
+        assertNotNull(tombstone.getDeletedAt());
+        logger.info("Test deleteById_writesTombstone passed.");
+    }
+
+    @Test
+    public void testDeleteAll_writesTombstonesForDeletedTasksOnly() {
+        Task done = createTask("Done Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.COMPLETED);
+        Task open = createTask("Open Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        em.persist(done);
+        em.persist(open);
+        em.flush();
+        TaskQuery filter = new TaskQuery();
+        filter.setStatus(TaskStatus.COMPLETED);
+
+        assertEquals(1, taskRepository.deleteAll(filter));
+        assertEquals(0, taskRepository.deleteAllById(List.of(done.getId(), 12345L)));
+
+        List<TaskTombstone> tombstones = taskRepository.findTombstonesSince(null, 0, LocalDateTime.now(), 10);
+        assertEquals(List.of(done.getId()), tombstones.stream().map(TaskTombstone::getTaskId).toList());
+        assertEquals(1, taskRepository.findAll().size());
+        logger.info("Test deleteAll_writesTombstonesForDeletedTasksOnly passed.");
+    }
+
+    @Test
+    public void testFindChangedSince_ordersByUpdateAndHonoursBounds() {
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 9, 0);
+        Task first = createTask("Task 1", "Description", base.plusDays(1), TaskStatus.PENDING);
+        Task second = createTask("Task 2", "Description", base.plusDays(1), TaskStatus.PENDING);
+        Task third = createTask("Task 3", "Description", base.plusDays(1), TaskStatus.PENDING);
+        em.persist(first);
+        em.persist(second);
+        em.persist(third);
+        em.flush();
+        // @UpdateTimestamp stamps the insert; pin the values with a bulk statement instead
+        setUpdatedAt(first, base.plusMinutes(2));
+        setUpdatedAt(second, base.plusMinutes(1));
+        setUpdatedAt(third, base.plusMinutes(2));
+        em.clear();
+
+        List<Task> all = taskRepository.findChangedSince(null, 0, base.plusMinutes(5), 10);
+        assertEquals(List.of(second.getId(), first.getId(), third.getId()), all.stream().map(Task::getId).toList());
+
+        List<Task> afterFirst = taskRepository.findChangedSince(base.plusMinutes(2), first.getId(), base.plusMinutes(5), 10);
+        assertEquals(List.of(third.getId()), afterFirst.stream().map(Task::getId).toList());
+
+        List<Task> bounded = taskRepository.findChangedSince(null, 0, base.plusMinutes(1), 10);
+        assertEquals(List.of(second.getId()), bounded.stream().map(Task::getId).toList());
+        logger.info("Test findChangedSince_ordersByUpdateAndHonoursBounds passed.");
+    }
+
+    @Test
+    public void testUpdateStatusById_touchesUpdatedAt() {
+        Task task = createTask("Sync Task", "Description", LocalDateTime.now().plusDays(1), TaskStatus.PENDING);
+        em.persist(task);
+        em.flush();
+        setUpdatedAt(task, LocalDateTime.of(2024, 5, 1, 9, 0));
+
+        taskRepository.updateStatusById(List.of(task.getId()), TaskStatus.COMPLETED);
+        em.clear();
+
+        assertTrue(taskRepository.findById(task.getId()).get().getUpdatedAt().isAfter(LocalDateTime.of(2024, 5, 1, 9, 0)));
+        logger.info("Test updateStatusById_touchesUpdatedAt passed.");
+    }
+
+    @Test
+    public void testDeleteTombstonesBefore() {
+        em.persist(new TaskTombstone(1001L, LocalDateTime.of(2024, 1, 1, 0, 0)));
+        em.persist(new TaskTombstone(1002L, LocalDateTime.of(2024, 3, 1, 0, 0)));
+        em.flush();
+
+        assertEquals(1, taskRepository.deleteTombstonesBefore(LocalDateTime.of(2024, 2, 1, 0, 0)));
+        em.clear();
+        assertNull(em.find(TaskTombstone.class, 1001L));
+        assertNotNull(em.find(TaskTombstone.class, 1002L));
+    }
+
+    private void setUpdatedAt(Task task, LocalDateTime updatedAt) {
+        em.createQuery("update Task t set t.updatedAt = :updatedAt where t.id = :id")
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("id", task.getId())
+                .executeUpdate();
+    }
+}
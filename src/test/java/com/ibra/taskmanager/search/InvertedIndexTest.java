@@ -0,0 +1,89 @@
+package com.ibra.taskmanager.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.upsert(1L, "Write release notes", "Summarise the changes for the release");
+        index.upsert(2L, "Fix login bug", "Users are logged out after the release");
+        index.upsert(3L, "Plan sprint", "Pick stories for the next sprint");
+        index.upsert(4L, "Deploy to production", "Run the deploy pipeline");
+    }
+
+    @Test
+    void testSingleTermRanksTitleMatchesFirst() {
+        assertArrayEquals(new long[] { 1L, 2L }, index.search("release", 10));
+    }
+
+    @Test
+    void testAndRequiresEveryTerm() {
+        assertArrayEquals(new long[] { 2L }, index.search("release login", 10));
+        assertArrayEquals(new long[0], index.search("release sprint", 10));
+    }
+
+    @Test
+    void testOrMatchesAnyTerm() {
+        long[] results = index.search("sprint OR deploy", 10);
+        assertEquals(2, results.length);
+    }
+
+    @Test
+    void testMatchesReturnsEveryMatchUnranked() {
+        index.upsert(5L, "Release checklist", "");
+
+        assertArrayEquals(new long[] { 1L, 2L, 5L }, index.matches("release"));
+        assertArrayEquals(new long[] { 2L }, index.matches("release login"));
+        assertEquals(3, index.matches("sprint OR deploy OR login").length);
+        assertArrayEquals(new long[0], index.matches("missing"));
+    }
+
+    @Test
+    void testCaseInsensitiveAndPunctuationIgnored() {
+        assertArrayEquals(new long[] { 2L }, index.search("LOGIN,", 10));
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(1, index.search("the", 1).length);
+    }
+
+    @Test
+    void testUpdateReplacesPreviousText() {
+        index.upsert(3L, "Plan release", "Coordinate the release date");
+
+        assertArrayEquals(new long[0], index.search("sprint", 10));
+        assertEquals(3, index.search("release", 10).length);
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(1L);
+
+        assertArrayEquals(new long[] { 2L }, index.search("release", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testCompactionKeepsLiveDocuments() {
+        for (long id = 100; id < 3100; id++) {
+            index.upsert(id, "Bulk task " + id, "imported");
+        }
+        for (long id = 100; id < 3100; id++) {
+            index.remove(id);
+        }
+
+        assertEquals(4, index.size());
+        assertArrayEquals(new long[0], index.search("imported", 10));
+        assertArrayEquals(new long[] { 4L }, index.search("deploy", 10));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ibra.taskmanager.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex();
+        index.add("Write release notes");
+        index.add("Release v2");
+        index.add("Release v2");
+        index.add("Plan sprint");
+    }
+
+    @Test
+    void testMatchesAnyWordStartCaseInsensitively() {
+        Map<String, Integer> result = index.suggest("REL", 10);
+
+        assertEquals(Arrays.asList("Release v2", "Write release notes"), new ArrayList<>(result.keySet()));
+        assertEquals(2, result.get("Release v2"));
+    }
+
+    @Test
+    void testMultiWordPrefix() {
+        assertEquals(Collections.singletonList("Write release notes"),
+                new ArrayList<>(index.suggest("release n", 10).keySet()));
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(1, index.suggest("re", 1).size());
+    }
+
+    @Test
+    void testRemoveDecrementsAndDropsEntries() {
+        index.remove("Release v2");
+        assertEquals(1, index.suggest("v2", 10).get("Release v2"));
+
+        index.remove("Release v2");
+        assertTrue(index.suggest("v2", 10).isEmpty());
+    }
+
+    @Test
+    void testNoMatchesForBlankOrMidWordPrefix() {
+        assertTrue(index.suggest(" ", 10).isEmpty());
+        assertTrue(index.suggest("lease", 10).isEmpty());
+    }
+}
@@ -0,0 +1,113 @@
+package com.ibra.taskmanager.service;
+
+import com.ibra.taskmanager.event.TaskBulkChangeEvent;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.event.TaskSnapshot;
+import com.ibra.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class AssigneeIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private AssigneeIndex assigneeIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("bob", 2L);
+        counts.put("alice", 1L);
+        when(taskRepository.countTasksByAssignee()).thenReturn(counts);
+        assigneeIndex = new AssigneeIndex(taskRepository);
+        assigneeIndex.afterSingletonsInstantiated();
+    }
+
+    private TaskSnapshot snapshot(long id, String assignee) {
+        return new TaskSnapshot(id, "Task " + id, null, null, null, assignee, null, null);
+    }
+
+    @Test
+    void testLoadsSortedAssignees() {
+        assertTrue(assigneeIndex.isLoaded());
+        assertEquals(Arrays.asList("alice", "bob"), assigneeIndex.getAssignees());
+        assertEquals(2L, assigneeIndex.getTaskCounts().get("bob"));
+    }
+
+    @Test
+    void testCreateAddsNewAssignee() {
+        assigneeIndex.onTaskChange(TaskChangeEvent.created(snapshot(10L, "carol")));
+
+        assertEquals(Arrays.asList("alice", "bob", "carol"), assigneeIndex.getAssignees());
+        assertEquals(1L, assigneeIndex.getTaskCounts().get("carol"));
+    }
+
+    @Test
+    void testReassignMovesCount() {
+        assigneeIndex.onTaskChange(TaskChangeEvent.updated(snapshot(1L, "alice"), snapshot(1L, "bob")));
+
+        assertEquals(Arrays.asList("bob"), assigneeIndex.getAssignees());
+        assertEquals(3L, assigneeIndex.getTaskCounts().get("bob"));
+    }
+
+    @Test
+    void testDeleteDecrementsCount() {
+        assigneeIndex.onTaskChange(TaskChangeEvent.deleted(2L, snapshot(2L, "bob")));
+
+        assertEquals(1L, assigneeIndex.getTaskCounts().get("bob"));
+        verify(taskRepository, times(1)).countTasksByAssignee();
+    }
+
+    @Test
+    void testFailedLoadLeavesIndexUnloaded() {
+        when(taskRepository.countTasksByAssignee()).thenThrow(new RuntimeException("database down"));
+        AssigneeIndex index = new AssigneeIndex(taskRepository);
+        index.afterSingletonsInstantiated();
+
+        assertFalse(index.isLoaded());
+        index.onTaskChange(TaskChangeEvent.created(snapshot(10L, "carol")));
+        assertTrue(index.getAssignees().isEmpty());
+    }
+
+    @Test
+    void testBulkChangeReloads() {
+        when(taskRepository.countTasksByAssignee()).thenReturn(Collections.singletonMap("dave", 5000L));
+
+        assigneeIndex.onBulkChange(new TaskBulkChangeEvent(TaskChangeEvent.Type.CREATED, 5000));
+
+        assertEquals(Arrays.asList("dave"), assigneeIndex.getAssignees());
+        verify(taskRepository, times(2)).countTasksByAssignee();
+    }
+
+    @Test
+    void testReloadAdjustsCountsInPlace() {
+        Map<String, Long> fresh = new LinkedHashMap<>();
+        fresh.put("bob", 4L);
+        fresh.put("carol", 1L);
+        when(taskRepository.countTasksByAssignee()).thenAnswer(invocation -> {
+            // Readers during the query still see the previous counts, not an empty index
+            assertEquals(Arrays.asList("alice", "bob"), assigneeIndex.getAssignees());
+            return fresh;
+        });
+
+        assigneeIndex.reload();
+
+        assertEquals(Arrays.asList("bob", "carol"), assigneeIndex.getAssignees());
+        assertEquals(4L, assigneeIndex.getTaskCounts().get("bob"));
+        assertTrue(assigneeIndex.isLoaded());
+    }
+}
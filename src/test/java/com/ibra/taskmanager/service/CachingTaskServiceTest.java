@@ -0,0 +1,100 @@
+package com.ibra.taskmanager.service;
+
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class CachingTaskServiceTest {
+
+    @Mock
+    private TaskService delegate;
+
+    private QueryResultCache cache;
+    private CachingTaskService taskService;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new QueryResultCache();
+        taskService = new CachingTaskService(delegate, cache);
+        task = new Task("Task 1", "Description 1", LocalDateTime.now().plusDays(1));
+        task.setId(1L);
+    }
+
+    @Test
+    void testRepeatedQueryIsServedFromCache() {
+        when(delegate.getTasksByStatus(TaskStatus.PENDING)).thenReturn(Collections.singletonList(task));
+
+        List<Task> first = taskService.getTasksByStatus(TaskStatus.PENDING);
+        List<Task> second = taskService.getTasksByStatus(TaskStatus.PENDING);
+
+        assertEquals(Collections.singletonList(task), second);
+        assertEquals(first, second);
+        verify(delegate, times(1)).getTasksByStatus(TaskStatus.PENDING);
+    }
+
+    @Test
+    void testParametersArePartOfTheKey() {
+        taskService.getTasksSortedByDueDate(true);
+        taskService.getTasksSortedByDueDate(false);
+
+        verify(delegate).getTasksSortedByDueDate(true);
+        verify(delegate).getTasksSortedByDueDate(false);
+    }
+
+    @Test
+    void testWriteInvalidatesCachedResults() {
+        when(delegate.getTasksByStatus(TaskStatus.PENDING)).thenReturn(Collections.singletonList(task));
+        taskService.getTasksByStatus(TaskStatus.PENDING);
+        long version = cache.getVersion();
+
+        taskService.markTaskAsCompleted(1L);
+        taskService.getTasksByStatus(TaskStatus.PENDING);
+
+        assertEquals(version + 1, cache.getVersion());
+        verify(delegate, times(2)).getTasksByStatus(TaskStatus.PENDING);
+    }
+
+    @Test
+    void testFailedWriteStillInvalidates() {
+        doThrow(new IllegalArgumentException("Id cannot be null")).when(delegate).deleteTask(null);
+        long version = cache.getVersion();
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.deleteTask(null));
+        assertEquals(version + 1, cache.getVersion());
+    }
+
+    @Test
+    void testTimeRelativeQueriesAreCachedPerTimeBucket() {
+        LocalDateTime bucket = LocalDateTime.of(2024, 5, 1, 10, 15);
+        CachingTaskService fixedClock = new CachingTaskService(delegate, cache) {
+            @Override
+            LocalDateTime currentBucket() {
+                return bucket;
+            }
+        };
+        when(delegate.getOverdueTasks(bucket)).thenReturn(Collections.singletonList(task));
+
+        fixedClock.getOverdueTasks();
+        fixedClock.getOverdueTasks();
+        fixedClock.getUpcomingTasks();
+        fixedClock.getOverdueTasks(bucket.plusMinutes(1));
+
+        verify(delegate, times(1)).getOverdueTasks(bucket);
+        verify(delegate).getUpcomingTasks(bucket);
+        verify(delegate).getOverdueTasks(bucket.plusMinutes(1));
+        verify(delegate, never()).getOverdueTasks();
+    }
+}
@@ -0,0 +1,132 @@
+package com.ibra.taskmanager.service;
+
+import com.ibra.taskmanager.dto.TaskImportResult;
+import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.format.TaskFormat;
+import com.ibra.taskmanager.format.TaskReader;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class TaskImportServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private TaskImportService importService;
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Task messages are plain text, so the EL-free interpolator is enough outside the container
+        Validator validator = Validation.byDefaultProvider().configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory()
+                .getValidator();
+        importService = new TaskImportService(taskService, validator);
+        importService.setChunkSize(2);
+        when(taskService.createTasks(any())).thenAnswer(invocation -> {
+            Collection<Task> tasks = invocation.getArgument(0);
+            chunkSizes.add(tasks.size());
+            if (tasks.stream().anyMatch(task -> "Broken task".equals(task.getTitle()))) {
+                throw new IllegalStateException("Could not insert", new IllegalStateException("value too long"));
+            }
+            return tasks.size();
+        });
+    }
+
+    private TaskReader ndjson(String... lines) {
+        String input = String.join("\n", lines);
+        return TaskFormat.NDJSON.reader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String task(String title) {
+        return "{\"title\":\"" + title + "\",\"dueDate\":\"2024-05-01T09:30\"}";
+    }
+
+    @Test
+    void testImportsInChunks() {
+        TaskImportResult result = importService.importTasks(
+                ndjson(task("Task one"), task("Task two"), task("Task three"), task("Task four"), task("Task five")));
+
+        assertEquals(5, result.records());
+        assertEquals(5, result.imported());
+        assertEquals(0, result.failed());
+        assertTrue(result.complete());
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+    }
+
+    @Test
+    void testReportsInvalidRecordsAndContinues() {
+        TaskImportResult result = importService.importTasks(ndjson(
+                task("Task one"),
+                "{\"title\":\"No due date\"}",
+                "not json",
+                task("ab"),
+                task("Task five")));
+
+        assertEquals(5, result.records());
+        assertEquals(2, result.imported());
+        assertEquals(3, result.failed());
+        assertEquals(new TaskImportResult.LineError(2, "Due date is required"), result.errors().get(0));
+        assertEquals(3, result.errors().get(1).line());
+        assertEquals(new TaskImportResult.LineError(4, "Title must be between 3 and 100 characters"),
+                result.errors().get(2));
+        assertEquals(List.of(2), chunkSizes);
+    }
+
+    @Test
+    void testRetriesFailedChunkOneTaskAtATime() {
+        TaskImportResult result = importService.importTasks(ndjson(task("Task one"), task("Broken task")));
+
+        assertEquals(1, result.imported());
+        assertEquals(List.of(new TaskImportResult.LineError(2, "value too long")), result.errors());
+        assertEquals(List.of(2, 1, 1), chunkSizes);
+    }
+
+    @Test
+    void testKeepsRecordsReadBeforeReadFailure() {
+        TaskReader reader = new TaskReader() {
+            private int calls;
+
+            @Override
+            public com.ibra.taskmanager.format.TaskRecord read() throws IOException {
+                if (calls++ == 0) {
+                    return ndjson(task("Task one")).read();
+                }
+                throw new IOException("Connection reset");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        TaskImportResult result = importService.importTasks(reader);
+
+        assertFalse(result.complete());
+        assertEquals("Connection reset", result.message());
+        assertEquals(1, result.imported());
+        assertNotNull(result.errors());
+        verify(taskService, times(1)).createTasks(any());
+    }
+}
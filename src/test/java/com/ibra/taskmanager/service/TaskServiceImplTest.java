@@ -1,21 +1,46 @@
 package com.ibra.taskmanager.service;
 
+import com.ibra.taskmanager.dto.CursorPage;
+import com.ibra.taskmanager.dto.SyncToken;
+import com.ibra.taskmanager.dto.TaskChangeSet;
+import com.ibra.taskmanager.dto.TaskCursor;
+import com.ibra.taskmanager.dto.TaskFacets;
+import com.ibra.taskmanager.dto.TaskPatch;
+import com.ibra.taskmanager.dto.TaskSuggestion;
+import com.ibra.taskmanager.dto.TaskSummary;
 import com.ibra.taskmanager.entity.Task;
+import com.ibra.taskmanager.entity.TaskTombstone;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskSortOrder;
 import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.event.TaskBulkChangeEvent;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.repository.TaskQuery;
 import com.ibra.taskmanager.repository.TaskRepository;
+import com.ibra.taskmanager.search.TaskSearchIndex;
+import com.ibra.taskmanager.search.TaskSuggestionIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -24,6 +49,18 @@ public class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AssigneeIndex assigneeIndex;
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Mock
+    private TaskSuggestionIndex suggestionIndex;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -37,11 +74,13 @@ public class TaskServiceImplTest {
         task1.setId(1L);
         task1.setTitle("Task 1");
         task1.setStatus(TaskStatus.PENDING);
+        task1.setDueDate(LocalDateTime.now().plusDays(1));
 
         task2 = new Task();
         task2.setId(2L);
         task2.setTitle("Task 2");
         task2.setStatus(TaskStatus.COMPLETED);
+        task2.setDueDate(LocalDateTime.now().plusDays(2));
     }
 
     @Test
@@ -226,4 +265,446 @@ public class TaskServiceImplTest {
         verify(taskRepository).findById(1L);
         verify(taskRepository, never()).save(any(Task.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetTaskPage_FirstPageWithMore() {
+        when(taskRepository.find(argThat(q -> q.getSortOrder() == TaskSortOrder.DUE_DATE_ASC
+                && q.getCursor() == null && !q.isBackward() && q.getLimit() == 2)))
+                .thenReturn(Arrays.asList(task1, task2));
+
+        TaskQuery query = new TaskQuery();
+        query.setSortOrder(TaskSortOrder.DUE_DATE_ASC);
+        query.setLimit(1);
+        CursorPage<Task> page = taskService.getTaskPage(query, null, null);
+
+        assertEquals(Collections.singletonList(task1), page.getItems());
+        assertTrue(page.hasNext());
+        assertFalse(page.hasPrevious());
+        assertEquals(1L, TaskCursor.decode(page.getNextCursor()).getId());
+    }
+
+    @Test
+    void testGetTaskSummaryPage_UsesSummaryProjection() {
+        TaskSummary summary1 = new TaskSummary(1L, "Task 1", null, TaskStatus.PENDING, TaskPriority.MEDIUM, null,
+                task1.getDueDate(), LocalDateTime.now());
+        TaskSummary summary2 = new TaskSummary(2L, "Task 2", null, TaskStatus.PENDING, TaskPriority.MEDIUM, null,
+                task2.getDueDate(), LocalDateTime.now());
+        when(taskRepository.findSummaries(argThat(q -> q.getSortOrder() == TaskSortOrder.DUE_DATE_ASC && q.getLimit() == 2)))
+                .thenReturn(Arrays.asList(summary1, summary2));
+
+        TaskQuery query = new TaskQuery();
+        query.setSortOrder(TaskSortOrder.DUE_DATE_ASC);
+        query.setLimit(1);
+        CursorPage<TaskSummary> page = taskService.getTaskSummaryPage(query, null, null);
+
+        assertEquals(Collections.singletonList(summary1), page.getItems());
+        assertTrue(page.hasNext());
+        assertEquals(1L, TaskCursor.decode(page.getNextCursor()).getId());
+        verify(taskRepository, never()).find(any());
+    }
+
+    @Test
+    void testSearchTaskSummaries_KeepsRankOrder() {
+        TaskSummary summary1 = new TaskSummary(1L, "Release notes", null, TaskStatus.PENDING, TaskPriority.MEDIUM, null, null, null);
+        TaskSummary summary2 = new TaskSummary(2L, "Release build", null, TaskStatus.PENDING, TaskPriority.MEDIUM, null, null, null);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("release", 10)).thenReturn(new long[] { 2L, 1L });
+        when(taskRepository.findSummariesById(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(summary1, summary2));
+
+        assertEquals(Arrays.asList(summary2, summary1), taskService.searchTaskSummaries("release", 10));
+    }
+
+    @Test
+    void testGetTaskPage_BackwardReversesRows() {
+        String before = new TaskCursor(0, LocalDateTime.now().plusDays(3), 3L).encode();
+        when(taskRepository.find(argThat(q -> q.getStatus() == TaskStatus.PENDING
+                && q.getCursor() != null && q.getCursor().getId() == 3L && q.isBackward() && q.getLimit() == 3)))
+                .thenReturn(Arrays.asList(task2, task1));
+
+        TaskQuery query = new TaskQuery();
+        query.setStatus(TaskStatus.PENDING);
+        query.setSortOrder(TaskSortOrder.DUE_DATE_ASC);
+        query.setLimit(2);
+        CursorPage<Task> page = taskService.getTaskPage(query, null, before);
+
+        assertEquals(Arrays.asList(task1, task2), page.getItems());
+        assertTrue(page.hasNext());
+        assertFalse(page.hasPrevious());
+    }
+
+    @Test
+    void testGetTaskPage_MalformedCursorStartsFromBeginning() {
+        when(taskRepository.find(argThat(q -> q.getSortOrder() == TaskSortOrder.CREATED
+                && q.getCursor() == null && q.getLimit() == TaskService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(Collections.emptyList());
+
+        TaskQuery query = new TaskQuery();
+        query.setLimit(0);
+        CursorPage<Task> page = taskService.getTaskPage(query, "not-a-cursor", null);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        assertNull(page.getPrevCursor());
+    }
+
+    @Test
+    void testGetTaskPage_PriorityCursorWithUnknownRankIsIgnored() {
+        when(taskRepository.find(argThat(q -> q.getSortOrder() == TaskSortOrder.PRIORITY && q.getCursor() == null)))
+                .thenReturn(Collections.singletonList(task1));
+
+        TaskQuery query = new TaskQuery();
+        query.setSortOrder(TaskSortOrder.PRIORITY);
+        String forged = new TaskCursor(9, LocalDateTime.now(), 5L).encode();
+        CursorPage<Task> page = taskService.getTaskPage(query, forged, null);
+
+        assertEquals(Collections.singletonList(task1), page.getItems());
+    }
+
+    @Test
+    void testCreateTask_PublishesCreatedEvent() {
+        when(taskRepository.save(any(Task.class))).thenReturn(task1);
+
+        taskService.createTask(new Task());
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangeEvent change
+                && change.getType() == TaskChangeEvent.Type.CREATED
+                && change.getTaskId() == 1L
+                && change.getBefore() == null));
+    }
+
+    @Test
+    void testCreateTasks_SavesInBatchesAndPublishesOneBulkEvent() {
+        List<Task> tasks = Arrays.asList(new Task(), new Task(), new Task());
+        when(taskRepository.saveAll(tasks, 2)).thenReturn(3);
+        taskService.setBatchSize(2);
+
+        int created = taskService.createTasks(tasks);
+
+        assertEquals(3, created);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskBulkChangeEvent bulk
+                && bulk.getType() == TaskChangeEvent.Type.CREATED
+                && bulk.getCount() == 3));
+        verify(eventPublisher, never()).publishEvent(any(TaskChangeEvent.class));
+    }
+
+    @Test
+    void testCreateTasks_Empty() {
+        assertEquals(0, taskService.createTasks(Collections.emptyList()));
+        verifyNoInteractions(taskRepository, eventPublisher);
+    }
+
+    @Test
+    void testUpdateTask_PublishesUpdatedEventWithPreviousState() {
+        Task stored = new Task();
+        stored.setId(1L);
+        stored.setTitle("Task 1");
+        stored.setAssignee("alice");
+        task1.setAssignee("bob");
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(taskRepository.save(task1)).thenReturn(task1);
+
+        taskService.updateTask(task1);
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangeEvent change
+                && change.getType() == TaskChangeEvent.Type.UPDATED
+                && "alice".equals(change.getBefore().assignee())
+                && "bob".equals(change.getAfter().assignee())));
+    }
+
+    @Test
+    void testDeleteTask_PublishesDeletedEvent() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task1));
+
+        taskService.deleteTask(1L);
+
+        verify(taskRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangeEvent change
+                && change.getType() == TaskChangeEvent.Type.DELETED
+                && change.getBefore() != null
+                && change.getAfter() == null));
+    }
+
+    @Test
+    void testGetAllAssignees_FromIndex() {
+        when(assigneeIndex.isLoaded()).thenReturn(true);
+        when(assigneeIndex.getAssignees()).thenReturn(Arrays.asList("alice", "bob"));
+
+        List<String> assignees = taskService.getAllAssignees();
+
+        assertEquals(Arrays.asList("alice", "bob"), assignees);
+        verify(taskRepository, never()).findAll();
+        verify(taskRepository, never()).findDistinctAssignees();
+    }
+
+    @Test
+    void testGetAllAssignees_FallsBackToProjectionQuery() {
+        when(assigneeIndex.isLoaded()).thenReturn(false);
+        when(taskRepository.findDistinctAssignees()).thenReturn(Collections.singletonList("alice"));
+
+        List<String> assignees = taskService.getAllAssignees();
+
+        assertEquals(Collections.singletonList("alice"), assignees);
+        verify(taskRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAssigneeTaskCounts_FromIndex() {
+        when(assigneeIndex.isLoaded()).thenReturn(true);
+        when(assigneeIndex.getTaskCounts()).thenReturn(Map.of("alice", 2L));
+
+        assertEquals(Map.of("alice", 2L), taskService.getAssigneeTaskCounts());
+        verify(taskRepository, never()).countTasksByAssignee();
+    }
+
+    @Test
+    void testSearchTasksRanked_KeepsRelevanceOrder() {
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("release", 10)).thenReturn(new long[] { 2L, 1L });
+        when(taskRepository.findAllById(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(task1, task2));
+
+        List<Task> results = taskService.searchTasks("release", 10);
+
+        assertEquals(Arrays.asList(task2, task1), results);
+        verify(taskRepository, never()).searchByTitleOrDescription(anyString());
+    }
+
+    @Test
+    void testSearchTasksRanked_FallsBackToDatabaseWhileIndexBuilds() {
+        when(searchIndex.isReady()).thenReturn(false);
+        when(taskRepository.find(argThat(q -> "release".equals(q.getKeyword()) && q.getLimit() == 10)))
+                .thenReturn(Collections.singletonList(task1));
+
+        List<Task> results = taskService.searchTasks("release", 10);
+
+        assertEquals(Collections.singletonList(task1), results);
+        verify(searchIndex, never()).search(anyString(), anyInt());
+    }
+
+    @Test
+    void testGetSearchFacets_CountsEveryIndexMatch() {
+        TaskFacets facets = new TaskFacets(3, Map.of(), Map.of(), Map.of());
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.matches("release")).thenReturn(new long[] { 1L, 2L, 3L });
+        when(taskRepository.countFacetsById(Arrays.asList(1L, 2L, 3L))).thenReturn(facets);
+
+        assertEquals(facets, taskService.getSearchFacets("release"));
+        verify(taskRepository, never()).countFacets(any());
+    }
+
+    @Test
+    void testGetSearchFacets_FallsBackToKeywordCountWhileIndexBuilds() {
+        TaskFacets facets = new TaskFacets(1, Map.of(), Map.of(), Map.of());
+        when(searchIndex.isReady()).thenReturn(false);
+        when(taskRepository.countFacets(argThat(q -> "release".equals(q.getKeyword())))).thenReturn(facets);
+
+        assertEquals(facets, taskService.getSearchFacets("release"));
+        verify(searchIndex, never()).matches(anyString());
+    }
+
+    @Test
+    void testSearchTasksRanked_EmptyKeyword() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(" ", 10));
+    }
+
+    @Test
+    void testSuggest_TitlesThenAssignees() {
+        Map<String, Integer> titles = new LinkedHashMap<>();
+        titles.put("Write release notes", 2);
+        when(suggestionIndex.isReady()).thenReturn(true);
+        when(suggestionIndex.suggestTitles("re", 5)).thenReturn(titles);
+        when(suggestionIndex.suggestAssignees("re", 5)).thenReturn(Collections.singletonMap("Rebecca", 4));
+
+        List<TaskSuggestion> suggestions = taskService.suggest("re", 5);
+
+        assertEquals(Arrays.asList(
+                new TaskSuggestion(TaskSuggestion.Type.TITLE, "Write release notes", 2),
+                new TaskSuggestion(TaskSuggestion.Type.ASSIGNEE, "Rebecca", 4)), suggestions);
+    }
+
+    @Test
+    void testSuggest_EmptyWhileIndexBuilds() {
+        when(suggestionIndex.isReady()).thenReturn(false);
+
+        assertTrue(taskService.suggest("re", 5).isEmpty());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void testMarkTasks_SingleBulkUpdateAndStatusEvent() {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(taskRepository.updateStatusById(ids, TaskStatus.COMPLETED)).thenReturn(2);
+
+        assertEquals(2, taskService.markTasks(ids, TaskStatus.COMPLETED));
+
+        verify(taskRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskBulkChangeEvent bulk
+                && bulk.isStatusChange() && bulk.getStatus() == TaskStatus.COMPLETED && bulk.getCount() == 2));
+    }
+
+    @Test
+    void testMarkTasks_NothingChangedPublishesNothing() {
+        when(taskRepository.updateStatusById(anyCollection(), eq(TaskStatus.COMPLETED))).thenReturn(0);
+
+        assertEquals(0, taskService.markTasks(Arrays.asList(1L), TaskStatus.COMPLETED));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testDeleteTasks_ByFilterRequiresCriteria() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.deleteTasks(new TaskQuery()));
+        verify(taskRepository, never()).deleteAll(any(TaskQuery.class));
+    }
+
+    @Test
+    void testCompleteOverdueTasks_OnlyOpenTasksOfAssignee() {
+        when(taskRepository.updateStatus(any(TaskQuery.class), eq(TaskStatus.COMPLETED))).thenReturn(3);
+
+        assertEquals(3, taskService.completeOverdueTasks("alice"));
+
+        // One statement over both open statuses; cancelled tasks stay cancelled
+        verify(taskRepository, times(1)).updateStatus(any(TaskQuery.class), any(TaskStatus.class));
+        verify(taskRepository).updateStatus(argThat(q -> q != null && q.getStatus() == null
+                && EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS).equals(q.getStatuses())
+                && "alice".equals(q.getAssignee()) && q.getDueTo() != null), eq(TaskStatus.COMPLETED));
+    }
+
+    @Test
+    void testUpdateTask_WithoutVersionUsesCurrentVersion() {
+        Task stored = new Task("Task 1", "Description 1", task1.getDueDate());
+        stored.setId(1L);
+        stored.setVersion(4L);
+        Task edited = new Task("Edited", "Description 1", task1.getDueDate());
+        edited.setId(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(taskRepository.save(edited)).thenReturn(edited);
+
+        taskService.updateTask(edited);
+
+        assertEquals(4L, edited.getVersion());
+    }
+
+    @Test
+    void testPatchTask_PublishesUpdatedEvent() {
+        TaskPatch patch = new TaskPatch();
+        patch.setVersion(0L);
+        patch.setStatus(TaskStatus.COMPLETED);
+        Task patched = new Task("Task 1", "Description 1", task1.getDueDate());
+        patched.setId(1L);
+        patched.setStatus(TaskStatus.COMPLETED);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task1));
+        when(taskRepository.patch(1L, patch)).thenReturn(Optional.of(patched));
+
+        Optional<Task> result = taskService.patchTask(1L, patch);
+
+        assertEquals(Optional.of(patched), result);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangeEvent change
+                && change.getType() == TaskChangeEvent.Type.UPDATED
+                && change.getBefore().status() == TaskStatus.PENDING
+                && change.getAfter().status() == TaskStatus.COMPLETED));
+    }
+
+    @Test
+    void testPatchTask_NotFound() {
+        TaskPatch patch = new TaskPatch();
+        patch.setVersion(0L);
+        when(taskRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertTrue(taskService.patchTask(99L, patch).isEmpty());
+        verify(taskRepository, never()).patch(anyLong(), any(TaskPatch.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testGetChanges_fullSyncPagesTasksAndStartsDeletionsNow() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        LocalDateTime upTo = now.minus(TaskServiceImpl.CHANGE_SETTLE_TIME);
+        task1.setUpdatedAt(now.minusHours(2));
+        task2.setUpdatedAt(now.minusHours(1));
+        Task task3 = new Task();
+        task3.setId(3L);
+        when(taskRepository.findChangedSince(null, 0, upTo, 3)).thenReturn(List.of(task1, task2, task3));
+        when(taskRepository.findTombstonesSince(upTo, Long.MAX_VALUE, upTo, 3)).thenReturn(List.of());
+
+        TaskChangeSet<Task> changes = taskService.getChanges(null, 2, now).orElseThrow();
+
+        assertEquals(List.of(task1, task2), changes.updated());
+        assertTrue(changes.deleted().isEmpty());
+        assertTrue(changes.more());
+        SyncToken next = SyncToken.decode(changes.token());
+        assertEquals(task2.getUpdatedAt(), next.getTaskTime());
+        assertEquals(2L, next.getTaskId());
+        assertEquals(upTo, next.getTombstoneTime());
+    }
+
+    @Test
+    void testGetChanges_caughtUpMovesBothPositionsToUpperBound() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        LocalDateTime upTo = now.minus(TaskServiceImpl.CHANGE_SETTLE_TIME);
+        SyncToken from = new SyncToken(now.minusHours(3), 7L, now.minusHours(3), 9L);
+        when(taskRepository.findChangedSince(now.minusHours(3), 7L, upTo, 501)).thenReturn(List.of(task1));
+        when(taskRepository.findTombstonesSince(now.minusHours(3), 9L, upTo, 501))
+                .thenReturn(List.of(new TaskTombstone(5L, now.minusHours(2))));
+
+        TaskChangeSet<Task> changes = taskService.getChanges(from.encode(), 0, now).orElseThrow();
+
+        assertEquals(List.of(task1), changes.updated());
+        assertEquals(List.of(5L), changes.deleted());
+        assertFalse(changes.more());
+        SyncToken next = SyncToken.decode(changes.token());
+        assertEquals(upTo, next.getTaskTime());
+        assertEquals(upTo, next.getTombstoneTime());
+        assertEquals(Long.MAX_VALUE, next.getTombstoneId());
+    }
+
+    @Test
+    void testGetChanges_heldBehindOpenBulkDelete() {
+        TaskQuery filter = new TaskQuery();
+        filter.setStatus(TaskStatus.COMPLETED);
+        when(taskRepository.deleteAll(filter)).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        TaskTombstone tombstone;
+        SyncToken during;
+        try {
+            // A bulk delete that is still running after the settle time has passed
+            taskService.deleteTasks(filter);
+            tombstone = new TaskTombstone(9L, LocalDateTime.now());
+            LocalDateTime later = LocalDateTime.now().plus(TaskServiceImpl.CHANGE_SETTLE_TIME).plusMinutes(1);
+            during = SyncToken.decode(taskService.getChanges(null, 10, later).orElseThrow().token());
+            assertTrue(during.getTombstoneTime().isBefore(tombstone.getDeletedAt()));
+
+            // The delete commits its tombstone, dated before the settle bound of the sync above
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        LocalDateTime now = LocalDateTime.now().plus(TaskServiceImpl.CHANGE_SETTLE_TIME).plusMinutes(2);
+        LocalDateTime upTo = now.minus(TaskServiceImpl.CHANGE_SETTLE_TIME);
+        assertTrue(tombstone.getDeletedAt().isBefore(upTo));
+        when(taskRepository.findTombstonesSince(during.getTombstoneTime(), Long.MAX_VALUE, upTo, 11))
+                .thenReturn(List.of(tombstone));
+
+        TaskChangeSet<Task> changes = taskService.getChanges(during.encode(), 10, now).orElseThrow();
+
+        assertEquals(List.of(9L), changes.deleted());
+        assertEquals(upTo, SyncToken.decode(changes.token()).getTombstoneTime());
+    }
+
+    @Test
+    void testGetChanges_expiredToken() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+        LocalDateTime old = now.minus(TaskServiceImpl.TOMBSTONE_RETENTION).minusDays(1);
+        String token = new SyncToken(old, 1L, old, 1L).encode();
+
+        assertTrue(taskService.getChanges(token, 10, now).isEmpty());
+        verify(taskRepository, never()).findChangedSince(any(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void testGetChanges_malformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getChanges("not-a-token", 10));
+    }
+}
@@ -0,0 +1,138 @@
+package com.ibra.taskmanager.service;
+
+import com.ibra.taskmanager.dto.TaskStatistics;
+import com.ibra.taskmanager.enums.TaskPriority;
+import com.ibra.taskmanager.enums.TaskStatus;
+import com.ibra.taskmanager.event.TaskBulkChangeEvent;
+import com.ibra.taskmanager.event.TaskChangeEvent;
+import com.ibra.taskmanager.event.TaskSnapshot;
+import com.ibra.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TaskStatisticsServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskStatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Map<TaskStatus, Map<TaskPriority, Long>> counts = new EnumMap<>(TaskStatus.class);
+        counts.put(TaskStatus.PENDING, Map.of(TaskPriority.HIGH, 3L, TaskPriority.LOW, 1L));
+        counts.put(TaskStatus.COMPLETED, Map.of(TaskPriority.MEDIUM, 5L));
+        when(taskRepository.countTasksByStatusAndPriority()).thenReturn(counts);
+        when(taskRepository.countByStatusInAndDueDateBefore(any(), eq(NOW))).thenReturn(2L);
+        statisticsService = new TaskStatisticsService(taskRepository);
+        statisticsService.reconcile(NOW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statisticsService.destroy();
+    }
+
+    private TaskSnapshot snapshot(long id, TaskStatus status, TaskPriority priority, LocalDateTime dueDate) {
+        return new TaskSnapshot(id, "Task " + id, null, status, priority, null, dueDate, null);
+    }
+
+    @Test
+    void testLoadsCounts() {
+        assertTrue(statisticsService.isLoaded());
+        TaskStatistics stats = statisticsService.getStatistics();
+
+        assertEquals(9L, stats.total());
+        assertEquals(4L, stats.countByStatus(TaskStatus.PENDING));
+        assertEquals(0L, stats.countByStatus(TaskStatus.IN_PROGRESS));
+        assertEquals(5L, stats.countByStatus(TaskStatus.COMPLETED));
+        assertEquals(3L, stats.countByPriority(TaskPriority.HIGH));
+        assertEquals(5L, stats.countByPriority(TaskPriority.MEDIUM));
+        assertEquals(2L, stats.overdue());
+        assertEquals(NOW, stats.overdueAsOf());
+        verify(taskRepository).countByStatusInAndDueDateBefore(TaskStatisticsService.OPEN_STATUSES, NOW);
+    }
+
+    @Test
+    void testNotLoadedBeforeFirstReconcile() {
+        TaskStatisticsService fresh = new TaskStatisticsService(taskRepository);
+        assertFalse(fresh.isLoaded());
+        fresh.onTaskChange(TaskChangeEvent.created(snapshot(1L, TaskStatus.PENDING, TaskPriority.HIGH, NOW)));
+        assertEquals(0L, fresh.getStatistics().total());
+        fresh.destroy();
+    }
+
+    @Test
+    void testChangesUpdateCounters() {
+        statisticsService.onTaskChange(TaskChangeEvent.created(
+                snapshot(10L, TaskStatus.PENDING, TaskPriority.HIGH, NOW.plusDays(1))));
+        statisticsService.onTaskChange(TaskChangeEvent.updated(
+                snapshot(10L, TaskStatus.PENDING, TaskPriority.HIGH, NOW.plusDays(1)),
+                snapshot(10L, TaskStatus.COMPLETED, TaskPriority.LOW, NOW.plusDays(1))));
+
+        TaskStatistics stats = statisticsService.getStatistics();
+        assertEquals(10L, stats.total());
+        assertEquals(4L, stats.countByStatus(TaskStatus.PENDING));
+        assertEquals(6L, stats.countByStatus(TaskStatus.COMPLETED));
+        assertEquals(3L, stats.countByPriority(TaskPriority.HIGH));
+        assertEquals(2L, stats.countByPriority(TaskPriority.LOW));
+        assertEquals(2L, stats.overdue());
+    }
+
+    @Test
+    void testChangesToOverdueTasksUpdateOverdueCount() {
+        TaskSnapshot overdue = snapshot(11L, TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM, NOW.minusDays(1));
+        statisticsService.onTaskChange(TaskChangeEvent.created(overdue));
+        assertEquals(3L, statisticsService.getStatistics().overdue());
+
+        // Completing an overdue task removes it from the count
+        statisticsService.onTaskChange(TaskChangeEvent.updated(overdue,
+                snapshot(11L, TaskStatus.COMPLETED, TaskPriority.MEDIUM, NOW.minusDays(1))));
+        assertEquals(2L, statisticsService.getStatistics().overdue());
+
+        statisticsService.onTaskChange(TaskChangeEvent.deleted(12L,
+                snapshot(12L, TaskStatus.PENDING, TaskPriority.HIGH, NOW.minusHours(1))));
+        assertEquals(1L, statisticsService.getStatistics().overdue());
+    }
+
+    @Test
+    void testReconcileCorrectsDrift() {
+        // A change the counters never saw, e.g. made by another application instance
+        Map<TaskStatus, Map<TaskPriority, Long>> counts = new EnumMap<>(TaskStatus.class);
+        counts.put(TaskStatus.PENDING, Map.of(TaskPriority.HIGH, 2L));
+        when(taskRepository.countTasksByStatusAndPriority()).thenReturn(counts);
+        when(taskRepository.countByStatusInAndDueDateBefore(any(), eq(NOW.plusMinutes(1)))).thenReturn(1L);
+
+        statisticsService.reconcile(NOW.plusMinutes(1));
+
+        TaskStatistics stats = statisticsService.getStatistics();
+        assertEquals(2L, stats.total());
+        assertEquals(0L, stats.countByStatus(TaskStatus.COMPLETED));
+        assertEquals(1L, stats.overdue());
+        assertEquals(NOW.plusMinutes(1), stats.overdueAsOf());
+    }
+
+    @Test
+    void testEmptyBulkChangeIsIgnored() {
+        statisticsService.onBulkChange(TaskBulkChangeEvent.statusChanged(TaskStatus.COMPLETED, 0));
+
+        verify(taskRepository, times(1)).countTasksByStatusAndPriority();
+    }
+}